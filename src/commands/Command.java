@@ -7,20 +7,23 @@
 package commands;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 
-import model.Point;
-import model.Pose;
+import model.RecordingPolicy;
 import model.Robot;
+import model.TelemetryRecorder;
 import util.Util;
-import util.Util.ROBOT_KEY;
 
 public abstract class Command implements Runnable {
 	//Attributes
 	private boolean isRunning; //whether the command is running or not
 	private boolean isTimedOut; //whether the command times out or not
-	private ArrayList<HashMap<ROBOT_KEY, Object>> data; //robot data
-	private ArrayList<Pose> poses; //list of robot poses
+	private TelemetryRecorder telemetry; //robot data at each tick, the group's log when run in a group
+	private boolean sharedTelemetry; //whether the telemetry belongs to a group
+	private int firstTick; //index in the telemetry of the first tick of the last run
+	private int numTicks; //number of ticks recorded in the last run
+	private int iterations; //number of ticks simulated in the last run
+	private RecordingPolicy policy; //ticks and keys recorded, null to use the group's or record everything
+	private double timeout = 10; //seconds the command can run for
 	private int maxIterations; //maximum number of iterations command can have
 	
 	protected ArrayList<int[][]> curves; //list of curves
@@ -62,18 +65,28 @@ public abstract class Command implements Runnable {
 	
 	/**
 	 * Initialize all behind-the-scenes values for the Command
+	 * @param log Recorder to append the ticks to, null for the command to keep its own
+	 * @param recording Policy the ticks are recorded with, sizing a recorder the command keeps
 	 */
-	private void initCommand() {
-		data = new ArrayList<HashMap<ROBOT_KEY, Object>>(); //list of data points
-		poses = new ArrayList<Pose>(); //robot poses
+	private void initCommand(TelemetryRecorder log, RecordingPolicy recording) {
 		curves = new ArrayList<int[][]>(); //bezier curves
 		passed = Util.INITIALIZED; //default not passed value
 		printCounter = 0;
 		
-		//set the max iterations if it has not been set
-		if (maxIterations == 0) { //zero is default int value
-			this.maxIterations = (int) (10 * (1.0 / Util.UPDATE_PERIOD)); //10 seconds
+		//set the max iterations from the timeout and the robot's time step
+		this.maxIterations = (int) (timeout / robot.getTimeStep());
+		
+		//append to the group's log, or reuse the recorder between runs so ticks do not allocate
+		if (log != null) {
+			telemetry = log;
+		} else if (telemetry == null || sharedTelemetry) {
+			telemetry = new TelemetryRecorder(recording.getCapacity(maxIterations));
+		} else {
+			telemetry.clear();
 		} //if
+		sharedTelemetry = log != null;
+		firstTick = telemetry.size();
+		numTicks = 0;
 		
 		//set the name
 		this.name = this.getClass().getSimpleName();
@@ -84,20 +97,32 @@ public abstract class Command implements Runnable {
 	 * Runs a command until finished
 	 */
 	public void run() {
+		run(null, null);
+	} //end run
+	
+	/**
+	 * Runs a command until finished, appending its ticks to a log shared with other commands
+	 * @param log Recorder to append the ticks to, null for the command to keep its own
+	 * @param groupPolicy Policy of the group, used if the command does not have its own
+	 */
+	void run(TelemetryRecorder log, RecordingPolicy groupPolicy) {
 		//initialize the command
-		this.initCommand();
+		RecordingPolicy recording = policy != null ? policy : groupPolicy != null ? groupPolicy : RecordingPolicy.FULL;
+		this.initCommand(log, recording);
 		isRunning = true;
 		isTimedOut = false;
 		this.initialize();
-		int iterations = 0;
+		iterations = 0;
+		
+		boolean recorded = true; //whether the last tick was recorded
+		int start = telemetry.size();
 		
 		//execute the command until it is finished or timed out
 		while (!this.isFinished() && !this.isTimedOut) {
 			this.execute(); //run the command
 			
-			//add the robot information to the respective collections
-			poses.add(robot.getPose());
-			data.add(robot.getData());
+			//record the robot information for this tick
+			recorded = recording.update(telemetry, robot, iterations);
 
 			//loop the number of iterations
 			iterations++;
@@ -106,6 +131,10 @@ public abstract class Command implements Runnable {
 			isTimedOut = iterations >= maxIterations;
 		} //loop
 		
+		//always keep the state the command finished in
+		recording.finish(telemetry, robot, recorded);
+		numTicks = telemetry.size() - start;
+		
 		//end the command
 		this.end();	
 		isRunning = false;
@@ -125,14 +154,6 @@ public abstract class Command implements Runnable {
 		return isRunning;
 	} //end isRunning
 	
-	/**
-	 * Get the list of poses 
-	 * @return list of poses from robot
-	 */
-	public ArrayList<Pose> getPoses() {
-		return poses;
-	} //end getPoses
-	
 	/**
 	 * Get the curve
 	 * @return - list of curves added from command
@@ -142,12 +163,45 @@ public abstract class Command implements Runnable {
 	} //end getCurves
 	
 	/**
-	 * Get the data points of the robot at each pose
-	 * @return list of HashMaps of data points
+	 * Get the data of the robot at each tick. When the command was run in a group this is the
+	 * group's log, and the command's ticks are the ones from getFirstTick() for getNumTicks().
+	 * @return Recorder holding the robot data
+	 */
+	public TelemetryRecorder getTelemetry() {
+		return telemetry;
+	} //end getTelemetry
+	
+	/**
+	 * Get the index in the telemetry of the first tick of the last run
+	 * @return Index of the first tick, zero unless the command was run in a group
+	 */
+	public int getFirstTick() {
+		return firstTick;
+	} //end getFirstTick
+	
+	/**
+	 * Get the number of ticks recorded in the last run
+	 * @return Number of ticks, kept even if a group drops them from its log
+	 */
+	public int getNumTicks() {
+		return numTicks;
+	} //end getNumTicks
+	
+	/**
+	 * Get the number of ticks simulated in the last run, recorded or not
+	 * @return Number of iterations of the command
+	 */
+	public int getIterations() {
+		return iterations;
+	} //end getIterations
+	
+	/**
+	 * Set which ticks and keys are recorded when the command runs, overriding the policy of its group
+	 * @param policy Recording policy, null to use the group's or record everything
 	 */
-	public ArrayList<HashMap<ROBOT_KEY, Object>> getData() {
-		return data;
-	} //end data
+	public void setRecordingPolicy(RecordingPolicy policy) {
+		this.policy = policy;
+	} //end setRecordingPolicy
 	
 	/**
 	 * Get the name of the command
@@ -162,7 +216,7 @@ public abstract class Command implements Runnable {
 	 * @param timeout Command timeout in seconds
 	 */
 	public void setTimeout(double timeout) {
-		maxIterations = (int) (timeout * (1.0 / Util.UPDATE_PERIOD));
+		this.timeout = timeout;
 	} //end setTimeout
 	
 	/**
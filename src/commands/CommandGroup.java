@@ -7,19 +7,26 @@
 package commands;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 
-import model.Pose;
-import util.Util.ROBOT_KEY;
+import model.DriveLoop;
+import model.RecordingPolicy;
+import model.SimState;
+import model.TelemetryRecorder;
 import util.Util;
 
 public abstract class CommandGroup {
 	//Attributes
 	private ArrayList<Command> commands; //all commands to be run
 	private boolean isRunning = false; //whether the command is running
-	private ArrayList<Pose> poses; //poses of the robot
 	private ArrayList<int[][]> curves; //curves the robot follows
-	private ArrayList<HashMap<ROBOT_KEY, Object>> data; //data points of the robot
+	private TelemetryRecorder telemetry; //data points of the robot
+	
+	private boolean verbose = true; //whether to print each command as it is simulated
+	private RecordingPolicy policy; //ticks and keys recorded for commands without their own, null for all
+	
+	private DriveLoop checkpointLoop; //loop saved before each command, null if checkpoints are off
+	private ArrayList<SimState> checkpoints; //state of the loop before each command
+	private ArrayList<Integer> startTicks; //telemetry size before each command
 	
 	protected boolean testing; //whether the CommandGroup is for testing
 	private int passed; //number of tests passed
@@ -36,9 +43,8 @@ public abstract class CommandGroup {
 	 */
 	private void initialize() {
 		commands = new ArrayList<Command>();
-		poses = new ArrayList<Pose>();
 		curves = new ArrayList<int[][]>();
-		data = new ArrayList<HashMap<ROBOT_KEY, Object>>();
+		telemetry = new TelemetryRecorder();
 		
 		testing = this.getClass().getSimpleName().contains("Test"); //if test is in group name
 		passed = 0;
@@ -52,41 +58,105 @@ public abstract class CommandGroup {
 		commands.add(c);
 	} //end add
 	
+	/**
+	 * Replace a command, use runFrom(index) to simulate only the changed part of the group
+	 * @param index Index of the command to replace
+	 * @param c Command to run instead
+	 */
+	public void set(int index, Command c) {
+		commands.set(index, c);
+	} //end set
+	
+	/**
+	 * Save the state of a drive loop before each command so the group can be rerun from any command
+	 * @param loop Loop the commands update
+	 */
+	public void enableCheckpoints(DriveLoop loop) {
+		checkpointLoop = loop;
+		checkpoints = new ArrayList<SimState>();
+		startTicks = new ArrayList<Integer>();
+	} //end enableCheckpoints
+	
+	/**
+	 * Get the state of the loop saved before a command in the last run
+	 * @param index Index of the command
+	 * @return Snapshot of the loop before the command ran
+	 */
+	public SimState getCheckpoint(int index) {
+		return checkpoints.get(index);
+	} //end getCheckpoint
+	
 	/**
 	 * Runs the entire command group
 	 */
 	public void run() {
-		poses.clear();
+		telemetry.clear();
+		runCommands(0);
+	} //end run
+	
+	/**
+	 * Rerun the group from a command, restoring the loop to its state before that command in the last run.
+	 * Requires checkpoints to be enabled and the group to have reached the command before.
+	 * @param index Index of the first command to run
+	 */
+	public void runFrom(int index) {
+		if (checkpointLoop == null)
+			throw new IllegalStateException("Checkpoints must be enabled to run from a command");
+		if (index < 0 || index >= checkpoints.size())
+			throw new IllegalArgumentException("No checkpoint for command " + index + ", " + checkpoints.size() + " saved");
+		
+		//branch from the checkpoint and drop everything recorded after it
+		checkpoints.get(index).restore(checkpointLoop);
+		telemetry.truncate(startTicks.get(index));
+		runCommands(index);
+	} //end runFrom
+	
+	/**
+	 * Run the commands from an index to the end of the group
+	 * @param first Index of the first command to run
+	 */
+	private void runCommands(int first) {
 		isRunning = true;
 		
-		//run each command and add its poses to the total list
-		for (int i = 0; i < commands.size(); i++) {			
-			commands.get(i).run(); //run the command
+		//run each command, each one appending its ticks to the log
+		for (int i = first; i < commands.size(); i++) {
+			//save the state before the command, reusing the snapshot from the last run
+			if (checkpointLoop != null) {
+				if (i == checkpoints.size()) {
+					checkpoints.add(new SimState());
+					startTicks.add(0);
+				} //if
+				checkpoints.get(i).save(checkpointLoop);
+				startTicks.set(i, telemetry.size());
+			} //if
+			
+			//the command records straight into the group's log
+			Command c = commands.get(i);
+			int start = telemetry.size();
+			c.run(telemetry, policy);
 			
 			//add curves if list exists and is not empty
 			if (curves != null && !curves.isEmpty())
-				curves.addAll(commands.get(i).getCurves());
+				curves.addAll(c.getCurves());
 			
 			//sum the tests passed and failed
 			if (testing) {
-				if (commands.get(i).testing) {
+				if (c.testing) {
 					//increment the pass counter
-					passed += commands.get(i).getPassed();
+					passed += c.getPassed();
 					
-					//add the data if the command failed
-					if (commands.get(i).getPassed() == Util.FAILED) {
-						poses.addAll(commands.get(i).getPoses());
-						data.addAll(commands.get(i).getData());
-						
-						//output the command that ran
-						Util.println("Simulated command " + (i+1) + ": " + commands.get(i).getName());
-					}
+					//output the command that ran if the command failed
+					if (c.getPassed() == Util.FAILED && verbose)
+						Util.println("Simulated command " + (i+1) + ": " + c.getName());
 				}
 				
+				//only keep the data of failed commands
+				if (!c.testing || c.getPassed() != Util.FAILED)
+					telemetry.truncate(start);
+				
 			} else { //not testing
-				poses.addAll(commands.get(i).getPoses());
-				data.addAll(commands.get(i).getData());
-				Util.println("Simulated command " + i + ": " + commands.get(i).getName());
+				if (verbose)
+					Util.println("Simulated command " + i + ": " + c.getName());
 			}
 		}
 		
@@ -96,7 +166,23 @@ public abstract class CommandGroup {
 		} //if
 		
 		isRunning = false;
-	} //end start
+	} //end runCommands
+	
+	/**
+	 * Set whether each command is printed as it is simulated
+	 * @param verbose True to print, false to run quietly
+	 */
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	} //end setVerbose
+	
+	/**
+	 * Set which ticks and keys are recorded for the commands that do not have their own policy
+	 * @param policy Recording policy, null to record everything
+	 */
+	public void setRecordingPolicy(RecordingPolicy policy) {
+		this.policy = policy;
+	} //end setRecordingPolicy
 	
 	/**
 	 * Return whether the command is running or not
@@ -106,14 +192,6 @@ public abstract class CommandGroup {
 		return isRunning;
 	} //end isRunning
 	
-	/**
-	 * Get the poses from the command group 
-	 * @return poses All poses from each command
-	 */
-	public ArrayList<Pose> getPoses() {
-		return poses;
-	} //end getPoses
-	
 	/**
 	 * Get the curve from the command group 
 	 * @return curve All curves from each command
@@ -132,11 +210,11 @@ public abstract class CommandGroup {
 	
 	/**
 	 * Get the data points from the robot
-	 * @return list of data points from the robot
+	 * @return Recorder holding the robot data from each command
 	 */
-	public ArrayList<HashMap<ROBOT_KEY, Object>> getData() {
-		return data;
-	} //end getData
+	public TelemetryRecorder getTelemetry() {
+		return telemetry;
+	} //end getTelemetry
 	
 	/**
 	 * Output all the test information to the screen
@@ -17,6 +17,8 @@ public class DriveClosedLoopLinearProfile extends Command {
 	private DriveLoop loop; //Loop to control robot
 	private DriveProfile traj; //trajectory to follow
 	private int index; //index of the point in the trajectory
+	private double[] leftPVA = new double[3]; //left trajectory point, filled each update
+	private double[] rightPVA = new double[3]; //right trajectory point, filled each update
 	private double tolerance; //how close to be to the goal to be considered done
 	
 	/**
@@ -57,9 +59,11 @@ public class DriveClosedLoopLinearProfile extends Command {
 	 * Send the trajectory points to the loop and update it
 	 */
 	protected void execute() {
-		double time = index * Util.UPDATE_PERIOD; //would be getting actual time on real robot
+		double time = index * robot.getTimeStep(); //would be getting actual time on real robot
 		
-		loop.updateClosedLoopLinearProfileState(traj.getLeftTrajPoint(time), traj.getRightTrajPoint(time));
+		traj.getLeftTrajPoint(time, leftPVA);
+		traj.getRightTrajPoint(time, rightPVA);
+		loop.updateClosedLoopLinearProfileState(leftPVA, rightPVA);
 		loop.onLoop();
 		
 		index++;
@@ -72,7 +76,7 @@ public class DriveClosedLoopLinearProfile extends Command {
 		//better is finished
 		return (loop.isDrivePIDAtTarget() ||
 				loop.isRobotSlowerThanPercent(0.1)) &&
-				(index * Util.UPDATE_PERIOD) > traj.getTotalTime();
+				(index * robot.getTimeStep()) > traj.getTotalTime();
 	} //end isFinished
 	
 	protected void end() {
@@ -17,6 +17,8 @@ public class DriveOpenLoopProfile extends Command {
 	private DriveLoop loop; //loop that controls robot
 	private DriveProfile traj; //trajectory to follow
 	private int index; //index of the point in the trajectory
+	private double[] leftPVA = new double[3]; //left trajectory point, filled each update
+	private double[] rightPVA = new double[3]; //right trajectory point, filled each update
 	
 	/**
 	 * Follow a simple, symmetric trapezoidal motion profile
@@ -53,8 +55,10 @@ public class DriveOpenLoopProfile extends Command {
 	 * Send the trajectory points to the loop and update it
 	 */
 	protected void execute() {
-		double time = index * Util.UPDATE_PERIOD; //would be getting actual time on real robot
-		loop.updateOpenLoopProfileState(traj.getLeftTrajPoint(time), traj.getRightTrajPoint(time));
+		double time = index * robot.getTimeStep(); //would be getting actual time on real robot
+		traj.getLeftTrajPoint(time, leftPVA);
+		traj.getRightTrajPoint(time, rightPVA);
+		loop.updateOpenLoopProfileState(leftPVA, rightPVA);
 		loop.onLoop();
 		index += 1;
 	} //end execute
@@ -63,7 +67,7 @@ public class DriveOpenLoopProfile extends Command {
 	 * End the command when the trajectory time has passed
 	 */
 	protected boolean isFinished() {
-		return (index * Util.UPDATE_PERIOD) > traj.getTotalTime();
+		return (index * robot.getTimeStep()) > traj.getTotalTime();
 	} //end isFinished
 	
 	protected void end() {
@@ -96,7 +96,8 @@ public class DriveToGoal extends Command {
 	 * @return - true if within, false if not
 	 */
 	protected boolean isFinished() {
-		return FieldPositioning.isWithinBounds(goalPoint, loop.getRobot().getPoint(), tolerance)
+		return FieldPositioning.isWithinBounds(goalPoint.getX(), goalPoint.getY(), 
+				loop.getRobot().getX(), loop.getRobot().getY(), tolerance)
 				&& loop.isRobotSlowerThanVel(minSpeed);
 	} // end isFinished
 
@@ -118,7 +119,8 @@ public class DriveToGoal extends Command {
 	 * Test function for Command
 	 */
 	protected void test() {
-		boolean inBounds = FieldPositioning.isWithinBounds(goalPoint, this.robot.getPoint(), tolerance);
+		boolean inBounds = FieldPositioning.isWithinBounds(goalPoint.getX(), goalPoint.getY(), 
+											this.robot.getX(), this.robot.getY(), tolerance);
 		boolean slowedDown = this.robot.getLinearVel() <= minSpeed;
 		
 		//Pass if the robot is within bounds and at/below minimum speed
@@ -137,7 +139,7 @@ public class DriveToGoal extends Command {
 				System.out.println("Expected Point value: " + goalPoint.getString());
 				System.out.println("  Actual: " + this.robot.getPoint().getString());
 				System.out.println(String.format("  Distance from goal: %.3f", 
-									FieldPositioning.dist(this.robot.getPoint(), goalPoint)));
+									FieldPositioning.dist(this.robot.getX(), this.robot.getY(), goalPoint.getX(), goalPoint.getY())));
 			} //if
 			
 			//Speed
@@ -160,7 +162,7 @@ public class DriveToGoal extends Command {
 	 */
 	private void updateSetpoints() {
 		// distance from robot to goal point
-		double dist = FieldPositioning.dist(loop.getRobot().getPoint(), goalPoint);
+		double dist = FieldPositioning.dist(loop.getRobot().getX(), loop.getRobot().getY(), goalPoint.getX(), goalPoint.getY());
 
 		// update distance and angle setpoints if more than half a foot away
 		if (dist >= tolerance) {
@@ -200,7 +202,7 @@ public class DriveToGoal extends Command {
 	 * @return - required angle change in degrees
 	 */
 	private double calcDeltaAngle() {
-		double pointYaw = FieldPositioning.goalYaw(robot.getPoint(), goalPoint); // calculate the yaw to
+		double pointYaw = FieldPositioning.goalYaw(robot.getX(), robot.getY(), goalPoint.getX(), goalPoint.getY()); // calculate the yaw to
 		
 		pointYaw -= reverse ? Math.copySign(180, pointYaw) : 0; // add 180 in opposite direction if reversing
 
@@ -49,7 +49,7 @@ public class PurePursuit extends Command {
 	 * Update the controller and execute the loop
 	 */
 	protected void execute() {
-		loop.updatePurePursuitState(loop.getRobot().getPose(), loop.getRobot().getLinearVel());
+		loop.updatePurePursuitState(robot.getX(), robot.getY(), robot.getHeading(), robot.getLinearVel());
 		loop.onLoop();
 		
 		//graphics
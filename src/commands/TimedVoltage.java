@@ -10,7 +10,6 @@ import java.util.ArrayList;
 
 import model.DriveLoop;
 import model.Pose;
-import util.Util;
 
 public class TimedVoltage extends Command {
 	//Attributes
@@ -61,7 +60,7 @@ public class TimedVoltage extends Command {
 	 */
 	protected void execute() {
 		loop.getRobot().update(leftVoltage, rightVoltage);
-		counter += Util.UPDATE_PERIOD;
+		counter += robot.getTimeStep();
 	} //end execute
 
 	/**
@@ -38,7 +38,7 @@ public class Wait extends Command {
 	 * Initialize the command by setting the state and the number of updates
 	 */
 	protected void initialize() {
-		updates = (int) (waitTime / Util.UPDATE_PERIOD);
+		updates = (int) (waitTime / robot.getTimeStep());
 		loop.setState(STATE.WAITING);
 		robot.setToWait();
 	} //end initialize
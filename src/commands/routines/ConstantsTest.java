@@ -6,67 +6,181 @@
  */
 package commands.routines;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import commands.Command;
 import commands.TimedVoltage;
 import model.DriveLoop;
+import model.Robot;
 import util.Util;
+import util.Util.ROBOT_KEY;
 
 public class ConstantsTest {
 	//Attributes
 	private DriveLoop loop; //drivetrain loop to update
-	private double[] voltages;
-	private double[] velocities;
-	private double voltStep;
-	private int index;
-	
+	private double[] voltages; //voltage of each quasi-static test
+	private double[] velocities; //steady state velocity of each quasi-static test in ft/s
+	private double voltStep; //voltage between quasi-static tests
+	private double[] stepVoltages; //voltage of each step test
+	private double stepTime; //seconds each step test runs for
+	private double[][] stepVelocities; //velocity during each tick of each step test in ft/s
+	private double[][] stepAccelerations; //acceleration during each tick of each step test in ft/s^2
+	private int parallelism; //number of worker threads
+
 	public ConstantsTest(DriveLoop loop) {
 		//set attributes
 		this.loop = loop;
 
 		//constants
 		voltStep = 0.1;
-		
-		//variables
-		voltages = new double[(int) Math.ceil(Util.MAX_VOLTAGE / voltStep) + 1];
+		stepVoltages = new double[] {3, 6, 9, 12};
+		stepTime = 1;
+		parallelism = Runtime.getRuntime().availableProcessors();
+
+		//variables, quasi-static tests from 0V to the max voltage inclusive
+		voltages = new double[(int) Math.round(Util.MAX_VOLTAGE / voltStep) + 1];
 		velocities = new double[voltages.length];
-		index = 0;
+		stepVelocities = new double[stepVoltages.length][];
+		stepAccelerations = new double[stepVoltages.length][];
+
+		for (int i = 0; i < voltages.length; i++) {
+			voltages[i] = i * voltStep;
+		} //loop
 	} //end constructor
-	
+
+	/**
+	 * Set the number of worker threads
+	 * @param parallelism Number of threads, 1 runs every test on one worker
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+		this.parallelism = parallelism;
+	} //end setParallelism
+
 	/**
 	 * Run the tests and print out the constants
 	 */
 	public void execute() {
+		runTests();
 		calckV();
 		calckA();
 	} //end execute
-	
+
 	/**
-	 * Calculate using commands and linear regression
+	 * Run every quasi-static and step test at the same time, each on its own copy of the robot
 	 */
-	private void calckV() {
-		for(double volt = 0; volt < Util.MAX_VOLTAGE; volt += voltStep) {
-			//run the robot at a voltage for 5 seconds
-			Command c = new TimedVoltage(loop, volt, 5);
+	private void runTests() {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+		try {
+			pool.invoke(new TestTask(0, voltages.length + stepVoltages.length));
+		} finally {
+			pool.shutdown();
+		} //try-finally
+	} //end runTests
+
+	/**
+	 * Runs a range of tests, splitting the range between workers
+	 */
+	private class TestTask extends RecursiveAction {
+		//Constants
+		private static final long serialVersionUID = 1L;
+
+		//Attributes
+		private int start, end; //range of tests to run, quasi-static tests first then step tests
+
+		/**
+		 * Create a task for a range of tests
+		 * @param start First test to run
+		 * @param end Test after the last one to run
+		 */
+		TestTask(int start, int end) {
+			this.start = start;
+			this.end = end;
+		} //end constructor
+
+		/**
+		 * Split the range in half until there is a single test to run
+		 */
+		protected void compute() {
+			if (end - start == 1) {
+				runTest(start);
+				return;
+			} //if
+
+			int mid = (start + end) >>> 1;
+			invokeAll(new TestTask(start, mid), new TestTask(mid, end));
+		} //end compute
+	} //end TestTask
+
+	/**
+	 * Run one test from rest on a copy of the robot
+	 * @param test Index of the test, quasi-static tests first then step tests
+	 */
+	private void runTest(int test) {
+		Robot r = loop.getRobot().clone();
+		DriveLoop testLoop = new DriveLoop(r, loop.getDrivePID(), loop.getTurnPID());
+
+		if (test < voltages.length) {
+			//run the robot at a voltage for 5 seconds and save its final velocity
+			Command c = new TimedVoltage(testLoop, voltages[test], 5);
 			c.run();
-			
-			//save the velocities and the voltages
-			double vel = loop.getRobot().getLinearVel();
-			voltages[index] = volt;
-			velocities[index] = vel;
-			
-			//print point values
-//			Util.tabPrint(volt, vel);
-			
-			//reset the robot
-			loop.getRobot().reset();
-			index++;
-		} //loop
-		
+			velocities[test] = r.getLinearVel();
+
+		} else {
+			//apply a step voltage and save the velocity at each tick
+			int step = test - voltages.length;
+			Command c = new TimedVoltage(testLoop, stepVoltages[step], stepTime);
+			c.run();
+
+			//acceleration over each tick from the change in velocity, paired with the velocity halfway through the tick
+			double[] vel = c.getTelemetry().getColumn(ROBOT_KEY.LIN_VEL);
+			double dt = r.getTimeStep();
+			stepVelocities[step] = new double[vel.length];
+			stepAccelerations[step] = new double[vel.length];
+
+			for (int i = 0; i < vel.length; i++) {
+				double lastVel = i == 0 ? 0 : vel[i - 1]; //test starts from rest
+				stepVelocities[step][i] = (vel[i] + lastVel) / 2;
+				stepAccelerations[step][i] = (vel[i] - lastVel) / dt;
+			} //loop
+		} //if
+	} //end runTest
+
+	/**
+	 * Calculate the velocity per volt using linear regression on the quasi-static tests
+	 */
+	private void calckV() {
 		Util.kV_EMPIR = Util.regressedSlope(voltages, velocities);
 //		Util.println("kV:", Util.kV_EMPIR);
 	} //end calckV
-	
+
+	/**
+	 * Calculate the volts per acceleration using linear regression on the step tests.
+	 * The voltage not spent holding the velocity (V - v/kV) is what accelerates the robot.
+	 */
 	private void calckA() {
-		
-	}
+		//count the ticks of every step test
+		int n = 0;
+		for (int s = 0; s < stepVoltages.length; s++) {
+			n += stepVelocities[s].length;
+		} //loop
+
+		double[] accelerations = new double[n];
+		double[] accelVoltages = new double[n];
+		int index = 0;
+
+		for (int s = 0; s < stepVoltages.length; s++) {
+			for (int i = 0; i < stepVelocities[s].length; i++) {
+				accelerations[index] = stepAccelerations[s][i];
+				accelVoltages[index] = stepVoltages[s] - stepVelocities[s][i] / Util.kV_EMPIR;
+				index++;
+			} //loop
+		} //loop
+
+		Util.kA_EMPIR = Util.regressedSlope(accelerations, accelVoltages);
+//		Util.println("kA:", Util.kA_EMPIR);
+	} //end calckA
 } //end class
@@ -0,0 +1,338 @@
+/**
+ * GainSweep
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Run a PID command over a grid of gains in parallel and rank the step responses
+ */
+package commands.routines;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import commands.Command;
+import commands.DriveDistance;
+import commands.TurnAngle;
+import model.DriveLoop;
+import model.PIDController;
+import model.Robot;
+import model.TelemetryRecorder;
+import util.Util.ROBOT_KEY;
+
+public class GainSweep {
+	//Attributes
+	//Configured
+	private Robot robot; //robot each worker clones
+	private PIDController drivePID; //gains for driving, swept in DRIVE_DISTANCE mode
+	private PIDController turnPID; //gains for turning, swept in TURN_ANGLE mode
+	private MODE mode; //command being tuned
+	private double target; //distance in inches or angle in degrees to move
+	private double tolerance; //settling band in inches or degrees
+	private double topSpeed; //top speed of the command in ft/s
+	private int parallelism; //number of worker threads
+
+	//Constants
+	private static final int CHUNK_SIZE = 16; //gain sets each worker runs before splitting further
+
+	//Commands that can be swept
+	public static enum MODE {
+		DRIVE_DISTANCE, //sweep the drive gains with DriveDistance
+		TURN_ANGLE //sweep the turn gains with a relative TurnAngle
+	}
+
+	/**
+	 * Create a sweep for a drive loop's robot and gains
+	 * @param loop Drive loop with the robot and the gains of the controller that is not swept
+	 * @param mode Command being tuned
+	 * @param target Distance in inches or angle in degrees to move
+	 * @param tolerance Settling band in inches or degrees, also used as the command tolerance
+	 * @param topSpeed Top speed of the command in ft/s
+	 */
+	public GainSweep(DriveLoop loop, MODE mode, double target, double tolerance, double topSpeed) {
+		if (tolerance <= 0)
+			throw new IllegalArgumentException("Tolerance must be positive, was " + tolerance);
+
+		//set attributes
+		this.robot = loop.getRobot();
+		this.drivePID = loop.getDrivePID();
+		this.turnPID = loop.getTurnPID();
+		this.mode = mode;
+		this.target = target;
+		this.tolerance = tolerance;
+		this.topSpeed = topSpeed;
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	} //end constructor
+
+	/**
+	 * Set the number of worker threads
+	 * @param parallelism Number of threads, 1 runs the sweep on one worker
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+		this.parallelism = parallelism;
+	} //end setParallelism
+
+	/**
+	 * Create evenly spaced values between two bounds
+	 * @param min First value
+	 * @param max Last value
+	 * @param count Number of values
+	 * @return Array of count values from min to max
+	 */
+	public static double[] range(double min, double max, int count) {
+		if (count < 1)
+			throw new IllegalArgumentException("Count must be at least 1, was " + count);
+
+		double[] values = new double[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = count == 1 ? min : min + (max - min) * i / (count - 1);
+		} //loop
+		return values;
+	} //end range
+
+	/**
+	 * Run every combination of gains and rank the responses
+	 * @param kPs Proportionality constants to try
+	 * @param kIs Integral constants to try
+	 * @param kDs Derivative constants to try
+	 * @return Results from best to worst
+	 */
+	public ArrayList<Result> run(double[] kPs, double[] kIs, double[] kDs) {
+		Result[] results = new Result[kPs.length * kIs.length * kDs.length];
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+		try {
+			pool.invoke(new SweepTask(kPs, kIs, kDs, results, 0, results.length));
+		} finally {
+			pool.shutdown();
+		} //try-finally
+
+		Arrays.sort(results);
+		return new ArrayList<Result>(Arrays.asList(results));
+	} //end run
+
+	/**
+	 * Print the best results as a table
+	 * @param results Ranked results from run()
+	 * @param rows Maximum number of rows to print
+	 */
+	public static void printTable(ArrayList<Result> results, int rows) {
+		System.out.println(String.format(Locale.US, "%4s %9s %9s %9s %10s %10s %10s",
+							"rank", "kP", "kI", "kD", "overshoot", "settling", "ss error"));
+		for (int i = 0; i < Math.min(rows, results.size()); i++) {
+			System.out.println(String.format(Locale.US, "%4d %s", i + 1, results.get(i)));
+		} //loop
+	} //end printTable
+
+	/**
+	 * Runs a range of the gain grid on one cloned robot, splitting the range between workers
+	 */
+	private class SweepTask extends RecursiveAction {
+		//Constants
+		private static final long serialVersionUID = 1L;
+
+		//Attributes
+		private double[] kPs, kIs, kDs; //gains to try
+		private Result[] results; //results indexed by grid position
+		private int start, end; //range of grid positions to run
+
+		/**
+		 * Create a task for part of the grid
+		 * @param kPs Proportionality constants to try
+		 * @param kIs Integral constants to try
+		 * @param kDs Derivative constants to try
+		 * @param results Array to store the results in
+		 * @param start First grid position to run
+		 * @param end Grid position after the last one to run
+		 */
+		SweepTask(double[] kPs, double[] kIs, double[] kDs, Result[] results, int start, int end) {
+			this.kPs = kPs;
+			this.kIs = kIs;
+			this.kDs = kDs;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		} //end constructor
+
+		/**
+		 * Split the range in half until it is small enough to run
+		 */
+		protected void compute() {
+			if (end - start <= CHUNK_SIZE) {
+				runChunk();
+				return;
+			} //if
+
+			int mid = (start + end) >>> 1;
+			invokeAll(new SweepTask(kPs, kIs, kDs, results, start, mid),
+					new SweepTask(kPs, kIs, kDs, results, mid, end));
+		} //end compute
+
+		/**
+		 * Run each gain set in the range with a robot and loop owned by this task
+		 */
+		private void runChunk() {
+			Robot r = robot.clone();
+			DriveLoop loop = new DriveLoop(r, drivePID, turnPID);
+			PIDController swept = mode == MODE.DRIVE_DISTANCE ? loop.getDrivePID() : loop.getTurnPID();
+			Command c = mode == MODE.DRIVE_DISTANCE ? new DriveDistance(loop, target, tolerance, topSpeed)
+													: new TurnAngle(loop, target, tolerance, topSpeed, true);
+
+			for (int n = start; n < end; n++) {
+				//grid position to gains, kD changes fastest
+				double kP = kPs[n / (kIs.length * kDs.length)];
+				double kI = kIs[(n / kDs.length) % kIs.length];
+				double kD = kDs[n % kDs.length];
+
+				r.reset();
+				swept.setGains(kP, kI, kD);
+				c.run();
+
+				results[n] = evaluate(c.getTelemetry(), r.getTimeStep(), kP, kI, kD);
+			} //loop
+		} //end runChunk
+	} //end SweepTask
+
+	/**
+	 * Measure the step response recorded by a command
+	 * @param telemetry Data recorded while the command ran from rest at zero
+	 * @param dt Time between recorded ticks in seconds
+	 * @param kP Proportionality constant used
+	 * @param kI Integral constant used
+	 * @param kD Derivative constant used
+	 * @return Overshoot, settling time and steady-state error of the response
+	 */
+	private Result evaluate(TelemetryRecorder telemetry, double dt, double kP, double kI, double kD) {
+		int n = telemetry.size();
+		double sign = Math.signum(target);
+		double overshoot = 0;
+		int lastOutside = -1; //last tick outside the settling band
+		double value = 0;
+
+		for (int i = 0; i < n; i++) {
+			value = mode == MODE.DRIVE_DISTANCE ? telemetry.get(ROBOT_KEY.AVG_POS, i)
+												: Math.toDegrees(telemetry.get(ROBOT_KEY.HEADING, i));
+			double error = target - value;
+
+			//overshoot is movement past the target in the direction of travel
+			overshoot = Math.max(overshoot, -error * sign);
+			if (Math.abs(error) > tolerance)
+				lastOutside = i;
+		} //loop
+
+		//never settled if the last tick is still outside the band
+		double settlingTime = n == 0 || lastOutside == n - 1 ? Double.POSITIVE_INFINITY : (lastOutside + 1) * dt;
+		return new Result(kP, kI, kD, overshoot, settlingTime, Math.abs(target - value));
+	} //end evaluate
+
+	/**
+	 * Step response of one set of gains
+	 */
+	public static class Result implements Comparable<Result> {
+		//Attributes
+		private double kP, kI, kD; //gains used
+		private double overshoot; //distance past the target in inches or degrees
+		private double settlingTime; //time to stay within the settling band in seconds, infinite if it never did
+		private double steadyStateError; //final distance from the target in inches or degrees
+
+		/**
+		 * Create a result
+		 * @param kP Proportionality constant used
+		 * @param kI Integral constant used
+		 * @param kD Derivative constant used
+		 * @param overshoot Distance past the target in inches or degrees
+		 * @param settlingTime Time to stay within the settling band in seconds
+		 * @param steadyStateError Final distance from the target in inches or degrees
+		 */
+		Result(double kP, double kI, double kD, double overshoot, double settlingTime, double steadyStateError) {
+			this.kP = kP;
+			this.kI = kI;
+			this.kD = kD;
+			this.overshoot = overshoot;
+			this.settlingTime = settlingTime;
+			this.steadyStateError = steadyStateError;
+		} //end constructor
+
+		/**
+		 * Get the proportionality constant used
+		 * @return kP Proportionality constant
+		 */
+		public double getP() {
+			return kP;
+		} //end getP
+
+		/**
+		 * Get the integral constant used
+		 * @return kI Integral constant
+		 */
+		public double getI() {
+			return kI;
+		} //end getI
+
+		/**
+		 * Get the derivative constant used
+		 * @return kD Derivative constant
+		 */
+		public double getD() {
+			return kD;
+		} //end getD
+
+		/**
+		 * Get the overshoot of the response
+		 * @return Distance past the target in inches or degrees
+		 */
+		public double getOvershoot() {
+			return overshoot;
+		} //end getOvershoot
+
+		/**
+		 * Get the settling time of the response
+		 * @return Time to stay within the settling band in seconds, infinite if it never did
+		 */
+		public double getSettlingTime() {
+			return settlingTime;
+		} //end getSettlingTime
+
+		/**
+		 * Get the steady-state error of the response
+		 * @return Final distance from the target in inches or degrees
+		 */
+		public double getSteadyStateError() {
+			return steadyStateError;
+		} //end getSteadyStateError
+
+		/**
+		 * Check whether the response settled
+		 * @return True if it stayed within the settling band before the command ended
+		 */
+		public boolean isSettled() {
+			return settlingTime != Double.POSITIVE_INFINITY;
+		} //end isSettled
+
+		/**
+		 * Rank by settling time, then overshoot, then steady-state error
+		 * @param other Result to compare to
+		 * @return Negative if this result is better, positive if it is worse
+		 */
+		public int compareTo(Result other) {
+			int cmp = Double.compare(settlingTime, other.settlingTime);
+			if (cmp == 0)
+				cmp = Double.compare(overshoot, other.overshoot);
+			if (cmp == 0)
+				cmp = Double.compare(steadyStateError, other.steadyStateError);
+			return cmp;
+		} //end compareTo
+
+		/**
+		 * Format the result as a table row
+		 * @return Gains and metrics separated by spaces
+		 */
+		public String toString() {
+			return String.format(Locale.US, "%9.4f %9.4f %9.4f %10.3f %10.3f %10.3f",
+								kP, kI, kD, overshoot, settlingTime, steadyStateError);
+		} //end toString
+	} //end Result
+} //end GainSweep
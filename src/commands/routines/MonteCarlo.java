@@ -0,0 +1,269 @@
+/**
+ * MonteCarlo
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Run a routine many times with noisy robot parameters to see how often it misses its goal
+ */
+package commands.routines;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import commands.CommandGroup;
+import model.DriveLoop;
+import model.Gearbox;
+import model.Motor;
+import model.Point;
+import model.RecordingPolicy;
+import model.Robot;
+import util.StreamingStats;
+
+public class MonteCarlo {
+	//Attributes
+	//Configured
+	private DriveLoop loop; //loop with the nominal robot and gains
+	private Function<DriveLoop, CommandGroup> routine; //creates the routine for a trial's loop
+	private Point goal; //point the routine should end at
+	private double missTolerance; //distance from the goal counted as a miss in inches
+	private long seed; //seed the trial noise is derived from
+	private int parallelism; //number of worker threads
+
+	//Noise, standard deviations
+	private double massNoise; //fraction of the nominal mass
+	private double wheelNoise; //fraction of the nominal wheel diameter
+	private double motorNoise; //fraction of the nominal free speed and stall torque
+	private double positionNoise; //start position in inches
+	private double headingNoise; //start heading in degrees
+
+	//Results
+	private StreamingStats positionError; //distance between the final position and the goal in inches
+	private long misses; //number of trials that ended outside the miss tolerance
+
+	//Constants
+	private static final int CHUNK_SIZE = 8; //trials each worker runs before splitting further
+	private static final double HISTOGRAM_MAX = 48; //upper edge of the error histogram in inches
+	private static final int HISTOGRAM_BINS = 960; //0.05" bins
+
+	/**
+	 * Create a Monte Carlo runner for a routine
+	 * @param loop Drive loop with the nominal robot at its start pose and the gains to use
+	 * @param routine Creates the routine for the loop of each trial
+	 * @param goal Point the routine should end at
+	 * @param missTolerance Distance from the goal counted as a miss in inches
+	 */
+	public MonteCarlo(DriveLoop loop, Function<DriveLoop, CommandGroup> routine, Point goal, double missTolerance) {
+		//set attributes
+		this.loop = loop;
+		this.routine = routine;
+		this.goal = goal;
+		this.missTolerance = missTolerance;
+		this.seed = 0;
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	} //end constructor
+
+	//Configuration
+
+	/**
+	 * Set the standard deviations of the robot parameters
+	 * @param mass Fraction of the nominal mass
+	 * @param wheel Fraction of the nominal wheel diameter
+	 * @param motor Fraction of the nominal motor free speed and stall torque
+	 */
+	public void setParameterNoise(double mass, double wheel, double motor) {
+		this.massNoise = mass;
+		this.wheelNoise = wheel;
+		this.motorNoise = motor;
+	} //end setParameterNoise
+
+	/**
+	 * Set the standard deviations of the start pose
+	 * @param position Start position in inches, applied to x and y
+	 * @param heading Start heading in degrees
+	 */
+	public void setStartNoise(double position, double heading) {
+		this.positionNoise = position;
+		this.headingNoise = heading;
+	} //end setStartNoise
+
+	/**
+	 * Set the seed the noise of every trial is derived from
+	 * @param seed Seed, the same seed gives the same results for any parallelism
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	} //end setSeed
+
+	/**
+	 * Set the number of worker threads
+	 * @param parallelism Number of threads, 1 runs every trial on one worker
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+		this.parallelism = parallelism;
+	} //end setParallelism
+
+	//Running
+
+	/**
+	 * Run the trials and fold their errors into the statistics
+	 * @param trials Number of trials to run
+	 */
+	public void run(int trials) {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+		try {
+			Tally tally = pool.invoke(new TrialTask(0, trials));
+			positionError = tally.error;
+			misses = tally.misses;
+		} finally {
+			pool.shutdown();
+		} //try-finally
+	} //end run
+
+	/**
+	 * Running totals of a range of trials
+	 */
+	private static class Tally {
+		//Attributes
+		private StreamingStats error = new StreamingStats(0, HISTOGRAM_MAX, HISTOGRAM_BINS); //position error in inches
+		private long misses; //trials outside the miss tolerance
+
+		/**
+		 * Add the totals of another range of trials
+		 * @param other Totals to add
+		 * @return This tally
+		 */
+		Tally merge(Tally other) {
+			error.merge(other.error);
+			misses += other.misses;
+			return this;
+		} //end merge
+	} //end Tally
+
+	/**
+	 * Runs a range of trials, splitting the range between workers
+	 */
+	private class TrialTask extends RecursiveTask<Tally> {
+		//Constants
+		private static final long serialVersionUID = 1L;
+
+		//Attributes
+		private int start, end; //range of trials to run
+
+		/**
+		 * Create a task for a range of trials
+		 * @param start First trial to run
+		 * @param end Trial after the last one to run
+		 */
+		TrialTask(int start, int end) {
+			this.start = start;
+			this.end = end;
+		} //end constructor
+
+		/**
+		 * Run the trials directly if the range is small, otherwise split it in half
+		 * @return Totals of the range
+		 */
+		protected Tally compute() {
+			if (end - start <= CHUNK_SIZE) {
+				Tally tally = new Tally();
+				for (int n = start; n < end; n++) {
+					double error = runTrial(n);
+					tally.error.add(error);
+					tally.misses += error > missTolerance ? 1 : 0;
+				} //loop
+				return tally;
+			} //if
+
+			//merged in a fixed order so the results do not depend on scheduling
+			int mid = (start + end) >>> 1;
+			TrialTask left = new TrialTask(start, mid);
+			left.fork();
+			Tally right = new TrialTask(mid, end).compute();
+			return left.join().merge(right);
+		} //end compute
+	} //end TrialTask
+
+	/**
+	 * Run one trial with its own noisy robot
+	 * @param trial Index of the trial
+	 * @return Distance between the final position and the goal in inches
+	 */
+	private double runTrial(int trial) {
+		Random rand = new Random(trialSeed(trial));
+		Robot nominal = loop.getRobot();
+
+		//noisy motor, gearbox and robot
+		Gearbox gb = nominal.getGearboxCopy();
+		double[] params = gb.getMotorParameters().clone();
+		params[0] *= 1 + motorNoise * rand.nextGaussian(); //free speed
+		params[2] *= 1 + motorNoise * rand.nextGaussian(); //stall torque
+
+		Robot r = new Robot(nominal.getWheelDiameterInches() * (1 + wheelNoise * rand.nextGaussian()),
+							nominal.getMassPounds() * (1 + massNoise * rand.nextGaussian()),
+							nominal.getLengthInches(), nominal.getWidthInches(),
+							new Gearbox(gb.getGearRatio(), new Motor(params), gb.getNumMotors()));
+		if (nominal.getIntegrator() != null)
+			r.setIntegrator(nominal.getIntegrator().copy(r));
+
+		//noisy start pose
+		r.setXY(new Point(nominal.getX() + positionNoise * rand.nextGaussian(),
+						nominal.getY() + positionNoise * rand.nextGaussian()));
+		r.setHeading(nominal.getHeading() + Math.toRadians(headingNoise * rand.nextGaussian()));
+
+		//run the routine on a loop with the nominal gains
+		DriveLoop trialLoop = new DriveLoop(r, loop.getDrivePID(), loop.getTurnPID());
+		trialLoop.setFFValues(loop.getKV(), loop.getKA());
+		CommandGroup cg = routine.apply(trialLoop);
+		cg.setVerbose(false);
+		cg.setRecordingPolicy(RecordingPolicy.finalOnly()); //only the final position is checked
+		cg.run();
+
+		return Math.hypot(goal.getX() - r.getX(), goal.getY() - r.getY());
+	} //end runTrial
+
+	/**
+	 * Derive an independent seed for a trial, nearby seeds give correlated Random streams
+	 * @param trial Index of the trial
+	 * @return Seed for the trial
+	 */
+	private long trialSeed(int trial) {
+		//SplitMix64 finalizer
+		long z = seed + (trial + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	} //end trialSeed
+
+	//Results
+
+	/**
+	 * Get the statistics of the final position error of the last run
+	 * @return Position error in inches
+	 */
+	public StreamingStats getPositionError() {
+		return positionError;
+	} //end getPositionError
+
+	/**
+	 * Get the fraction of trials that missed the goal in the last run
+	 * @return Fraction between 0 and 1
+	 */
+	public double getMissRate() {
+		return (double) misses / positionError.getCount();
+	} //end getMissRate
+
+	/**
+	 * Summarize the last run
+	 * @return Trials, miss rate and position error statistics
+	 */
+	public String toString() {
+		return String.format(Locale.US, "trials=%d missRate=%.4f mean=%.3f stdDev=%.3f p50=%.3f p95=%.3f max=%.3f",
+							positionError.getCount(), getMissRate(), positionError.getMean(), positionError.getStdDev(),
+							positionError.getPercentile(50), positionError.getPercentile(95), positionError.getMax());
+	} //end toString
+} //end MonteCarlo
@@ -9,14 +9,17 @@ package graphics;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
@@ -26,7 +29,7 @@ import javax.swing.JOptionPane;
 import graphics.widgets.Circle;
 import main.AutoSim;
 import model.Point;
-import model.Pose;
+import model.TelemetryRecorder;
 import model.motion.BezierPath;
 import util.Util;
 import util.Util.ROBOT_KEY;
@@ -41,12 +44,18 @@ public class Environment extends JComponent {
 	private int height; //height of the environment
 	
 	//Elements
-	private Image field; //field image
+	private Image field; //field image scaled to the environment
 	private UIBar bar; //user interface bar to update
 	
+	//Render resources
+	private VolatileImage background; //field or grid with the axis labels, drawn once
+	private boolean backgroundValid; //false when the background needs to be drawn again
+	private Font labelFont; //font for the axis labels
+	private BasicStroke pathStroke; //stroke for paths and poses
+	private BasicStroke waypointStroke; //stroke for lines between waypoints
+	
 	//Updated
-	private ArrayList<Pose> poses; //list of robot poses to draw
-	private ArrayList<HashMap<ROBOT_KEY, Object>> data; //data from the robot
+	private TelemetryRecorder telemetry; //robot poses and data to draw
 	private static int poseIndex; //index in pose list of pose to draw
 	private boolean debug; //whether to display the field or not
 	private boolean simulating; //true when the animation is running
@@ -69,6 +78,12 @@ public class Environment extends JComponent {
 		poseIndex = -1;
 		simulating = false;
 		drawCurves = true;
+		backgroundValid = false;
+		
+		//resources reused by every repaint
+		labelFont = Painter.createFont(Painter.SF_UI_FONT, AutoSim.PPI * 8);
+		pathStroke = RenderCache.getStroke(AutoSim.PPI * 2f);
+		waypointStroke = RenderCache.getStroke(AutoSim.PPI * 1f);
 		
 		//add border
 		this.setBorder(BorderFactory.createLineBorder(Color.BLACK, AutoSim.PPI * 2));
@@ -95,13 +110,19 @@ public class Environment extends JComponent {
 		
 		//open field image
 		try {
-			field = ImageIO.read(getClass().getResource("/resources/2020Field.png"));
+			BufferedImage image = ImageIO.read(getClass().getResource("/resources/2020Field.png"));
 			
-			//scale the image for the machine's screen resolution
-			field = field.getScaledInstance(width, height, BufferedImage.SCALE_FAST); 
+			//scale the image for the machine's screen resolution, finished before the background is drawn
+			BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g2 = scaled.createGraphics();
+			g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g2.drawImage(image, 0, 0, width, height, null);
+			g2.dispose();
+			field = scaled;
 		} catch (IOException e) {
 			JOptionPane.showMessageDialog(null, e.getMessage());
 		} //try-catch
+		backgroundValid = false;
 		
 		//set focus traversable
 		this.setFocusable(true);
@@ -122,25 +143,36 @@ public class Environment extends JComponent {
 	 * @return Simulation time in seconds
 	 */
 	public static double getTime() {
-		return poseIndex * Util.UPDATE_PERIOD;
+		TelemetryRecorder telemetry = mInstance == null ? null : mInstance.telemetry;
+		if (telemetry == null || poseIndex < 0 || poseIndex >= telemetry.size())
+			return 0;
+		return telemetry.getTime(poseIndex);
 	} 
 	
 	//Pose
 	
 	/**
-	 * Add poses to be later drawn
-	 * @param poses List of poses to be drawn
+	 * Set the robot data to be later drawn
+	 * @param telemetry Recorded robot data at each timestamp
 	 */
-	public void setPoses(ArrayList<Pose> poses) {
-		this.poses = poses;
+	public void setTelemetry(TelemetryRecorder telemetry) {
+		this.telemetry = telemetry;
+	} 
+	
+	/**
+	 * Get the robot data being drawn
+	 * @return Recorded robot data, null if none has been set
+	 */
+	public TelemetryRecorder getTelemetry() {
+		return telemetry;
 	} 
 	
 	/**
 	 * Get the number of poses in the environment
-	 * @return Number of poses in the poses list if the list is not null
+	 * @return Number of recorded poses, zero if there are none
 	 */
 	public int getNumPoses() {
-		return poses != null ? poses.size() : null;
+		return telemetry != null ? telemetry.size() : 0;
 	} 
 	
 	/**
@@ -148,7 +180,7 @@ public class Environment extends JComponent {
 	 */
 	public void incrementPoseIndex() {
 		poseIndex++;
-		bar.setTime(poseIndex);
+		bar.setTime(getTime());
 		repaint();
 	} 
 	
@@ -183,7 +215,7 @@ public class Environment extends JComponent {
 	 * Increment the curve index by one and repaint the component
 	 */
 	public void incrementCurveIndex() {
-		bar.setTime(poseIndex);
+		bar.setTime(getTime());
 		repaint();
 	} 
 	
@@ -223,25 +255,6 @@ public class Environment extends JComponent {
 		Util.println(drawCurves);
 	}
 	
-	//Data
-	
-	/**
-	 * Set the data for the simulation
-	 * @param data list of robot data points at each timestamp
-	 */
-	public void setData(ArrayList<HashMap<ROBOT_KEY, Object>> data) {
-		this.data = data;
-	} 
-	
-	/**
-	 * Get the data point at an index
-	 * @param index list index to get data point at
-	 * @return data point at index
-	 */
-	public HashMap<ROBOT_KEY, Object> getDataPoint(int index) {
-		return data.get(index);
-	} 
-	
 	//Graphics
 	
 	/**
@@ -272,6 +285,7 @@ public class Environment extends JComponent {
 	 */
 	public void setDebug() {
 		debug = true;
+		backgroundValid = false;
 	} 
 	
 	/**
@@ -302,7 +316,7 @@ public class Environment extends JComponent {
 		drawBackground(g2);
 		
 		//reset the stroke
-		g2.setStroke(new BasicStroke((float) (AutoSim.PPI * 2), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+		g2.setStroke(pathStroke);
 		
 		//draw the current path
 		drawPath(g2);
@@ -342,10 +356,47 @@ public class Environment extends JComponent {
 	//Graphics
 	
 	/**
-	 * Draw the background of the Environment
+	 * Draw the background of the Environment from an image kept in video memory
 	 * @param g2 Object for drawing
 	 */
 	private void drawBackground(Graphics2D g2) {
+		GraphicsConfiguration gc = getGraphicsConfiguration();
+		
+		//draw directly if not on screen yet
+		if (gc == null || width <= 0 || height <= 0) {
+			renderBackground(g2);
+			return;
+		} //if
+		
+		//the image can be lost at any time (ie. display change), draw it again until it sticks
+		do {
+			int status = background == null ? VolatileImage.IMAGE_INCOMPATIBLE : background.validate(gc);
+			
+			//an image from before a resize would be stretched or cropped, so it is made again at the new size
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE 
+					|| background.getWidth() != width || background.getHeight() != height) {
+				if (background != null)
+					background.flush();
+				background = gc.createCompatibleVolatileImage(width, height);
+				status = VolatileImage.IMAGE_RESTORED;
+			} //if
+			
+			if (status == VolatileImage.IMAGE_RESTORED || !backgroundValid) {
+				Graphics2D bg = background.createGraphics();
+				renderBackground(bg);
+				bg.dispose();
+				backgroundValid = true;
+			} //if
+			
+			g2.drawImage(background, 0, 0, null);
+		} while (background.contentsLost());
+	}
+	
+	/**
+	 * Draw the parts of the background that do not change between frames
+	 * @param g2 Object for drawing
+	 */
+	private void renderBackground(Graphics2D g2) {
 		//draw the field image as the background
 		if (!debug) {
 			g2.drawImage(field, 0, 0, null);
@@ -359,7 +410,8 @@ public class Environment extends JComponent {
 		} //if
 		
 		//draw the x and y indicators
-		g2.setFont(Painter.createFont(Painter.SF_UI_FONT, AutoSim.PPI * 8));
+		g2.setColor(Color.BLACK);
+		g2.setFont(labelFont);
 		g2.drawString("y", (int) (width * 0.975),(int) (height * 0.03));
 		g2.drawString("x", (int) (width * 0.015),(int) (height * 0.985));
 	}
@@ -405,8 +457,9 @@ public class Environment extends JComponent {
 	 */
 	private void drawCurrentPose(Graphics2D g2) {
 		AffineTransform oldTransform = g2.getTransform();
-		if (poses != null && !poses.isEmpty()) { //if the pose is not null or empty
-			Painter.drawPose(g2, poses.get(poseIndex));
+		if (telemetry != null && !telemetry.isEmpty()) { //if the pose is not null or empty
+			Painter.drawPose(g2, telemetry.getX(poseIndex), telemetry.getY(poseIndex), 
+							telemetry.getHeading(poseIndex), new Color(telemetry.getColor(poseIndex)));
 		} //if
 		g2.setTransform(oldTransform);
 	} 
@@ -416,11 +469,11 @@ public class Environment extends JComponent {
 	 * @param g2 Object for drawing
 	 */
 	private void drawGoalPoint(Graphics2D g2) {
-		if (poseIndex > 0 && data != null && (data.get(poseIndex).get(ROBOT_KEY.GOAL_POINT) != null)) {
+		if (poseIndex > 0 && telemetry != null && telemetry.hasGoalPoint(poseIndex)) {
 			//drawing values
 			g2.setColor(Color.GRAY);
-			Point goal = (Point) data.get(poseIndex).get(ROBOT_KEY.GOAL_POINT);
-			Point robot = poses.get(poseIndex).getPoint();
+			Point goal = new Point(telemetry.getGoalX(poseIndex), telemetry.getGoalY(poseIndex));
+			Point robot = new Point(telemetry.getX(poseIndex), telemetry.getY(poseIndex));
 			
 			//points to draw and line between them
 			Painter.drawPoint(g2, goal);
@@ -434,10 +487,10 @@ public class Environment extends JComponent {
 	 * @param g2 Object for drawing
 	 */
 	private void drawLookAhead(Graphics2D g2) {
-		if (poseIndex > 0 && data != null && ((double) data.get(poseIndex).get(ROBOT_KEY.LOOKAHEAD_DIST) != 0)) {
+		if (poseIndex > 0 && telemetry != null && telemetry.get(ROBOT_KEY.LOOKAHEAD_DIST, poseIndex) != 0) {
 			g2.setColor(Color.BLACK);
-			Point robot = poses.get(poseIndex).getPoint();
-			double lookahead = (Double) data.get(poseIndex).get(ROBOT_KEY.LOOKAHEAD_DIST);
+			Point robot = new Point(telemetry.getX(poseIndex), telemetry.getY(poseIndex));
+			double lookahead = telemetry.get(ROBOT_KEY.LOOKAHEAD_DIST, poseIndex);
 			int dia = (int) (lookahead * 2.0);
 			
 			Painter.drawEmptyCircle(g2, robot, dia);
@@ -451,7 +504,7 @@ public class Environment extends JComponent {
 	private void drawWaypoints(Graphics2D g2) {
 		if (waypoints != null) {
 			g2.setColor(Color.BLACK);
-			g2.setStroke(new BasicStroke((float) (AutoSim.PPI * 1.0), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+			g2.setStroke(waypointStroke);
 			
 			for (int i = 1; i < waypoints.length; i++)
 				Painter.drawLine(g2, waypoints[i-1], waypoints[i]);
@@ -19,6 +19,9 @@ import model.motion.BezierPath;
 import util.FieldPoints;
 
 public class GraphicBezierPath extends BezierPath {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
 	private Circle[] circles; //control points
 	private int[][] poly;
@@ -28,6 +31,11 @@ public class GraphicBezierPath extends BezierPath {
 	private int numSegments;
 	private double trackWidth;
 	
+	//Samples kept between moves
+	private double[] xs, ys; //sample positions in inches
+	private double[] ctrlX = new double[6], ctrlY = new double[6]; //control point coordinates the samples are from
+	private boolean built; //whether the samples have been taken
+	
 	/**
 	 * Create a bezier path with circles
 	 * @param circles Control points as circles
@@ -38,6 +46,15 @@ public class GraphicBezierPath extends BezierPath {
 		this.numSegments = BezierPath.FAST_RES;
 		this.trackWidth = Painter.ROBOT_WIDTH / 2;
 		this.circles = circles;
+		
+		//buffers reused every time the curve changes
+		this.poly = new int[2][numSegments];
+		this.leftPoly = new int[2][numSegments];
+		this.rightPoly = new int[2][numSegments];
+		this.headings = new double[numSegments];
+		this.xs = new double[numSegments];
+		this.ys = new double[numSegments];
+		updatePolylines();
 	} //end constructor
 	
 	/**
@@ -179,6 +196,8 @@ public class GraphicBezierPath extends BezierPath {
 	public void moveCircle(int i, double dx, double dy) {
 		circles[i].setX(circles[i].getX() + dx);
 		circles[i].setY(circles[i].getY() + dy);
+		updateCoefficients();
+		updatePolylines();
 	} //end moveCircle
 
 	/**
@@ -220,61 +239,55 @@ public class GraphicBezierPath extends BezierPath {
 	
 	//Polyline
 	
-	private void updatePolylines() {
-		updateCenterPolyline();		
-		updateHeadings();
-		updateSidePolylines();
-	}
-	
-	private void updateCenterPolyline() {
-		int[] x = new int[numSegments];
-		int[] y = new int[numSegments];
-		
-		double t = 0;
+	/**
+	 * Bring the samples up to date with the control points, sampling the curve again only if one moved
+	 * @return True if any control point moved, false if the samples were already up to date
+	 */
+	private boolean updateSamples() {
+		Point[] pts = getControlPoints();
+		boolean changed = !built;
 		
-		for (int i = 0; i < numSegments; i++) {
-			Point p = this.calcPoint(t);
-			
-			//flip x and y because of field config
-			x[i] = (int) (p.getY() * (double) AutoSim.PPI); 
-			y[i] = (int) (p.getX() * (double) AutoSim.PPI);				
-			
-			t += 1.0 / numSegments;
+		for (int i = 0; i <= 5; i++) {
+			if (pts[i].getX() != ctrlX[i] || pts[i].getY() != ctrlY[i]) {
+				ctrlX[i] = pts[i].getX();
+				ctrlY[i] = pts[i].getY();
+				changed = true;
+			} //if
 		} //loop
 		
-		poly = new int[][]{x, y};
-	} //end updateCenterPolyline
+		if (!changed)
+			return false;
+		
+		//positions and headings straight into the buffers, the curve handles ends where it stops
+		sample(0, 1, numSegments, xs, ys, headings, null);
+		built = true;
+		return true;
+	} //end updateSamples
 	
 	/**
-	 * Update the heading values for path offsetting
+	 * Update the polylines in place, skipping the work if no control point has moved
 	 */
-	private void updateHeadings() {
-		headings = new double[numSegments];
+	private void updatePolylines() {
+		if (!updateSamples())
+			return;
 		
-		for (int i = 0; i < numSegments; i++) {
-			headings[i] = calcHeading(i);
-		} //loop
-	} //end updateHeadings
+		updateCenterPolyline();
+		updateSidePolylines();
+	} //end updatePolylines
 	
 	/**
-	 * Calculate a heading at i knowing all the (x,y) values at regular t intervals
-	 * @param i Index in array
-	 * @return Heading at i in degrees
+	 * Calculate the center polyline from the samples
 	 */
-	private double calcHeading(int i) {
-		int[] x = poly[1];
-		int[] y = poly[0];
-		
-		if (i == 0) {
-			Point p1 = new Point(x[1], y[1]);
-			Point p2 = new Point(x[0], y[0]);
-			return FieldPositioning.goalYaw(p1, p2);
-		} //if
+	private void updateCenterPolyline() {
+		int[] x = poly[0];
+		int[] y = poly[1];
 		
-		Point p1 = new Point(x[i-1], y[i-1]);
-		Point p2 = new Point(x[i], y[i]);
-		return FieldPositioning.goalYaw(p1, p2);
-	} //end calcHeading
+		for (int i = 0; i < numSegments; i++) {
+			//flip x and y because of field config
+			x[i] = (int) (ys[i] * (double) AutoSim.PPI); 
+			y[i] = (int) (xs[i] * (double) AutoSim.PPI);
+		} //loop
+	} //end updateCenterPolyline
 	
 	/**
 	 * Calculate the polylines for the left and right sides of the drive
@@ -283,10 +296,10 @@ public class GraphicBezierPath extends BezierPath {
 		int[] x = poly[0];
 		int[] y = poly[1];
 		
-		int[] xL = new int[numSegments];
-		int[] yL = new int[numSegments];
-		int[] xR = new int[numSegments];
-		int[] yR = new int[numSegments];
+		int[] xL = leftPoly[0];
+		int[] yL = leftPoly[1];
+		int[] xR = rightPoly[0];
+		int[] yR = rightPoly[1];
 		
 		double r = this.trackWidth;
 		
@@ -296,12 +309,6 @@ public class GraphicBezierPath extends BezierPath {
 			thetaL = Math.toRadians(headings[i] + 90);
 			thetaR = Math.toRadians(headings[i] - 90);
 			
-			if (i == 0) { //swap values for first point
-				double buffer = thetaL;
-				thetaL = thetaR;
-				thetaR = buffer;
-			} //if
-			
 			//left side
 			xL[i] = (int) (x[i] + r * Math.cos(thetaL)); 
 			yL[i] = (int) (y[i] + r * Math.sin(thetaL)); 
@@ -310,9 +317,6 @@ public class GraphicBezierPath extends BezierPath {
 			xR[i] = (int) (x[i] + r * Math.cos(thetaR)); 
 			yR[i] = (int) (y[i] + r * Math.sin(thetaR)); 
 		} //loop
-		
-		leftPoly = new int[][] {xL, yL};
-		rightPoly = new int[][] {xR, yR};
 	} //end updateSidePolylines
 	
 	/**
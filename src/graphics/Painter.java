@@ -6,11 +6,9 @@
  */
 package graphics;
 
-import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
-import java.io.File;
 
 import graphics.widgets.Circle;
 import main.AutoSim;
@@ -51,12 +49,24 @@ public class Painter {
 	 * @param p Pose to draw
 	 */
 	public static void drawPose(Graphics2D g2, Pose p) {
+		drawPose(g2, p.getPoint().getX(), p.getPoint().getY(), p.getHeading(), p.getColor());
+	} //end drawPose
+	
+	/**
+	 * Draw a robot pose to the screen
+	 * @param g2 Object for drawing
+	 * @param x X position of the robot in inches
+	 * @param y Y position of the robot in inches
+	 * @param heading Heading of the robot in radians
+	 * @param color Color of the robot
+	 */
+	public static void drawPose(Graphics2D g2, double x, double y, double heading, Color color) {
 		//translate to center of robot, robot to its heading
-		g2.translate(p.getPoint().getY()*AutoSim.PPI, p.getPoint().getX()*AutoSim.PPI);
-		g2.rotate(p.getHeading());
+		g2.translate(y*AutoSim.PPI, x*AutoSim.PPI);
+		g2.rotate(heading);
 		
 		//draw body of robot
-		g2.setColor(p.getColor());
+		g2.setColor(color);
 		g2.fillRoundRect(-ROBOT_LENGTH/2, -ROBOT_WIDTH/2, ROBOT_LENGTH, ROBOT_WIDTH, CORNER_RAD, CORNER_RAD);
 		
 		//draw back-end indicator (straight box so only round edges at front)
@@ -131,20 +141,12 @@ public class Painter {
 	} //end drawLine
 	
 	/**
-	 * Set the font of a Graphics2D object
-	 * @param g2 Used for drawing
+	 * Get a font from a file, the file is only read the first time
 	 * @param filename Directory of the font file
 	 * @param fontSize Value to scale pixels per inch by
 	 */
 	public static Font createFont(String filename, int fontSize) {
-		Font f = new Font(Font.SANS_SERIF, Font.PLAIN, fontSize); //default font
-		
-		try {
-			f = Font.createFont(Font.TRUETYPE_FONT, new File(filename));
-			f = f.deriveFont((float) fontSize);
-		} catch (Exception e) {} //try-catch
-		
-		return f; //return default font if not able to load from file
+		return RenderCache.getFont(filename, fontSize); //default font if not able to load from file
 	} //end createFont
 	
 	/**
@@ -153,7 +155,7 @@ public class Painter {
 	 * @param transparency Transparency factor from 0 to 1 inclusive
 	 */
 	public static void setTransparency(Graphics2D g2, double transparency) {
-		g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) transparency));
+		g2.setComposite(RenderCache.getComposite(transparency));
 	} //end setTransparency
 	
 	/**
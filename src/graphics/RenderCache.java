@@ -0,0 +1,98 @@
+/**
+ * RenderCache
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Fonts, strokes and composites created once and shared by every repaint
+ */
+package graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Font;
+import java.io.File;
+import java.io.InputStream;
+import java.util.HashMap;
+
+public class RenderCache {
+	//Attributes
+	private static final HashMap<String, Font> baseFonts = new HashMap<String, Font>(); //fonts read from file, by filename
+	private static final HashMap<String, Font> fonts = new HashMap<String, Font>(); //sized fonts, by filename and size
+	private static final HashMap<Float, BasicStroke> strokes = new HashMap<Float, BasicStroke>(); //round strokes, by width
+	private static final AlphaComposite[] composites = new AlphaComposite[256]; //SRC_OVER composites, by alpha out of 255
+
+	/**
+	 * Get a font from a file at a size, only reading the file the first time it is asked for
+	 * @param filename Path to the font file, or a classpath resource
+	 * @param fontSize Size of the font in pixels
+	 * @return Font from the file, sans serif if it could not be read
+	 */
+	public static synchronized Font getFont(String filename, float fontSize) {
+		String key = filename + "@" + fontSize;
+		Font f = fonts.get(key);
+
+		if (f == null) {
+			Font base = baseFonts.get(filename);
+			if (base == null) {
+				base = loadFont(filename);
+				baseFonts.put(filename, base);
+			} //if
+
+			f = base.deriveFont(fontSize);
+			fonts.put(key, f);
+		} //if
+
+		return f;
+	} //end getFont
+
+	/**
+	 * Read a font from a file, falling back to the classpath
+	 * @param filename Path to the font file
+	 * @return Font read from the file, sans serif if it could not be read (cached so a missing file is only tried once)
+	 */
+	private static Font loadFont(String filename) {
+		try {
+			File file = new File(filename);
+			if (file.isFile())
+				return Font.createFont(Font.TRUETYPE_FONT, file);
+
+			//packaged with the classes instead of beside them
+			String resource = "/" + file.getName();
+			try (InputStream is = RenderCache.class.getResourceAsStream(resource)) {
+				if (is != null)
+					return Font.createFont(Font.TRUETYPE_FONT, is);
+			} //try
+		} catch (Exception e) {} //try-catch
+
+		return new Font(Font.SANS_SERIF, Font.PLAIN, 1);
+	} //end loadFont
+
+	/**
+	 * Get a stroke with round caps and joins
+	 * @param width Width of the stroke in pixels
+	 * @return Stroke of the width
+	 */
+	public static synchronized BasicStroke getStroke(float width) {
+		BasicStroke stroke = strokes.get(width);
+
+		if (stroke == null) {
+			stroke = new BasicStroke(width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+			strokes.put(width, stroke);
+		} //if
+
+		return stroke;
+	} //end getStroke
+
+	/**
+	 * Get a composite that draws over what is already there with a transparency
+	 * @param transparency Transparency factor from 0 to 1 inclusive, rounded to 1/255
+	 * @return Composite with the transparency
+	 */
+	public static synchronized AlphaComposite getComposite(double transparency) {
+		int alpha = (int) Math.round(Math.max(0, Math.min(1, transparency)) * 255);
+
+		if (composites[alpha] == null)
+			composites[alpha] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha / 255f);
+
+		return composites[alpha];
+	} //end getComposite
+} //end RenderCache
@@ -8,6 +8,7 @@ package graphics;
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
@@ -15,7 +16,6 @@ import java.awt.RenderingHints;
 import javax.swing.JComponent;
 
 import main.AutoSim;
-import util.Util;
 
 public class UIBar extends JComponent {
 	//Attributes
@@ -30,6 +30,7 @@ public class UIBar extends JComponent {
 	
 	//Constants
 	private final int TEXT_HEIGHT; //height of text
+	private final Font font; //font for all text
 	
 	/**
 	 * Create a bar for user interaction
@@ -49,6 +50,7 @@ public class UIBar extends JComponent {
 		time = "0.0000";
 		currentCmd = "";
 		TEXT_HEIGHT = height / 10;
+		font = Painter.createFont(Painter.SF_UI_FONT, AutoSim.PPI * 10);
 		
 		//draw default information
 		repaint();
@@ -81,11 +83,10 @@ public class UIBar extends JComponent {
 	
 	/**
 	 * Update the time since the animation started
-	 * @param index - number of frames elapsed in animation
+	 * @param seconds - time of the frame being drawn in seconds
 	 */
-	public void setTime(int index) {
-		//each frame is one update period long
-		time = String.format("Time: %.3f", index * Util.UPDATE_PERIOD); 	
+	public void setTime(double seconds) {
+		time = String.format("Time: %.3f", seconds); 	
 		repaint();
 	} //end setTime
 	
@@ -120,7 +121,7 @@ public class UIBar extends JComponent {
 		Graphics2D g2 = (Graphics2D) g; //g2 for better drawing
 		
 		//set font and make text smoother
-		g2.setFont(Painter.createFont(Painter.SF_UI_FONT, AutoSim.PPI * 10));
+		g2.setFont(font);
 		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
 		
 		//move origin to bottom left
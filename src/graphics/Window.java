@@ -9,7 +9,6 @@ package graphics;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -23,9 +22,9 @@ import graphics.widgets.Widget;
 import graphics.widgets.WidgetHub;
 import main.AutoSim;
 import model.Pose;
+import model.TelemetryRecorder;
 import util.JComponentUtil;
 import util.Util;
-import util.Util.ROBOT_KEY;
 
 public class Window extends JFrame {
 	//Attributes
@@ -180,9 +179,8 @@ public class Window extends JFrame {
 	public void addCommand(Command c) {
 		this.cg = new CommandList(c);
 		c.run();
-		env.setPoses(c.getPoses());
+		env.setTelemetry(c.getTelemetry());
 		env.setCurves(c.getCurves());
-		env.setData(c.getData());
 	} 
 	
 	/**
@@ -191,8 +189,7 @@ public class Window extends JFrame {
 	 */
 	public void addCommandGroup(CommandGroup cg) {
 		cg.run();
-		env.setPoses(cg.getPoses());		
-		env.setData(cg.getData());
+		env.setTelemetry(cg.getTelemetry());
 		env.setPoseIndex(-1);
 		env.incrementPoseIndex();
 		this.cg = cg;
@@ -212,7 +209,7 @@ public class Window extends JFrame {
 		Runnable loop = () -> {
 			Util.println("Starting loop");
 			Util.println("Number of poses:", env.getNumPoses());
-			Util.println("Total time:", env.getNumPoses() * Util.UPDATE_PERIOD);
+			Util.println("Total time:", env.getTelemetry() == null ? 0 : env.getTelemetry().getElapsedTime());
 			env.setSimulating(true);
 			
 			//loop through all poses every 5 milliseconds
@@ -220,10 +217,10 @@ public class Window extends JFrame {
 				env.incrementPoseIndex(); //draw the next pose
 				
 				try {
-					HashMap<ROBOT_KEY, Object> data = env.getDataPoint(i);
-					bar.setCommandName((String) data.get(ROBOT_KEY.CURRENT_COMMAND)); //name of the command being run
+					TelemetryRecorder telemetry = env.getTelemetry();
+					bar.setCommandName(telemetry.getCommandName(i)); //name of the command being run
 					if (widgetHub != null)
-						widgetHub.update(data); //update all widgets
+						widgetHub.update(telemetry, i); //update all widgets
 				} catch (NullPointerException n) {}
 				
 				Util.pause(Util.ANIMATION_PERIOD);
@@ -248,7 +245,7 @@ public class Window extends JFrame {
 	 * @param poses List of poses to add
 	 */
 	public void addPoses(ArrayList<Pose> poses) {
-		env.setPoses(poses);
+		env.setTelemetry(TelemetryRecorder.fromPoses(poses));
 		env.incrementPoseIndex();
 		env.update();
 	}
@@ -19,6 +19,7 @@ import javax.swing.BorderFactory;
 import javax.swing.JComponent;
 
 import graphics.Painter;
+import graphics.RenderCache;
 import main.AutoSim;
 import util.JComponentUtil;
 import util.Util;
@@ -70,8 +71,8 @@ public class BoxButton extends JComponent {
 		//set the size of the box
 		this.setPreferredSize(new Dimension(width, height));
 		
-		//regular Oxygen font
-		this.f = Util.getFileFont(Painter.SF_UI_FONT);
+		//regular font, read from file once and shared by every button
+		this.f = RenderCache.getFont(Painter.SF_UI_FONT, fontSize);
 		
 		//add padding around component
 		this.setBorder(JComponentUtil.paddedBorder(AutoSim.PPI * 2));
@@ -113,7 +114,7 @@ public class BoxButton extends JComponent {
 		g.setColor(textColor);
 
 		//set the font
-		g.setFont(f.deriveFont(fontSize));
+		g.setFont(f);
 		FontMetrics fm = g.getFontMetrics();
 		
 		//set the font to use antialiasing or not
@@ -211,6 +212,7 @@ public class BoxButton extends JComponent {
 	 */
 	public void setFontSize(float fontSize) {
 		this.fontSize = fontSize;
+		this.f = RenderCache.getFont(Painter.SF_UI_FONT, fontSize);
 	} //end setFontSize
 	
 	/*
@@ -14,11 +14,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.text.AbstractDocument;
 
 import graphics.Environment;
@@ -30,17 +34,31 @@ import graphics.components.BoxButton.BUTTON_STATE;
 import graphics.components.LockButtonController;
 import main.AutoSim;
 import model.Point;
+import model.motion.BezierProfile;
+import model.motion.ProfileCache;
 import util.JComponentUtil;
 import util.TextFieldFilter;
 import util.Util;
 
 public class BezierPathCreator extends JPanel {
+	//Constants
+	//Constraints the time to complete is profiled with
+	private static final double TRACK_WIDTH = 30; //inches
+	private static final double MAX_VEL = 144; //in/s
+	private static final double MAX_ACC = 200; //in/s^2
+	private static final double MAX_DEC = 200; //in/s^2
+	
 	//Attributes
 	private int width; //width in pixels
 	private int height; //height in pixels
 	private GraphicBezierPath curve; //curve being manipulated
 	private HashMap<String, JTextField> textBoxes; //text boxes for control points
 	private BoxButton[] buttons; //buttons for control points
+	private JLabel timeLabel; //time to complete the curve
+	
+	//Profiling
+	private ExecutorService profiler; //thread profiling the curve so dragging is not held up
+	private AtomicReference<Point[]> pendingPoints; //latest points waiting to be profiled, null if none are waiting
 	
 	/**
 	 * Create a BezierPathCreator with a width and a height
@@ -56,6 +74,12 @@ public class BezierPathCreator extends JPanel {
 		this.textBoxes = new HashMap<String, JTextField>();
 		this.buttons = new BoxButton[6];
 		this.curve = new GraphicBezierPath();
+		this.pendingPoints = new AtomicReference<Point[]>();
+		this.profiler = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "Path profiler");
+			t.setDaemon(true); //do not keep the sim open
+			return t;
+		});
 		
 		//layout all components
 		layoutView();
@@ -144,6 +168,15 @@ public class BezierPathCreator extends JPanel {
 			controlPointArea.add(textBox);
 		} 
 		
+		//bottom row
+		timeLabel = new JLabel("Time to complete: --", SwingConstants.CENTER);
+		timeLabel.setFont(Painter.createFont(Painter.SF_UI_FONT, AutoSim.PPI * 4));
+		timeLabel.setPreferredSize(new Dimension(width, height/10));
+		GridBagConstraints bottomRowConstraint = JComponentUtil.createGBC(0, y + 1);
+		bottomRowConstraint.gridwidth = 3;
+		gb.setConstraints(timeLabel, bottomRowConstraint);
+		controlPointArea.add(timeLabel);
+		
 		//add all to panel
 		this.add(controlPointArea);
 	} 
@@ -208,6 +241,7 @@ public class BezierPathCreator extends JPanel {
 		//send to environment
 		if (allBoxesValid()) {
 			Environment.getInstance().setPath(curve);
+			requestProfile();
 		} 
 	} 
 	
@@ -257,8 +291,48 @@ public class BezierPathCreator extends JPanel {
 		//set the control circles and the curve
 		curve.setCircles(circles);
 		Environment.getInstance().setPath(curve);
+		requestProfile();
 	} 
 	
+	/**
+	 * Profile the curve in the background to update the time to complete. Only the latest curve waits
+	 * to be profiled, so a drag replaces the points of the last change instead of queueing behind it.
+	 */
+	private void requestProfile() {
+		//copy the points so the profile is not changed by the next drag
+		Point[] points = new Point[6];
+		for (int i = 0; i < points.length; i++) {
+			points[i] = curve.getControlPoints()[i].clone();
+		} //loop
+		
+		//only schedule the profiler if it is not already going to pick up the latest points
+		if (pendingPoints.getAndSet(points) == null)
+			profiler.execute(this::profileLatest);
+	} //end requestProfile
+	
+	/**
+	 * Profile the latest points requested and show the time to complete, run on the profiler thread
+	 */
+	private void profileLatest() {
+		Point[] points = pendingPoints.getAndSet(null);
+		if (points == null)
+			return;
+		
+		String text;
+		try {
+			BezierProfile profile = ProfileCache.getShared().getBezierProfile(points, TRACK_WIDTH, MAX_VEL, MAX_ACC, MAX_DEC);
+			text = String.format("Time to complete: %.2fs", profile.getTotalTime());
+		} catch (RuntimeException e) {
+			text = "Time to complete: --"; //curve cannot be profiled, like one with every point on top of each other
+		} //try-catch
+		
+		//show the time unless a newer curve is waiting, its time is shown after this one anyway
+		if (pendingPoints.get() == null) {
+			final String time = text;
+			SwingUtilities.invokeLater(() -> timeLabel.setText(time));
+		} //if
+	} //end profileLatest
+	
 	/**
 	 * Loop through all the boxes, checking if they are all valid
 	 * @return If all the boxes are non-empty
@@ -304,6 +378,7 @@ public class BezierPathCreator extends JPanel {
 		//set the control circles and the curve
 		curve.setCircles(circles);
 		Environment.getInstance().setPath(curve);
+		requestProfile();
 	}
 	
 	/**
@@ -77,6 +77,21 @@ public class ChartWidget extends Widget {
 		this.getComponent().repaint();
 	}
 	
+	/**
+	 * Replace the data in the chart with recorded values, like PlotGenerator.getXYFromDiagnostics
+	 * @param xy Array containing the x and y arrays
+	 */
+	public void setData(double[][] xy) {
+		timeData.clear();
+		outputData.clear();
+		for (int i = 0; i < xy[0].length; i++) {
+			timeData.add(xy[0][i]);
+			outputData.add(keyOperation != null ? keyOperation.apply(xy[1][i]) : xy[1][i]);
+		}
+		chart.updateXYSeries(name, timeData, outputData, null);
+		this.getComponent().repaint();
+	}
+	
 	/**
 	 * Set the color of the chart
 	 * @param c Chart color
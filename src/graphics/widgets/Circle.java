@@ -13,6 +13,9 @@ import graphics.components.BoxButton.BUTTON_STATE;
 import model.Point;
 
 public class Circle extends Point {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
 	private Color color; //color of the circle
 	private Color hoverColor; //color of the circle when hovered over
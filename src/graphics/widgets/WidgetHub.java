@@ -11,7 +11,6 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -21,6 +20,7 @@ import javax.swing.JPanel;
 
 import graphics.Painter;
 import main.AutoSim;
+import model.TelemetryRecorder;
 import util.Util;
 import util.Util.ROBOT_KEY;
 import util.Util.WIDGET_ID;
@@ -30,6 +30,7 @@ public class WidgetHub extends JPanel {
 	private int height; //height of the hub
 	private int width; //width of the hub
 	private ArrayList<Widget> widgets; //widgets and their IDs
+	private ArrayList<double[]> values; //reused value buffer for each widget
 	private Font font; //font for the text
 	
 	/**
@@ -43,6 +44,7 @@ public class WidgetHub extends JPanel {
 		this.height = height;
 		this.setPreferredSize(new Dimension(width, height));
 		this.widgets = new ArrayList<Widget>();
+		this.values = new ArrayList<double[]>();
 		
 		//layout the view
 		layoutView();
@@ -78,6 +80,7 @@ public class WidgetHub extends JPanel {
 		
 		//add the widget to the list
 		widgets.add(w);
+		values.add(w.getKeyArray() != null ? new double[w.getKeyArray().length] : null);
 	} //end addWidget
 	
 	/**
@@ -98,22 +101,23 @@ public class WidgetHub extends JPanel {
 	
 	/**
 	 * Update the widget
-	 * @param data all data points from the robot
+	 * @param telemetry all data points from the robot
+	 * @param tick index of the data point to update with
 	 */
-	public void update(HashMap<ROBOT_KEY, Object> data) {	
+	public void update(TelemetryRecorder telemetry, int tick) {	
 		//loop through each widget and update it
 		for (int i = 0; i < widgets.size(); i++) {
 			if (widgets.get(i).getKeyArray() != null) {
 				ROBOT_KEY[] keys = widgets.get(i).getKeyArray(); //array of keys
 				
 				//fill the values using the widget's keys
-				double[] values = new double[keys.length];
+				double[] vals = values.get(i);
 				
 				for (int k = 0; k < keys.length; k++)
-					values[k] = (double) data.get(keys[k]); 
+					vals[k] = telemetry.get(keys[k], tick); 
 				
 				//send those values to the widget
-				widgets.get(i).update(values);
+				widgets.get(i).update(vals);
 			} //if
 		} //loop
 	} //end update
@@ -196,14 +196,15 @@ public class AutoSim {
 		XYChart chart = PlotGenerator.buildChart("Bezier Profile", "Time (s)", "Velocity (ft/s)");
 		
 		//robot data
-		double[][] robotSeries = PlotGenerator.getXYFromRobotData(cg.getData(), ROBOT_KEY.LEFT_VEL);
+		double[][] robotSeries = PlotGenerator.getXYFromRobotData(cg.getTelemetry(), ROBOT_KEY.LEFT_VEL);
 		chart.addSeries("Robot Left Vel", robotSeries[0], robotSeries[1]);
-		robotSeries = PlotGenerator.getXYFromRobotData(cg.getData(), ROBOT_KEY.RIGHT_VEL);
+		robotSeries = PlotGenerator.getXYFromRobotData(cg.getTelemetry(), ROBOT_KEY.RIGHT_VEL);
 		chart.addSeries("Robot Right Vel", robotSeries[0], robotSeries[1]);
 		
 		//profile data
-		chart.addSeries("Profile Left Vel", bezTraj.getTimes(), bezTraj.getLeftVelocities());
-		chart.addSeries("Profile Right Vel", bezTraj.getTimes(), bezTraj.getRightVelocities());
+		double dt = driveLoop.getRobot().getTimeStep(); //ticks the robot followed the profile at
+		chart.addSeries("Profile Left Vel", bezTraj.getTimes(dt), bezTraj.getLeftVelocities(dt));
+		chart.addSeries("Profile Right Vel", bezTraj.getTimes(dt), bezTraj.getRightVelocities(dt));
 		
 		//show the chart
 		PlotGenerator.displayChart(chart);
@@ -0,0 +1,447 @@
+/**
+ * SimRunner
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Runs a simulation from a config file without a window and writes the results to disk
+ */
+
+package main;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Properties;
+
+import commands.Command;
+import commands.CommandGroup;
+import commands.CommandList;
+import commands.DriveDistance;
+import commands.DriveToGoal;
+import commands.SetPose;
+import commands.TimedVoltage;
+import commands.TurnAngle;
+import commands.Wait;
+import model.DormandPrinceIntegrator;
+import model.DriveLoop;
+import model.Gearbox;
+import model.Motor;
+import model.PIDController;
+import model.Point;
+import model.Robot;
+import model.TelemetryRecorder;
+import util.Util;
+import util.Util.ROBOT_KEY;
+
+public class SimRunner {
+	//Attributes
+	//Configured
+	private Robot robot; //robot being simulated
+	private DriveLoop driveLoop; //loop controlling the robot
+	private ArrayList<Command> commands; //commands in the order they are run
+	private CommandGroup cg; //group running the commands
+	private Point goal; //expected final position, null if not given
+	private double goalHeading; //expected final heading in degrees, NaN if not given
+
+	//Results
+	private long runTime; //wall clock time of the last run in nanoseconds
+
+	/**
+	 * Run the simulation headless from the command line
+	 * @param args Path to the config file and optionally the output directory (defaults to the current one)
+	 */
+	public static void main(String[] args) {
+		//nothing in the runner draws, make sure AWT never looks for a display
+		System.setProperty("java.awt.headless", "true");
+
+		if (args.length < 1) {
+			System.out.println("Usage: java main.SimRunner <config.properties> [outputDir]");
+			System.exit(1);
+		} //if
+
+		Properties config = loadConfig(args[0]);
+		if (config == null)
+			System.exit(1);
+
+		File outDir = new File(args.length > 1 ? args[1] : ".");
+		if (!outDir.isDirectory() && !outDir.mkdirs()) {
+			Util.println("Could not create", outDir.getPath());
+			System.exit(1);
+		} //if
+
+		//run and write the results
+		SimRunner runner = new SimRunner(config);
+		runner.run();
+		boolean written = runner.writeTrajectory(new File(outDir, "trajectory.csv"))
+						& runner.writeSummary(new File(outDir, "summary.txt"));
+
+		System.out.println(String.format(Locale.US, "Simulated %.3fs in %.1fms", runner.getSimulatedTime(), runner.getRunTimeMillis()));
+		System.exit(written ? 0 : 1);
+	} //end main
+
+	/**
+	 * Load a config file
+	 * @param filename Path to the config file
+	 * @return Properties in the file, null if it could not be read
+	 */
+	public static Properties loadConfig(String filename) {
+		Properties config = new Properties();
+
+		try (InputStream in = new FileInputStream(filename)) {
+			config.load(in);
+			return config;
+
+		} catch (IOException e) {
+			Util.println("Could not read", filename);
+			return null;
+		} //try-catch
+	} //end loadConfig
+
+	/**
+	 * Create the robot, drive loop and commands described by a config
+	 * @param config Properties describing the robot, controllers, start pose and commands
+	 */
+	public SimRunner(Properties config) {
+		createRobot(config);
+		createDriveLoop(config);
+		createCommands(config);
+
+		//optional goal pose for the error metrics
+		if (config.containsKey("goal.x") && config.containsKey("goal.y"))
+			goal = new Point(getDouble(config, "goal.x", 0), getDouble(config, "goal.y", 0));
+		goalHeading = getDouble(config, "goal.heading", Double.NaN);
+	} //end constructor
+
+	//Setup
+
+	/**
+	 * Create the robot and its gearbox from the config
+	 * @param config Properties with the robot. and gearbox. keys
+	 */
+	private void createRobot(Properties config) {
+		double wheelDia = getDouble(config, "robot.wheelDia", 4);
+		double[] motor = getMotor(config.getProperty("gearbox.motor", "NEO"));
+		int numMotors = (int) getDouble(config, "gearbox.numMotors", 2);
+
+		//the ratio can be given directly or found from a top speed in ft/s
+		double ratio = config.containsKey("gearbox.ratio") ? getDouble(config, "gearbox.ratio", 0)
+						: Gearbox.ratioFromTopSpeed(motor, wheelDia, getDouble(config, "gearbox.topSpeed", 12));
+
+		Gearbox gb = new Gearbox(ratio, new Motor(motor), numMotors);
+		robot = new Robot(wheelDia, getDouble(config, "robot.mass", 120), getDouble(config, "robot.length", 30),
+						getDouble(config, "robot.width", 30), gb);
+
+		//integrator for the drivetrain dynamics
+		String integrator = config.getProperty("integrator", "default").trim();
+		if (integrator.equalsIgnoreCase("exact")) {
+			robot.useExactDiscretization(getDouble(config, "integrator.dt", Util.UPDATE_PERIOD));
+		} else if (integrator.equalsIgnoreCase("dormandPrince")) {
+			robot.setIntegrator(new DormandPrinceIntegrator(robot));
+		} else if (!integrator.equalsIgnoreCase("default")) {
+			throw new IllegalArgumentException("Unknown integrator " + integrator);
+		} //if
+
+		//start pose
+		robot.setXY(new Point(getDouble(config, "start.x", 0), getDouble(config, "start.y", 0)));
+		robot.setHeadingDegrees(getDouble(config, "start.heading", 0));
+	} //end createRobot
+
+	/**
+	 * Create the feedback controllers and loop from the config
+	 * @param config Properties with the pid. and ff. keys
+	 */
+	private void createDriveLoop(Properties config) {
+		double[] drive = getDoubles(config, "pid.drive", Util.kP_DRIVE, Util.kI_DRIVE, Util.kD_DRIVE);
+		double[] turn = getDoubles(config, "pid.turn", Util.kP_TURN, Util.kI_TURN, Util.kD_TURN);
+
+		PIDController drivePID = new PIDController(drive[0], drive[1], drive[2], robot.getMaxLinSpeed());
+		PIDController turnPID = new PIDController(turn[0], turn[1], turn[2], robot.getMaxLinSpeed());
+		driveLoop = new DriveLoop(robot, drivePID, turnPID);
+		driveLoop.setFFValues(getDouble(config, "ff.kV", Util.kV_EMPIR), getDouble(config, "ff.kA", Util.kA_EMPIR));
+	} //end createDriveLoop
+
+	/**
+	 * Create the commands from the config, read as command.0, command.1, ... until one is missing
+	 * @param config Properties with the command. keys
+	 */
+	private void createCommands(Properties config) {
+		commands = new ArrayList<Command>();
+
+		for (int i = 0; config.containsKey("command." + i); i++) {
+			commands.add(parseCommand(config.getProperty("command." + i)));
+		} //loop
+
+		if (commands.isEmpty())
+			throw new IllegalArgumentException("Config has no commands, expected command.0");
+
+		cg = new CommandList(commands.toArray(new Command[commands.size()]));
+	} //end createCommands
+
+	/**
+	 * Create a command from its name followed by its arguments, separated by spaces
+	 * @param line Command name and arguments, ie. "DriveDistance 100 1 12"
+	 * @return Command using the runner's drive loop
+	 */
+	private Command parseCommand(String line) {
+		String[] tokens = line.trim().split("\\s+");
+		String name = tokens[0];
+
+		switch (name) {
+			case "DriveDistance": //distance tolerance topSpeed
+				checkArgs(tokens, 3);
+				return new DriveDistance(driveLoop, arg(tokens, 1), arg(tokens, 2), arg(tokens, 3));
+
+			case "TurnAngle": //angle tolerance topSpeed relative
+				checkArgs(tokens, 4);
+				return new TurnAngle(driveLoop, arg(tokens, 1), arg(tokens, 2), arg(tokens, 3), Boolean.parseBoolean(tokens[4]));
+
+			case "DriveToGoal": //x y tolerance topSpeed minSpeed reverse
+				checkArgs(tokens, 6);
+				return new DriveToGoal(driveLoop, arg(tokens, 1), arg(tokens, 2), arg(tokens, 3), arg(tokens, 4),
+										arg(tokens, 5), Boolean.parseBoolean(tokens[6]));
+
+			case "TimedVoltage": //voltage time
+				checkArgs(tokens, 2);
+				return new TimedVoltage(driveLoop, arg(tokens, 1), arg(tokens, 2));
+
+			case "Wait": //time
+				checkArgs(tokens, 1);
+				return new Wait(driveLoop, arg(tokens, 1));
+
+			case "SetPose": //x y heading
+				checkArgs(tokens, 3);
+				return new SetPose(driveLoop, arg(tokens, 1), arg(tokens, 2), arg(tokens, 3));
+
+			default:
+				throw new IllegalArgumentException("Unknown command " + name);
+		} //switch
+	} //end parseCommand
+
+	/**
+	 * Make sure a command line has enough arguments
+	 * @param tokens Command name followed by its arguments
+	 * @param numArgs Number of arguments the command takes
+	 */
+	private void checkArgs(String[] tokens, int numArgs) {
+		if (tokens.length != numArgs + 1)
+			throw new IllegalArgumentException(tokens[0] + " takes " + numArgs + " arguments, was given " + (tokens.length - 1));
+	} //end checkArgs
+
+	/**
+	 * Parse a numeric command argument
+	 * @param tokens Command name followed by its arguments
+	 * @param i Index of the argument
+	 * @return Value of the argument
+	 */
+	private double arg(String[] tokens, int i) {
+		return Double.parseDouble(tokens[i]);
+	} //end arg
+
+	/**
+	 * Get the motor constants from the motor name
+	 * @param name Name of the motor, ie. NEO or CIM
+	 * @return Motor constants from Util
+	 */
+	private static double[] getMotor(String name) {
+		switch (name.trim().toUpperCase()) {
+			case "NEO": return Util.NEO;
+			case "CIM": return Util.CIM;
+			case "MINI_CIM": return Util.MINI_CIM;
+			case "PRO_775": return Util.PRO_775;
+			case "FALCON_500": return Util.FALCON_500;
+			default: throw new IllegalArgumentException("Unknown motor " + name);
+		} //switch
+	} //end getMotor
+
+	/**
+	 * Get a number from the config
+	 * @param config Properties to read
+	 * @param key Key of the value
+	 * @param defaultValue Value if the key is missing
+	 * @return Value of the key
+	 */
+	private static double getDouble(Properties config, String key, double defaultValue) {
+		String value = config.getProperty(key);
+		return value == null ? defaultValue : Double.parseDouble(value.trim());
+	} //end getDouble
+
+	/**
+	 * Get a list of numbers separated by spaces from the config
+	 * @param config Properties to read
+	 * @param key Key of the values
+	 * @param defaults Values if the key is missing
+	 * @return Values of the key, the same length as the defaults
+	 */
+	private static double[] getDoubles(Properties config, String key, double ... defaults) {
+		String value = config.getProperty(key);
+		if (value == null)
+			return defaults;
+
+		String[] tokens = value.trim().split("\\s+");
+		if (tokens.length != defaults.length)
+			throw new IllegalArgumentException(key + " needs " + defaults.length + " values, was given " + tokens.length);
+
+		double[] values = new double[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			values[i] = Double.parseDouble(tokens[i]);
+		} //loop
+		return values;
+	} //end getDoubles
+
+	//Running
+
+	/**
+	 * Run every command as fast as possible
+	 */
+	public void run() {
+		long start = System.nanoTime();
+		cg.run();
+		runTime = System.nanoTime() - start;
+	} //end run
+
+	/**
+	 * Get the robot being simulated
+	 * @return Robot built from the config
+	 */
+	public Robot getRobot() {
+		return robot;
+	} //end getRobot
+
+	/**
+	 * Get the recorded data of the last run
+	 * @return Recorder holding every tick of every command
+	 */
+	public TelemetryRecorder getTelemetry() {
+		return cg.getTelemetry();
+	} //end getTelemetry
+
+	/**
+	 * Get the wall clock time of the last run
+	 * @return Time in milliseconds
+	 */
+	public double getRunTimeMillis() {
+		return runTime / 1E6;
+	} //end getRunTimeMillis
+
+	/**
+	 * Get the time it took the robot to finish every command
+	 * @return Simulated time in seconds
+	 */
+	public double getSimulatedTime() {
+		return getTelemetry().getElapsedTime();
+	} //end getSimulatedTime
+
+	/**
+	 * Get the largest linear speed reached during the last run
+	 * @return Peak linear speed in ft/s
+	 */
+	public double getPeakLinearVel() {
+		return peak(ROBOT_KEY.LIN_VEL);
+	} //end getPeakLinearVel
+
+	/**
+	 * Get the largest angular speed reached during the last run
+	 * @return Peak angular speed in rad/s
+	 */
+	public double getPeakAngularVel() {
+		return peak(ROBOT_KEY.ANG_VEL);
+	} //end getPeakAngularVel
+
+	/**
+	 * Get the largest magnitude of a recorded value
+	 * @param key Numeric key of the value
+	 * @return Largest absolute value, 0 if nothing was recorded
+	 */
+	private double peak(ROBOT_KEY key) {
+		TelemetryRecorder telemetry = getTelemetry();
+		double max = 0;
+
+		for (int i = 0; i < telemetry.size(); i++) {
+			max = Math.max(max, Math.abs(telemetry.get(key, i)));
+		} //loop
+		return max;
+	} //end peak
+
+	/**
+	 * Get the distance between the robot and the goal point
+	 * @return Position error in inches, NaN if there is no goal point
+	 */
+	public double getPositionError() {
+		return goal == null ? Double.NaN : Math.hypot(goal.getX() - robot.getX(), goal.getY() - robot.getY());
+	} //end getPositionError
+
+	/**
+	 * Get the difference between the goal heading and the robot heading
+	 * @return Heading error in degrees between -180 and 180, NaN if there is no goal heading
+	 */
+	public double getHeadingError() {
+		double error = goalHeading - Math.toDegrees(robot.getHeading());
+		return Math.IEEEremainder(error, 360);
+	} //end getHeadingError
+
+	//Output
+
+	/**
+	 * Write every recorded tick to a CSV file
+	 * @param file File to write to
+	 * @return True if writing was successful, false if not
+	 */
+	public boolean writeTrajectory(File file) {
+		TelemetryRecorder telemetry = getTelemetry();
+
+		try (PrintWriter pw = new PrintWriter(file)) {
+			pw.println("time,x,y,heading,avgPos,linVel,angVel,leftVel,rightVel,command");
+
+			for (int i = 0; i < telemetry.size(); i++) {
+				pw.println(String.format(Locale.US, "%.3f,%.3f,%.3f,%.5f,%.3f,%.4f,%.4f,%.4f,%.4f,%s",
+							telemetry.getTime(i), telemetry.getX(i), telemetry.getY(i), telemetry.getHeading(i),
+							telemetry.get(ROBOT_KEY.AVG_POS, i), telemetry.get(ROBOT_KEY.LIN_VEL, i),
+							telemetry.get(ROBOT_KEY.ANG_VEL, i), telemetry.get(ROBOT_KEY.LEFT_VEL, i),
+							telemetry.get(ROBOT_KEY.RIGHT_VEL, i), telemetry.getCommandName(i)));
+			} //loop
+
+			return true;
+
+		} catch (FileNotFoundException f) {
+			Util.println("Could not find", file.getPath());
+			return false;
+		} //try-catch
+	} //end writeTrajectory
+
+	/**
+	 * Write the summary metrics of the last run as key=value lines
+	 * @param file File to write to
+	 * @return True if writing was successful, false if not
+	 */
+	public boolean writeSummary(File file) {
+		try (PrintWriter pw = new PrintWriter(file)) {
+			pw.println(String.format(Locale.US, "ticks=%d", getTelemetry().size()));
+			pw.println(String.format(Locale.US, "timeToFinish=%.3f", getSimulatedTime()));
+			pw.println(String.format(Locale.US, "finalX=%.3f", robot.getX()));
+			pw.println(String.format(Locale.US, "finalY=%.3f", robot.getY()));
+			pw.println(String.format(Locale.US, "finalHeading=%.3f", Math.toDegrees(robot.getHeading())));
+			pw.println(String.format(Locale.US, "positionError=%.3f", getPositionError()));
+			pw.println(String.format(Locale.US, "headingError=%.3f", getHeadingError()));
+			pw.println(String.format(Locale.US, "peakLinearVel=%.3f", getPeakLinearVel()));
+			pw.println(String.format(Locale.US, "peakAngularVel=%.3f", getPeakAngularVel()));
+			pw.println(String.format(Locale.US, "runTimeMs=%.3f", getRunTimeMillis()));
+
+			//time spent in each command
+			for (int i = 0; i < commands.size(); i++) {
+				Command c = commands.get(i);
+				pw.println(String.format(Locale.US, "command.%d=%s %.3f", i, c.getClass().getSimpleName(),
+							c.getIterations() * robot.getTimeStep()));
+			} //loop
+
+			return true;
+
+		} catch (FileNotFoundException f) {
+			Util.println("Could not find", file.getPath());
+			return false;
+		} //try-catch
+	} //end writeSummary
+} //end SimRunner
@@ -0,0 +1,420 @@
+/**
+ * DormandPrinceIntegrator
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Adaptive step Runge-Kutta 5(4) integrator with dense output onto the update grid
+ */
+
+package model;
+
+import util.Util;
+
+public class DormandPrinceIntegrator implements Integrator {
+	//Attributes
+	//Tableau (the dynamics do not depend on time, so the nodes are not needed)
+	private static final double A21 = 1.0/5;
+	private static final double A31 = 3.0/40, A32 = 9.0/40;
+	private static final double A41 = 44.0/45, A42 = -56.0/15, A43 = 32.0/9;
+	private static final double A51 = 19372.0/6561, A52 = -25360.0/2187, A53 = 64448.0/6561, A54 = -212.0/729;
+	private static final double A61 = 9017.0/3168, A62 = -355.0/33, A63 = 46732.0/5247, A64 = 49.0/176,
+								A65 = -5103.0/18656;
+	private static final double A71 = 35.0/384, A73 = 500.0/1113, A74 = 125.0/192, A75 = -2187.0/6784,
+								A76 = 11.0/84;
+
+	//error estimate (difference between the fifth and fourth order solutions)
+	private static final double E1 = 71.0/57600, E3 = -71.0/16695, E4 = 71.0/1920, E5 = -17253.0/339200,
+								E6 = 22.0/525, E7 = -1.0/40;
+
+	//dense output
+	private static final double D1 = -12715105075.0/11282082432.0, D3 = 87487479700.0/32700410799.0,
+								D4 = -10690763975.0/1880347072.0, D5 = 701980252875.0/199316789632.0,
+								D6 = -1453857185.0/822651844, D7 = 69997945.0/29380423;
+
+	//State vector layout
+	private static final int LEFT_POS = 0, LEFT_VEL = 1, RIGHT_POS = 2, RIGHT_VEL = 3, HEADING = 4, X = 5, Y = 6;
+	private static final int N = 7; //number of states
+
+	//Step control
+	private static final double SAFETY = 0.9; //safety factor on the step estimate
+	private static final double MIN_SCALE = 0.2; //most a step can shrink by
+	private static final double MAX_SCALE = 5.0; //most a step can grow by
+	private static final double MIN_STEP = 1E-6; //smallest step in seconds
+	private static final double MAX_STEP = 1.0; //largest step in seconds
+
+	//Configured
+	private double relTol; //relative error tolerance
+	private double absTol; //absolute error tolerance
+	private double voltageTol = 0; //drift of the command from the held voltages that cuts a step short
+	private double kWheelRad; //wheel radius in meters
+	private double kPivotArm; //distance from robot center to wheel in meters
+	private double cVoltage; //gearbox torque per volt
+	private double cVelocity; //gearbox torque per rad/s
+	private double fP; //constant used in gearbox acceleration calculation
+	private double fM; //constant used in gearbox acceleration calculation
+
+	//Step in progress
+	private boolean valid; //whether the current step can be reused
+	private double leftVoltage; //left voltage held across the step
+	private double rightVoltage; //right voltage held across the step
+	private double time; //time of the last output since the integrator was reset
+	private double stepStart; //start time of the current step
+	private double stepSize; //size of the current step
+	private double nextStep; //size to attempt for the next step
+	private double[] last; //state written to the robot at the last output
+	private double[] y0, y1, yStage; //state at the start and end of the step, stage input
+	private double[] k1, k2, k3, k4, k5, k6, k7; //stage derivatives
+	private double[] r1, r2, r3, r4, r5; //dense output coefficients
+
+	//Statistics
+	private long evaluations; //number of derivative evaluations
+	private long rejections; //number of rejected steps
+
+	/**
+	 * Create an integrator with default tolerances
+	 * @param robot Robot to integrate
+	 */
+	public DormandPrinceIntegrator(Robot robot) {
+		this(robot, 1E-6, 1E-6);
+	} //end constructor
+
+	/**
+	 * Create an integrator with given tolerances
+	 * @param robot Robot to integrate
+	 * @param relTol Relative error tolerance per step
+	 * @param absTol Absolute error tolerance per step (radians, rad/s and inches)
+	 */
+	public DormandPrinceIntegrator(Robot robot, double relTol, double absTol) {
+		if (relTol <= 0 && absTol <= 0)
+			throw new IllegalArgumentException("At least one tolerance must be positive");
+
+		//set attributes
+		this.relTol = relTol;
+		this.absTol = absTol;
+		this.kWheelRad = robot.getWheelRadius();
+		this.kPivotArm = robot.getPivotArm();
+		this.cVoltage = robot.getLeftGearbox().getVoltageConstant();
+		this.cVelocity = robot.getLeftGearbox().getVelocityConstant();
+		this.fP = robot.getFP();
+		this.fM = robot.getFM();
+
+		//scratch arrays
+		last = new double[N];
+		y0 = new double[N];
+		y1 = new double[N];
+		yStage = new double[N];
+		k1 = new double[N];
+		k2 = new double[N];
+		k3 = new double[N];
+		k4 = new double[N];
+		k5 = new double[N];
+		k6 = new double[N];
+		k7 = new double[N];
+		r1 = new double[N];
+		r2 = new double[N];
+		r3 = new double[N];
+		r4 = new double[N];
+		r5 = new double[N];
+
+		reset();
+	} //end constructor
+
+	/**
+	 * Set how far the commanded voltages can drift from the ones held across a step before the step is cut
+	 * short at the current update. Smaller changes are applied when the next step starts, so the robot lags the
+	 * command by an error the tolerances do not control. The default of zero applies every command at the update
+	 * it was given, matching the exact discretization to the tolerances. Steps only span several updates while
+	 * the command holds; while it moves every update, like the output of a drive PID, each update costs a full
+	 * step of six evaluations. A DriveDistance of 100 inches takes about 3.7 evaluations per update, against one
+	 * for the default integration.
+	 * @param voltageTol Voltage tolerance in volts
+	 */
+	public void setVoltageTolerance(double voltageTol) {
+		this.voltageTol = Math.abs(voltageTol);
+	} //end setVoltageTolerance
+	
+	/**
+	 * Outputs stay on the 5ms grid commands expect
+	 * @return Update period in seconds
+	 */
+	public double getTimeStep() {
+		return Util.UPDATE_PERIOD;
+	} //end getTimeStep
+
+	/**
+	 * Forget the step in progress
+	 */
+	public void reset() {
+		valid = false;
+		time = 0;
+		nextStep = Util.UPDATE_PERIOD;
+	} //end reset
+
+	/**
+	 * Create an integrator with the same tolerances for another robot
+	 * @param robot Robot the copy will update
+	 * @return Integrator for the robot
+	 */
+	public Integrator copy(Robot robot) {
+		DormandPrinceIntegrator copy = new DormandPrinceIntegrator(robot, relTol, absTol);
+		copy.setVoltageTolerance(voltageTol);
+		return copy;
+	} //end copy
+
+	/**
+	 * Get the number of derivative evaluations since creation
+	 * @return Number of evaluations
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	} //end getEvaluations
+
+	/**
+	 * Get the number of rejected steps since creation
+	 * @return Number of rejected steps
+	 */
+	public long getRejections() {
+		return rejections;
+	} //end getRejections
+
+	/**
+	 * Advance the robot by one update period, reusing the current step while the command stays near the held voltages
+	 * @param robot Robot to update
+	 * @param leftVoltage Clamped voltage applied to the left gearbox
+	 * @param rightVoltage Clamped voltage applied to the right gearbox
+	 */
+	public void update(Robot robot, double leftVoltage, double rightVoltage) {
+		//restart from the robot if it was moved since the last output
+		boolean changed = false;
+		if (!valid || !matches(robot)) {
+			restart(robot, leftVoltage, rightVoltage);
+		
+		//cut the step in progress short if the command drifted too far from the held voltages
+		} else if (Math.abs(leftVoltage - this.leftVoltage) > voltageTol 
+				|| Math.abs(rightVoltage - this.rightVoltage) > voltageTol) {
+			cut(leftVoltage, rightVoltage);
+			changed = true;
+		} //if
+
+		//take steps until the next grid point is covered, each with the latest command held across it,
+		//ending on the grid point if the command changed so the next change does not need an evaluation
+		double target = time + Util.UPDATE_PERIOD;
+		while (stepStart + stepSize < target) {
+			hold(leftVoltage, rightVoltage);
+			step(changed ? target - (stepStart + stepSize) : MAX_STEP);
+		} //loop
+
+		//interpolate onto the grid
+		interpolate((target - stepStart) / stepSize, last);
+		time = target;
+		write(robot, last);
+	} //end update
+
+	/**
+	 * Start integrating from the robot's current state
+	 * @param robot Robot to read the state from
+	 * @param leftVoltage Voltage applied to the left gearbox
+	 * @param rightVoltage Voltage applied to the right gearbox
+	 */
+	private void restart(Robot robot, double leftVoltage, double rightVoltage) {
+		//the old step no longer applies, so start small in case this is a transient
+		if (valid)
+			nextStep = Math.min(nextStep, Util.UPDATE_PERIOD);
+
+		this.leftVoltage = leftVoltage;
+		this.rightVoltage = rightVoltage;
+
+		read(robot, y1);
+		derivative(y1, k7);
+		stepStart = time;
+		stepSize = 0;
+		valid = true;
+	} //end restart
+
+	/**
+	 * End the step in progress at the last output and continue from there with new voltages
+	 * @param leftVoltage Voltage applied to the left gearbox
+	 * @param rightVoltage Voltage applied to the right gearbox
+	 */
+	private void cut(double leftVoltage, double rightVoltage) {
+		//a step that ended on the last output already has the derivative there
+		if (Math.abs(stepStart + stepSize - time) <= MIN_STEP * 1E-3) {
+			hold(leftVoltage, rightVoltage);
+			return;
+		} //if
+		
+		this.leftVoltage = leftVoltage;
+		this.rightVoltage = rightVoltage;
+
+		System.arraycopy(last, 0, y1, 0, N);
+		derivative(y1, k7);
+		stepStart = time;
+		stepSize = 0;
+	} //end cut
+
+	/**
+	 * Apply new voltages from the end of the current step. Only the wheel accelerations depend on the voltages,
+	 * so the derivative at the end of the step is shifted instead of evaluated again.
+	 * @param leftVoltage Voltage applied to the left gearbox
+	 * @param rightVoltage Voltage applied to the right gearbox
+	 */
+	private void hold(double leftVoltage, double rightVoltage) {
+		double leftForce = cVoltage * (leftVoltage - this.leftVoltage) / kWheelRad;
+		double rightForce = cVoltage * (rightVoltage - this.rightVoltage) / kWheelRad;
+		k7[LEFT_VEL] += (fP * leftForce + fM * rightForce) / kWheelRad;
+		k7[RIGHT_VEL] += (fM * leftForce + fP * rightForce) / kWheelRad;
+
+		this.leftVoltage = leftVoltage;
+		this.rightVoltage = rightVoltage;
+	} //end hold
+
+	/**
+	 * Take one accepted step from the end of the current step
+	 * @param limit Longest step to attempt in seconds
+	 */
+	private void step(double limit) {
+		//the end of the last step is the start of this one (first same as last)
+		System.arraycopy(y1, 0, y0, 0, N);
+		System.arraycopy(k7, 0, k1, 0, N);
+		stepStart += stepSize;
+
+		boolean capped = limit < nextStep; //whether the step is shorter than the error allows
+		double h = capped ? limit : nextStep;
+		while (true) {
+			//stages
+			for (int i = 0; i < N; i++)
+				yStage[i] = y0[i] + h * A21 * k1[i];
+			derivative(yStage, k2);
+
+			for (int i = 0; i < N; i++)
+				yStage[i] = y0[i] + h * (A31 * k1[i] + A32 * k2[i]);
+			derivative(yStage, k3);
+
+			for (int i = 0; i < N; i++)
+				yStage[i] = y0[i] + h * (A41 * k1[i] + A42 * k2[i] + A43 * k3[i]);
+			derivative(yStage, k4);
+
+			for (int i = 0; i < N; i++)
+				yStage[i] = y0[i] + h * (A51 * k1[i] + A52 * k2[i] + A53 * k3[i] + A54 * k4[i]);
+			derivative(yStage, k5);
+
+			for (int i = 0; i < N; i++)
+				yStage[i] = y0[i] + h * (A61 * k1[i] + A62 * k2[i] + A63 * k3[i] + A64 * k4[i] + A65 * k5[i]);
+			derivative(yStage, k6);
+
+			for (int i = 0; i < N; i++)
+				y1[i] = y0[i] + h * (A71 * k1[i] + A73 * k3[i] + A74 * k4[i] + A75 * k5[i] + A76 * k6[i]);
+			derivative(y1, k7);
+
+			//scaled RMS error of the embedded fourth order solution
+			double sum = 0;
+			for (int i = 0; i < N; i++) {
+				double err = h * (E1 * k1[i] + E3 * k3[i] + E4 * k4[i] + E5 * k5[i] + E6 * k6[i] + E7 * k7[i]);
+				double scale = absTol + relTol * Math.max(Math.abs(y0[i]), Math.abs(y1[i]));
+				sum += (err / scale) * (err / scale);
+			} //loop
+			double error = Math.sqrt(sum / N);
+
+			//grow or shrink the step for next time
+			double factor = error == 0 ? MAX_SCALE :
+							Math.min(MAX_SCALE, Math.max(MIN_SCALE, SAFETY * Math.pow(error, -0.2)));
+
+			if (error <= 1 || h <= MIN_STEP) {
+				stepSize = h;
+				nextStep = Util.clampNum(capped ? Math.max(nextStep, h * factor) : h * factor, MIN_STEP, MAX_STEP);
+				break;
+			} //if
+
+			rejections++;
+			capped = false;
+			h = Math.max(MIN_STEP, h * factor);
+		} //loop
+
+		//dense output coefficients
+		for (int i = 0; i < N; i++) {
+			double diff = y1[i] - y0[i];
+			double bspl = h * k1[i] - diff;
+			r1[i] = y0[i];
+			r2[i] = diff;
+			r3[i] = bspl;
+			r4[i] = diff - h * k7[i] - bspl;
+			r5[i] = h * (D1 * k1[i] + D3 * k3[i] + D4 * k4[i] + D5 * k5[i] + D6 * k6[i] + D7 * k7[i]);
+		} //loop
+	} //end step
+
+	/**
+	 * Interpolate the state inside the current step
+	 * @param theta Fraction of the step between 0 and 1
+	 * @param out Array to write the state to
+	 */
+	private void interpolate(double theta, double[] out) {
+		double theta1 = 1 - theta;
+		for (int i = 0; i < N; i++) {
+			out[i] = r1[i] + theta * (r2[i] + theta1 * (r3[i] + theta * (r4[i] + theta1 * r5[i])));
+		} //loop
+	} //end interpolate
+
+	/**
+	 * Calculate the derivative of the state with the voltages of the current step
+	 * @param y State to evaluate at
+	 * @param dy Array to write the derivative to
+	 */
+	private void derivative(double[] y, double[] dy) {
+		evaluations++;
+
+		//gearbox accelerations
+		double leftForce = (cVoltage * leftVoltage + cVelocity * y[LEFT_VEL]) / kWheelRad;
+		double rightForce = (cVoltage * rightVoltage + cVelocity * y[RIGHT_VEL]) / kWheelRad;
+		dy[LEFT_POS] = y[LEFT_VEL];
+		dy[LEFT_VEL] = (fP * leftForce + fM * rightForce) / kWheelRad;
+		dy[RIGHT_POS] = y[RIGHT_VEL];
+		dy[RIGHT_VEL] = (fM * leftForce + fP * rightForce) / kWheelRad;
+
+		//pose (x and y flipped on the field)
+		double speed = (y[LEFT_VEL] + y[RIGHT_VEL]) / 2 * kWheelRad / Util.INCHES_TO_METERS; //in/s
+		dy[HEADING] = kWheelRad / (2 * kPivotArm) * (y[RIGHT_VEL] - y[LEFT_VEL]);
+		dy[X] = speed * Math.sin(y[HEADING]);
+		dy[Y] = speed * Math.cos(y[HEADING]);
+	} //end derivative
+
+	/**
+	 * Read the robot's state into a vector
+	 * @param robot Robot to read
+	 * @param y Array to write the state to
+	 */
+	private void read(Robot robot, double[] y) {
+		y[LEFT_POS] = robot.getLeftGearbox().getPos();
+		y[LEFT_VEL] = robot.getLeftGearbox().getVel();
+		y[RIGHT_POS] = robot.getRightGearbox().getPos();
+		y[RIGHT_VEL] = robot.getRightGearbox().getVel();
+		y[HEADING] = robot.getHeading();
+		y[X] = robot.getX();
+		y[Y] = robot.getY();
+	} //end read
+
+	/**
+	 * Check the robot is still in the state written at the last output
+	 * @param robot Robot to check
+	 * @return True if nothing changed the robot since the last output
+	 */
+	private boolean matches(Robot robot) {
+		return last[LEFT_POS] == robot.getLeftGearbox().getPos() && last[LEFT_VEL] == robot.getLeftGearbox().getVel()
+				&& last[RIGHT_POS] == robot.getRightGearbox().getPos() && last[RIGHT_VEL] == robot.getRightGearbox().getVel()
+				&& last[HEADING] == robot.getHeading() && last[X] == robot.getX() && last[Y] == robot.getY();
+	} //end matches
+
+	/**
+	 * Write a state vector to the robot
+	 * @param robot Robot to update
+	 * @param y State to write
+	 */
+	private void write(Robot robot, double[] y) {
+		//accelerations at the output point
+		double leftForce = (cVoltage * leftVoltage + cVelocity * y[LEFT_VEL]) / kWheelRad;
+		double rightForce = (cVoltage * rightVoltage + cVelocity * y[RIGHT_VEL]) / kWheelRad;
+		double leftAcc = (fP * leftForce + fM * rightForce) / kWheelRad;
+		double rightAcc = (fM * leftForce + fP * rightForce) / kWheelRad;
+
+		robot.setDriveState(y[LEFT_POS], y[LEFT_VEL], leftAcc, y[RIGHT_POS], y[RIGHT_VEL], rightAcc,
+							y[X], y[Y], y[HEADING]);
+	} //end write
+} //end DormandPrinceIntegrator
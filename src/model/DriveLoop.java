@@ -74,6 +74,22 @@ public class DriveLoop {
 		this.kA = kA;
 	} 
 	
+	/**
+	 * Get the velocity feedforward value
+	 * @return kV Velocity feedforward (V / ft/s)
+	 */
+	public double getKV() {
+		return kV;
+	} 
+	
+	/**
+	 * Get the acceleration feedforward value
+	 * @return kA Acceleration feedforward (V / ft/s^2)
+	 */
+	public double getKA() {
+		return kA;
+	} 
+	
 	/**
 	 * Set the Pure Pursuit Controller for the loop
 	 * @param ppc Configured Pure Pursuit Controller
@@ -124,10 +140,93 @@ public class DriveLoop {
 		this.state = state;
 	} 
 	
+	/**
+	 * Get the goal distance of the current state
+	 * @return goalDist Distance to drive in inches
+	 */
+	double getGoalDist() {
+		return goalDist;
+	} 
+	
+	/**
+	 * Get the tolerance of the current state
+	 * @return tolerance Epsilon to be within
+	 */
+	double getTolerance() {
+		return tolerance;
+	} 
+	
+	/**
+	 * Get the top speed of the current state
+	 * @return topSpeed Max allowable speed
+	 */
+	double getTopSpeed() {
+		return topSpeed;
+	} 
+	
+	/**
+	 * Get the minimum speed of the current state
+	 * @return minSpeed Min allowable speed
+	 */
+	double getMinSpeed() {
+		return minSpeed;
+	} 
+	
+	/**
+	 * Get the goal angle of the current state
+	 * @return goalAngle Angle to turn to in radians
+	 */
+	double getGoalAngle() {
+		return goalAngle;
+	} 
+	
+	/**
+	 * Get the last left profile goal
+	 * @return leftPVA Left position, velocity and acceleration, null if none was set
+	 */
+	double[] getLeftPVA() {
+		return leftPVA;
+	} 
+	
+	/**
+	 * Get the last right profile goal
+	 * @return rightPVA Right position, velocity and acceleration, null if none was set
+	 */
+	double[] getRightPVA() {
+		return rightPVA;
+	} 
+	
+	/**
+	 * Set every value of the state machine (used to restore a snapshot)
+	 * @param state State the robot is in
+	 * @param goalDist Distance to drive in inches
+	 * @param tolerance Epsilon to be within
+	 * @param topSpeed Max allowable speed
+	 * @param minSpeed Min allowable speed
+	 * @param goalAngle Angle to turn to in radians
+	 * @param leftPVA Left profile goal, copied, null if none
+	 * @param rightPVA Right profile goal, copied, null if none
+	 */
+	void setLoopState(STATE state, double goalDist, double tolerance, double topSpeed, double minSpeed,
+						double goalAngle, double[] leftPVA, double[] rightPVA) {
+		this.state = state;
+		this.goalDist = goalDist;
+		this.tolerance = tolerance;
+		this.topSpeed = topSpeed;
+		this.minSpeed = minSpeed;
+		this.goalAngle = goalAngle;
+		this.leftPVA = leftPVA == null ? null : leftPVA.clone();
+		this.rightPVA = rightPVA == null ? null : rightPVA.clone();
+	} 
+	
 	/**
 	 * Run commands based on the state the robot is in
 	 */
 	public void onLoop() {
+		//controllers run once per robot update
+		drivePID.setPeriod(robot.getTimeStep());
+		turnPID.setPeriod(robot.getTimeStep());
+		
 		switch (state) {
 			//waiting state
 			case WAITING:
@@ -419,7 +518,19 @@ public class DriveLoop {
 	 * @param robotSpeed Current linear speed of the robot
 	 */
 	public void updatePurePursuitState(Pose robotPose, double robotSpeed) {
-		ppc.calcOutputs(robotPose, robotSpeed);
+		updatePurePursuitState(robotPose.getX(), robotPose.getY(), robotPose.getHeading(), robotSpeed);
+	} 
+	
+	/**
+	 * Update the pure pursuit state without creating a pose
+	 * @param x X position of the robot in inches
+	 * @param y Y position of the robot in inches
+	 * @param heading Heading of the robot in radians
+	 * @param robotSpeed Current linear speed of the robot
+	 */
+	public void updatePurePursuitState(double x, double y, double heading, double robotSpeed) {
+		ppc.setPeriod(robot.getTimeStep());
+		ppc.calcOutputs(x, y, heading, robotSpeed);
 	} 
 	
 	/**
@@ -0,0 +1,158 @@
+/**
+ * ExactDiscretization
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Zero-order hold discretization of the drivetrain dynamics for a fixed time step
+ */
+
+package model;
+
+import util.Util;
+
+public class ExactDiscretization implements Integrator {
+	//Attributes
+	//Configured
+	private double dt; //time step in seconds
+	private double kWheelRad; //wheel radius in meters
+	private double kPivotArm; //distance from robot center to wheel in meters
+	private double cVoltage; //gearbox torque per volt
+	private double cVelocity; //gearbox torque per rad/s
+	private double fP; //constant used in gearbox acceleration calculation
+	private double fM; //constant used in gearbox acceleration calculation
+
+	//Discretized matrices, each of the form [[diag, off], [off, diag]]
+	private double aDiag, aOff; //velocity to next velocity
+	private double bDiag, bOff; //voltage to next velocity
+	private double cDiag, cOff; //velocity to change in position
+	private double dDiag, dOff; //voltage to change in position
+
+	/**
+	 * Precompute the discretization of a robot's drivetrain for a time step
+	 * @param robot Robot to discretize
+	 * @param dt Time step in seconds
+	 */
+	public ExactDiscretization(Robot robot, double dt) {
+		if (dt <= 0)
+			throw new IllegalArgumentException("Time step must be positive, was " + dt);
+
+		//set attributes
+		this.dt = dt;
+		this.kWheelRad = robot.getWheelRadius();
+		this.kPivotArm = robot.getPivotArm();
+		this.cVoltage = robot.getLeftGearbox().getVoltageConstant();
+		this.cVelocity = robot.getLeftGearbox().getVelocityConstant();
+		this.fP = robot.getFP();
+		this.fM = robot.getFM();
+
+		computeMatrices();
+	} //end constructor
+
+	/**
+	 * Compute the matrix exponential of the continuous system over one time step.
+	 * The system matrix [[fP, fM], [fM, fP]] is diagonalized by the sum and difference of
+	 * the wheel velocities, so the exponential is found exactly one mode at a time.
+	 */
+	private void computeMatrices() {
+		double rSq = kWheelRad * kWheelRad;
+
+		//sum (linear) mode
+		double lambdaS = cVelocity * (fP + fM) / rSq;
+		double betaS = cVoltage * (fP + fM) / rSq;
+		double phiS = Math.exp(lambdaS * dt);
+		double gamS = integralOfExp(lambdaS);
+		double psiS = doubleIntegralOfExp(lambdaS);
+
+		//difference (angular) mode
+		double lambdaD = cVelocity * (fP - fM) / rSq;
+		double betaD = cVoltage * (fP - fM) / rSq;
+		double phiD = Math.exp(lambdaD * dt);
+		double gamD = integralOfExp(lambdaD);
+		double psiD = doubleIntegralOfExp(lambdaD);
+
+		//transform back to left and right
+		aDiag = (phiS + phiD) / 2;
+		aOff = (phiS - phiD) / 2;
+		bDiag = (gamS * betaS + gamD * betaD) / 2;
+		bOff = (gamS * betaS - gamD * betaD) / 2;
+		cDiag = (gamS + gamD) / 2;
+		cOff = (gamS - gamD) / 2;
+		dDiag = (psiS * betaS + psiD * betaD) / 2;
+		dOff = (psiS * betaS - psiD * betaD) / 2;
+	} //end computeMatrices
+
+	/**
+	 * Integral of e^(lambda*t) from 0 to dt
+	 * @param lambda Eigenvalue of the mode
+	 * @return (e^(lambda*dt) - 1) / lambda
+	 */
+	private double integralOfExp(double lambda) {
+		return Math.abs(lambda * dt) < 1E-12 ? dt : Math.expm1(lambda * dt) / lambda;
+	} //end integralOfExp
+
+	/**
+	 * Double integral of e^(lambda*t) from 0 to dt
+	 * @param lambda Eigenvalue of the mode
+	 * @return ((e^(lambda*dt) - 1) / lambda - dt) / lambda
+	 */
+	private double doubleIntegralOfExp(double lambda) {
+		return Math.abs(lambda * dt) < 1E-6 ? dt * dt / 2 : (integralOfExp(lambda) - dt) / lambda;
+	} //end doubleIntegralOfExp
+
+	/**
+	 * Get the time step the discretization was computed for
+	 * @return Time step in seconds
+	 */
+	public double getTimeStep() {
+		return dt;
+	} //end getTimeStep
+
+	/**
+	 * Nothing is carried between updates
+	 */
+	public void reset() {}
+
+	/**
+	 * Discretize another robot with the same time step
+	 * @param robot Robot the copy will update
+	 * @return Discretization of the robot's dynamics
+	 */
+	public Integrator copy(Robot robot) {
+		return new ExactDiscretization(robot, dt);
+	} //end copy
+
+	/**
+	 * Advance the robot by one time step with voltages held constant
+	 * @param robot Robot to update, must have the constants this was computed from
+	 * @param leftVoltage Clamped voltage applied to the left gearbox
+	 * @param rightVoltage Clamped voltage applied to the right gearbox
+	 */
+	public void update(Robot robot, double leftVoltage, double rightVoltage) {
+		Gearbox left = robot.getLeftGearbox();
+		Gearbox right = robot.getRightGearbox();
+		double lVel = left.getVel();
+		double rVel = right.getVel();
+
+		//next velocities and the distance covered during the step
+		double newLeftVel = aDiag * lVel + aOff * rVel + bDiag * leftVoltage + bOff * rightVoltage;
+		double newRightVel = aOff * lVel + aDiag * rVel + bOff * leftVoltage + bDiag * rightVoltage;
+		double leftDisp = cDiag * lVel + cOff * rVel + dDiag * leftVoltage + dOff * rightVoltage;
+		double rightDisp = cOff * lVel + cDiag * rVel + dOff * leftVoltage + dDiag * rightVoltage;
+
+		//acceleration at the end of the step
+		double leftForce = (cVoltage * leftVoltage + cVelocity * newLeftVel) / kWheelRad;
+		double rightForce = (cVoltage * rightVoltage + cVelocity * newRightVel) / kWheelRad;
+		double leftAcc = (fP * leftForce + fM * rightForce) / kWheelRad;
+		double rightAcc = (fM * leftForce + fP * rightForce) / kWheelRad;
+
+		//heading change is exact, translation follows the chord of the arc driven
+		double dTheta = kWheelRad / (2 * kPivotArm) * (rightDisp - leftDisp);
+		double arc = (leftDisp + rightDisp) / 2 * kWheelRad / Util.INCHES_TO_METERS;
+		double chord = Math.abs(dTheta) < 1E-9 ? arc : arc * Math.sin(dTheta / 2) / (dTheta / 2);
+		double theta = robot.getHeading() + dTheta / 2;
+
+		robot.setDriveState(left.getPos() + leftDisp, newLeftVel, leftAcc,
+							right.getPos() + rightDisp, newRightVel, rightAcc,
+							robot.getX() + chord * Math.sin(theta), robot.getY() + chord * Math.cos(theta),
+							robot.getHeading() + dTheta);
+	} //end update
+} //end ExactDiscretization
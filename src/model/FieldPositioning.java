@@ -19,8 +19,20 @@ public class FieldPositioning {
 	 * @return The yaw setpoint for the robot to face the goal point in degrees
 	 */
 	public static double goalYaw(Point current, Point goal) {
-		double dx = goal.getX() - current.getX();
-		double dy = goal.getY() - current.getY();
+		return goalYaw(current.getX(), current.getY(), goal.getX(), goal.getY());
+	} //end goalYaw
+	
+	/**
+	 * Calculate the goal yaw setpoint based on the current and goal positions
+	 * @param cx X value of the current position
+	 * @param cy Y value of the current position
+	 * @param gx X value of the goal position
+	 * @param gy Y value of the goal position
+	 * @return The yaw setpoint for the robot to face the goal point in degrees
+	 */
+	public static double goalYaw(double cx, double cy, double gx, double gy) {
+		double dx = gx - cx;
+		double dy = gy - cy;
 		
 		//if goal point lies on x or y axis (dx or dy equal to zero)
 		if(dy == 0) { //if no change in y
@@ -46,9 +58,21 @@ public class FieldPositioning {
 	 * @return Absolute distance between the two points
 	 */
 	public static double dist(Point p1, Point p2) {
-		return Math.hypot(p2.getX() - p1.getX(), p2.getY() - p1.getY());
+		return dist(p1.getX(), p1.getY(), p2.getX(), p2.getY());
 	} //endd calcDistance
 	
+	/**
+	 * Calculate the distance between two points using the Pythagorean theorem
+	 * @param x1 X value of the first point
+	 * @param y1 Y value of the first point
+	 * @param x2 X value of the second point
+	 * @param y2 Y value of the second point
+	 * @return Absolute distance between the two points
+	 */
+	public static double dist(double x1, double y1, double x2, double y2) {
+		return Math.hypot(x2 - x1, y2 - y1);
+	} //end dist
+	
 	/**
 	 * Calculate the angle between two points in radians from the x-axis
 	 * @param p1 First point
@@ -80,9 +104,21 @@ public class FieldPositioning {
 	 * @param range How close current point can be to target point
 	 */
 	public static boolean isWithinBounds(Point target, Point current, double range) {
+		return isWithinBounds(target.getX(), target.getY(), current.getX(), current.getY(), range);
+	} //end isWithinBounds
+	
+	/**
+	 * Check if two points are close enough to another within a range
+	 * @param tx X value of the target point
+	 * @param ty Y value of the target point
+	 * @param cx X value of the current point
+	 * @param cy Y value of the current point
+	 * @param range How close current point can be to target point
+	 */
+	public static boolean isWithinBounds(double tx, double ty, double cx, double cy, double range) {
 		//calculate deltas
-		double dx = Math.abs(target.getX() - current.getX());
-		double dy = Math.abs(target.getY() - current.getY());
+		double dx = Math.abs(tx - cx);
+		double dy = Math.abs(ty - cy);
 		
 		return dx < range && dy < range;
 	} //end isWithinBounds
@@ -125,10 +161,24 @@ public class FieldPositioning {
 	 * @return Radius formed by those three points
 	 */
 	public static double calcRadius(Point p1, Point p2, Point p3) {
+		return calcRadius(p1.getX(), p1.getY(), p2.getX(), p2.getY(), p3.getX(), p3.getY());
+	} //end calcRadius
+	
+	/**
+	 * Calculate the radius of the circle formed by three points
+	 * @param x1 X value of the first point
+	 * @param y1 Y value of the first point
+	 * @param x2 X value of the second point
+	 * @param y2 Y value of the second point
+	 * @param x3 X value of the third point
+	 * @param y3 Y value of the third point
+	 * @return Radius formed by those three points
+	 */
+	public static double calcRadius(double x1, double y1, double x2, double y2, double x3, double y3) {
 		//triangle side lengths
-		double a = dist(p1, p2);
-		double b = dist(p2, p3);
-		double c = dist(p1, p3);
+		double a = dist(x1, y1, x2, y2);
+		double b = dist(x2, y2, x3, y3);
+		double c = dist(x1, y1, x3, y3);
 		
 		//Heron's formula for area
 		double s = (a + b + c) / 2.0;
@@ -174,9 +224,32 @@ public class FieldPositioning {
 	 * @return Point normal to line ab from point p
 	 */
 	public static Point getNormalPoint(Point p, Point a, Point b) {
-		Point A = Point.subtract(p, a);
-		Point B = Point.subtract(b, a);
-		return Point.add(a, Point.setMag(B, Point.dot(A, Point.normalize(B))));
+		double[] out = new double[2];
+		getNormalPoint(p.getX(), p.getY(), a.getX(), a.getY(), b.getX(), b.getY(), out);
+		return new Point(out);
+	} //end getNormalPoint
+	
+	/**
+	 * Find the closest point to p from ab without creating any objects
+	 * @param px X value of the point to find the normal of
+	 * @param py Y value of the point to find the normal of
+	 * @param ax X value of the start of the line segment
+	 * @param ay Y value of the start of the line segment
+	 * @param bx X value of the end of the line segment
+	 * @param by Y value of the end of the line segment
+	 * @param out Array of at least two values to fill with the (x,y) of the normal point
+	 */
+	public static void getNormalPoint(double px, double py, double ax, double ay, double bx, double by, double[] out) {
+		//vectors from a to p and from a to b
+		double dxA = px - ax, dyA = py - ay;
+		double dxB = bx - ax, dyB = by - ay;
+		double magB = Math.hypot(dxB, dyB);
+		
+		//length of the projection of ap onto ab, then ab scaled to that length
+		double proj = dxA * (dxB * (1.0 / magB)) + dyA * (dyB * (1.0 / magB));
+		double k = proj / magB;
+		out[0] = ax + dxB * k;
+		out[1] = ay + dyB * k;
 	} //end getNormalPoint
 	
 	/**
@@ -188,10 +261,23 @@ public class FieldPositioning {
 	 * @return True if point is close enough to line, false if not
 	 */
 	public static boolean pointOnLine(Point p, Point a, Point b, double eps) {
+		return pointOnLine(p.getX(), p.getY(), a.getX(), a.getY(), b.getX(), b.getY(), eps);
+	} //end pointOnLine
+	
+	/**
+	 * Check whether a point is on a line segment within a tolerance
+	 * @param px X value of the point to check
+	 * @param py Y value of the point to check
+	 * @param ax X value of the first point of line segment
+	 * @param ay Y value of the first point of line segment
+	 * @param bx X value of the second point of line segment
+	 * @param by Y value of the second point of line segment
+	 * @param eps Distance to less than in order to be on the line
+	 * @return True if point is close enough to line, false if not
+	 */
+	public static boolean pointOnLine(double px, double py, double ax, double ay, double bx, double by, double eps) {
 		//if the distance between p & a and p & b is close enough to the distance between a and b, return true
-		return Util.fuzzyEquals(FieldPositioning.dist(a, b), 
-								FieldPositioning.dist(p,a) + FieldPositioning.dist(p, b),
-								eps);
+		return Util.fuzzyEquals(dist(ax, ay, bx, by), dist(px, py, ax, ay) + dist(px, py, bx, by), eps);
 	} //end pointOnLine
 	
 	/**
@@ -215,35 +301,66 @@ public class FieldPositioning {
 	 * @return Intersection between the circle and the line segment
 	 */
 	public static ArrayList<Point> lineCircleIntersect(Point E, Point L, Point C, double r) {
-		Point d = Point.subtract(L, E); //direction of line segment
-		Point f = Point.subtract(E, C);  //from circle center to line segment
+		double[] out = new double[4];
+		int n = lineCircleIntersect(E.getX(), E.getY(), L.getX(), L.getY(), C.getX(), C.getY(), r, out);
+		
+		ArrayList<Point> intersects = new ArrayList<Point>(n);
+		for (int i = 0; i < n; i++) {
+			intersects.add(new Point(out[2*i], out[2*i + 1]));
+		} //loop
+		return intersects;
+	} //end lineCircleIntersect
+	
+	/**
+	 * Find the intersection points between a circle and a line segment without creating any objects
+	 * @param ex X value of the beginning of the line segment
+	 * @param ey Y value of the beginning of the line segment
+	 * @param lx X value of the end of the line segment
+	 * @param ly Y value of the end of the line segment
+	 * @param cx X value of the center of the circle
+	 * @param cy Y value of the center of the circle
+	 * @param r Radius of the circle (lookahead distance)
+	 * @param out Array of at least four values to fill with the (x,y) of each intersect, 
+	 * the one closer to the beginning of the segment first
+	 * @return Number of intersects written, from zero to two
+	 */
+	public static int lineCircleIntersect(double ex, double ey, double lx, double ly, double cx, double cy, 
+											double r, double[] out) {
+		double dx = lx - ex, dy = ly - ey; //direction of line segment
+		double fx = ex - cx, fy = ey - cy; //from circle center to line segment
 		
 		//quadratic constants
-		double a = Point.dot(d, d);
-		double b = 2 * Point.dot(f, d);
-		double c = Point.dot(f, f) - r*r;
+		double a = dx * dx + dy * dy;
+		double b = 2 * (fx * dx + fy * dy);
+		double c = (fx * fx + fy * fy) - r*r;
 		double discriminant = b*b - 4*a*c;
 		
 		//if discriminant is less than zero, no intersections
 		if (discriminant < 0)
-			return new ArrayList<Point>();
+			return 0;
 		
 		//if discriminant is greater than zero, there are up to two intersections
 		discriminant = Math.sqrt(discriminant);
 		double t1 = (-b - discriminant) / (2 * a);
 		double t2 = (-b + discriminant) / (2 * a);
 		
-		///points calculated from the quadratic constants
-		ArrayList<Point> intersects = new ArrayList<Point>();
-		Point p1 = Point.add(E, Point.scale(d, t1));
-		Point p2 = Point.add(E, Point.scale(d, t2));
+		//if the points are on the line segment, add them to the intersections
+		int n = 0;
+		double x = ex + dx * t1, y = ey + dy * t1;
+		if (pointOnLine(x, y, ex, ey, lx, ly, 0.001)) {
+			out[0] = x;
+			out[1] = y;
+			n++;
+		} //if
 		
-		//if the points are on the line segment, add them to the intersections list and return
-		if (pointOnLine(p1, E, L))
-			intersects.add(p1);
-		if (pointOnLine(p2, E, L))
-			intersects.add(p2);
-		return intersects;
+		x = ex + dx * t2;
+		y = ey + dy * t2;
+		if (pointOnLine(x, y, ex, ey, lx, ly, 0.001)) {
+			out[2*n] = x;
+			out[2*n + 1] = y;
+			n++;
+		} //if
+		return n;
 	} //end lineCircleIntersect
 	
 	/**
@@ -253,7 +370,19 @@ public class FieldPositioning {
 	 * @return Distance squared between points
 	 */
 	public static double distsq(Point p1, Point p2) {
-		Point delta = Point.subtract(p2, p1);
-		return delta.getX() * delta.getX() + delta.getY() * delta.getY();
+		return distsq(p1.getX(), p1.getY(), p2.getX(), p2.getY());
+	} //end distsq
+	
+	/**
+	 * Get the square of the distance between points (faster than square root)
+	 * @param x1 X value of the first point
+	 * @param y1 Y value of the first point
+	 * @param x2 X value of the second point
+	 * @param y2 Y value of the second point
+	 * @return Distance squared between points
+	 */
+	public static double distsq(double x1, double y1, double x2, double y2) {
+		double dx = x2 - x1, dy = y2 - y1;
+		return dx * dx + dy * dy;
 	} //end distsq
 } //end class
\ No newline at end of file
@@ -99,6 +99,22 @@ public class Gearbox {
 		return kMotor.getParameters();
 	} //end getMotorName
 	
+	/**
+	 * Get the constant multiplied by voltage in the torque calculation
+	 * @return cVoltage - torque per volt applied
+	 */
+	public double getVoltageConstant() {
+		return cVoltage;
+	} //end getVoltageConstant
+	
+	/**
+	 * Get the constant multiplied by velocity in the torque calculation
+	 * @return cVelocity - torque per radian per second of gearbox velocity
+	 */
+	public double getVelocityConstant() {
+		return cVelocity;
+	} //end getVelocityConstant
+	
 	//Kinematics
 	
 	/**
@@ -158,6 +174,18 @@ public class Gearbox {
 		this.position += this.velocity * Util.UPDATE_PERIOD + 0.5 * this.acceleration * Util.UPDATE_PERIOD * Util.UPDATE_PERIOD;
 	} //end update
 	
+	/**
+	 * Set the kinematics of the gearbox directly (used by integrators)
+	 * @param position - position of the gearbox in radians
+	 * @param velocity - velocity of the gearbox in radians per second
+	 * @param acceleration - acceleration of the gearbox in radians per second^2
+	 */
+	void setState(double position, double velocity, double acceleration) {
+		this.position = position;
+		this.velocity = velocity;
+		this.acceleration = acceleration;
+	} //end setState
+	
 	/**
 	 * Reset the kinematics of the gearbox
 	 */
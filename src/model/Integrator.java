@@ -0,0 +1,37 @@
+/**
+ * Integrator
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Advances the drivetrain dynamics of a robot between updates
+ */
+
+package model;
+
+public interface Integrator {
+
+	/**
+	 * Advance the robot by one time step with voltages held constant
+	 * @param robot Robot to update
+	 * @param leftVoltage Clamped voltage applied to the left gearbox
+	 * @param rightVoltage Clamped voltage applied to the right gearbox
+	 */
+	public void update(Robot robot, double leftVoltage, double rightVoltage);
+
+	/**
+	 * Get the time covered by each update
+	 * @return Time step in seconds
+	 */
+	public double getTimeStep();
+
+	/**
+	 * Forget any state carried between updates
+	 */
+	public void reset();
+
+	/**
+	 * Create the same kind of integrator for another robot
+	 * @param robot Robot the copy will update
+	 * @return Integrator configured like this one
+	 */
+	public Integrator copy(Robot robot);
+} //end Integrator
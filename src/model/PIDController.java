@@ -15,6 +15,7 @@ public class PIDController {
 	private double kI; //integral constant
 	private double kD; //derivative constant
 	private double topSpeed; //max velocity of the robot
+	private double period; //time between calculations in seconds
 
 	//Calculated
 	private double errorSum; //sum of all errors
@@ -35,6 +36,7 @@ public class PIDController {
 		kI = i;
 		kD = d;
 		this.topSpeed = topSpeed;
+		this.period = Util.UPDATE_PERIOD;
 		
 		errorSum = 0; //no error sum at beginning
 		lastError = 0; //zero previous error at beginning
@@ -111,6 +113,14 @@ public class PIDController {
 		this.kD = kD;
 	}
 	
+	/**
+	 * Set the time between calculations, gains keep their meaning for a 5ms loop
+	 * @param period Loop period in seconds
+	 */
+	public void setPeriod(double period) {
+		this.period = period;
+	}
+	
 	/**
 	 * Reset the controller for the next set of calculations
 	 */
@@ -136,6 +146,34 @@ public class PIDController {
 		return initPos;
 	}
 	
+	/**
+	 * Get the sum of errors used by the integral term
+	 * @return errorSum Sum of all errors
+	 */
+	double getErrorSum() {
+		return errorSum;
+	}
+	
+	/**
+	 * Get the error from the last calculation
+	 * @return lastError Previous error
+	 */
+	double getLastError() {
+		return lastError;
+	}
+	
+	/**
+	 * Set the values carried between calculations (used to restore a snapshot)
+	 * @param errorSum Sum of all errors
+	 * @param lastError Previous error
+	 * @param atTarget Whether within epsilon bounds
+	 */
+	void setState(double errorSum, double lastError, boolean atTarget) {
+		this.errorSum = errorSum;
+		this.lastError = lastError;
+		this.atTarget = atTarget;
+	}
+	
 	//Calculations
 	
 	/**
@@ -155,14 +193,14 @@ public class PIDController {
 		//proportional output
 		double pOut = kP * error;
 		
-		//integral output
-		errorSum += error;
+		//integral output (scaled so each 5ms of error counts the same at any period)
+		errorSum += error * (period / Util.UPDATE_PERIOD);
 		double iOut = kI * errorSum;
 		
 		//derivative output
 		double dOut = 0;
 		if (lastError != 0)
-			dOut = kD * (error - lastError);
+			dOut = kD * (error - lastError) * (Util.UPDATE_PERIOD / period);
 		lastError = error;
 		
 		//output is sum of each constant's output
@@ -205,7 +243,7 @@ public class PIDController {
 		double pOut = kP * error;
 		
 		//output based on velocity difference from goal velocity
-		double errorVel = (error - lastError) / (Util.UPDATE_PERIOD * 12); //convert to FPS
+		double errorVel = (error - lastError) / (period * 12); //convert to FPS
 		double dOut = kD * (errorVel - goalVel);
 						
 		//set lastError for next loop
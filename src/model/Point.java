@@ -6,9 +6,14 @@
  */
 package model;
 
+import java.io.Serializable;
+
 import util.Util;
 
-public class Point {
+public class Point implements Serializable {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
 	//Configured
 	private double x; //x position of the point
@@ -48,6 +53,7 @@ public class Point {
 	 */
 	public void setX(double x) {
 		this.x = x;
+		clearCache();
 	} //end setX
 	
 	/**
@@ -64,8 +70,58 @@ public class Point {
 	 */
 	public void setY(double y) {
 		this.y = y;
+		clearCache();
 	} //end setY
 	
+	/**
+	 * Set the x and y values of the point without creating a new one
+	 * @param x New x value for the point
+	 * @param y New y value for the point
+	 * @return This point
+	 */
+	public Point setXY(double x, double y) {
+		this.x = x;
+		this.y = y;
+		clearCache();
+		return this;
+	} //end setXY
+	
+	/**
+	 * Copy the x and y values of another point into this one
+	 * @param p Point to copy
+	 * @return This point
+	 */
+	public Point setXY(Point p) {
+		return setXY(p.x, p.y);
+	} //end setXY
+	
+	/**
+	 * Add to the x and y values of the point without creating a new one
+	 * @param dx Change in x
+	 * @param dy Change in y
+	 * @return This point
+	 */
+	public Point shift(double dx, double dy) {
+		return setXY(x + dx, y + dy);
+	} //end shift
+	
+	/**
+	 * Scale the point by a constant k without creating a new one
+	 * @param k Constant scalar
+	 * @return This point
+	 */
+	public Point scaleBy(double k) {
+		return setXY(x * k, y * k);
+	} //end scaleBy
+	
+	/**
+	 * Forget the magnitude and heading so they are calculated again from the new x and y values
+	 */
+	private void clearCache() {
+		mag = 0.0;
+		heading = 0.0;
+	} //end clearCache
+	
 	/**
 	 * Get the magnitude of the point
 	 * @return Point magnitude (distance from point to origin)
@@ -99,6 +155,7 @@ public class Point {
 		//sin and cos flipped because x and y of field are flipped
 		this.x += magnitude * Math.sin(angle); 
 		this.y += magnitude * Math.cos(angle);
+		clearCache();
 	} //end translate
 	
 	/**
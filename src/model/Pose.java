@@ -7,8 +7,12 @@
 package model;
 
 import java.awt.Color;
+import java.io.Serializable;
 
-public class Pose {
+public class Pose implements Serializable {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
 	//Configured
 	private Point point; //coordinates of robot
@@ -0,0 +1,200 @@
+/**
+ * RecordingPolicy
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Which ticks of a command are recorded and which keys are filled in for them
+ */
+
+package model;
+
+import util.Util.ROBOT_KEY;
+
+public class RecordingPolicy {
+	//Ticks that are recorded
+	public enum MODE {
+		FULL, //every tick
+		EVERY_NTH, //every nth tick
+		ON_CHANGE, //ticks where a watched key has moved past a deadband since the last tick recorded
+		FINAL_ONLY //the last tick of each command
+	} //end enum
+
+	//Constants
+	public static final RecordingPolicy FULL = new RecordingPolicy(MODE.FULL, 1, 0, null, null); //record everything
+	private static final ROBOT_KEY[] KEYS = ROBOT_KEY.values(); //cached since values() copies
+	private static final int CHANGE_CAPACITY = 64; //ticks preallocated for ON_CHANGE, grown if more change
+
+	//Attributes
+	private MODE mode; //ticks that are recorded
+	private int interval; //ticks between recorded ticks for EVERY_NTH
+	private double deadband; //change a watched key needs for ON_CHANGE
+	private ROBOT_KEY[] watched; //keys checked for changes for ON_CHANGE
+	private boolean[] keys; //numeric keys filled in indexed by ordinal, null for every key
+
+	/**
+	 * Create a policy
+	 * @param mode Ticks that are recorded
+	 * @param interval Ticks between recorded ticks for EVERY_NTH
+	 * @param deadband Change a watched key needs for ON_CHANGE
+	 * @param watched Keys checked for changes for ON_CHANGE
+	 * @param keys Numeric keys filled in indexed by ordinal, null for every key
+	 */
+	private RecordingPolicy(MODE mode, int interval, double deadband, ROBOT_KEY[] watched, boolean[] keys) {
+		this.mode = mode;
+		this.interval = interval;
+		this.deadband = deadband;
+		this.watched = watched;
+		this.keys = keys;
+	} //end constructor
+
+	/**
+	 * Record every nth tick, and the last tick of each command
+	 * @param n Ticks between recorded ticks, one records every tick
+	 * @return Policy recording every nth tick
+	 */
+	public static RecordingPolicy everyNth(int n) {
+		if (n < 1)
+			throw new IllegalArgumentException("Ticks between recorded ticks must be at least one, was " + n);
+
+		return n == 1 ? FULL : new RecordingPolicy(MODE.EVERY_NTH, n, 0, null, null);
+	} //end everyNth
+
+	/**
+	 * Record the first tick of each command, ticks where a watched key has changed by more than a
+	 * deadband since the last tick recorded, and the last tick of each command
+	 * @param deadband Change a key needs to be recorded again
+	 * @param watched Numeric keys to watch
+	 * @return Policy recording ticks where the robot changed
+	 */
+	public static RecordingPolicy onChange(double deadband, ROBOT_KEY... watched) {
+		if (deadband < 0)
+			throw new IllegalArgumentException("Deadband cannot be negative, was " + deadband);
+		if (watched.length == 0)
+			throw new IllegalArgumentException("At least one key must be watched for changes");
+		for (ROBOT_KEY key : watched) {
+			if (!TelemetryRecorder.isNumeric(key))
+				throw new IllegalArgumentException(key + " is not a numeric key");
+		} //loop
+
+		return new RecordingPolicy(MODE.ON_CHANGE, 1, deadband, watched.clone(), null);
+	} //end onChange
+
+	/**
+	 * Record only the last tick of each command, for batches that only check where the robot ends up
+	 * @return Policy recording the final state
+	 */
+	public static RecordingPolicy finalOnly() {
+		return new RecordingPolicy(MODE.FINAL_ONLY, 1, 0, null, null);
+	} //end finalOnly
+
+	/**
+	 * Copy this policy, only filling in some of the numeric keys. The pose, color, goal point and
+	 * command name are always recorded so the ticks can still be drawn.
+	 * @param keys Numeric keys to fill in, the rest are NaN
+	 * @return Policy recording the same ticks with fewer keys
+	 */
+	public RecordingPolicy withKeys(ROBOT_KEY... keys) {
+		boolean[] mask = new boolean[KEYS.length];
+		for (ROBOT_KEY key : keys) {
+			if (!TelemetryRecorder.isNumeric(key))
+				throw new IllegalArgumentException(key + " is not a numeric key");
+			mask[key.ordinal()] = true;
+		} //loop
+
+		//changes can only be checked for keys that are recorded
+		if (watched != null) {
+			for (ROBOT_KEY key : watched) {
+				mask[key.ordinal()] = true;
+			} //loop
+		} //if
+
+		return new RecordingPolicy(mode, interval, deadband, watched, mask);
+	} //end withKeys
+
+	/**
+	 * Record or skip a tick of a command
+	 * @param telemetry Recorder the command records into
+	 * @param robot Robot being commanded
+	 * @param iteration Number of ticks of the command before this one
+	 * @return True if the tick was recorded, false if it was skipped
+	 */
+	public boolean update(TelemetryRecorder telemetry, Robot robot, int iteration) {
+		if (shouldRecord(telemetry, robot, iteration)) {
+			telemetry.record(robot, keys);
+			return true;
+		} //if
+
+		telemetry.skip();
+		return false;
+	} //end update
+
+	/**
+	 * Record the last tick of a command once it has finished, if it was skipped
+	 * @param telemetry Recorder the command records into
+	 * @param robot Robot being commanded, still in its state from the last tick
+	 * @param recorded Whether the last tick was recorded by update
+	 */
+	public void finish(TelemetryRecorder telemetry, Robot robot, boolean recorded) {
+		if (!recorded)
+			telemetry.recordSkipped(robot, keys);
+	} //end finish
+
+	/**
+	 * Check whether a tick of a command is recorded
+	 * @param telemetry Recorder the command records into
+	 * @param robot Robot being commanded
+	 * @param iteration Number of ticks of the command before this one
+	 * @return True if the tick is recorded, false if it is skipped
+	 */
+	private boolean shouldRecord(TelemetryRecorder telemetry, Robot robot, int iteration) {
+		switch (mode) {
+			case FULL:
+				return true;
+
+			case EVERY_NTH:
+				return iteration % interval == 0;
+
+			case ON_CHANGE:
+				if (iteration == 0 || telemetry.isEmpty())
+					return true;
+
+				int last = telemetry.size() - 1;
+				for (ROBOT_KEY key : watched) {
+					if (Math.abs(TelemetryRecorder.getValue(robot, key) - telemetry.get(key, last)) > deadband)
+						return true;
+				} //loop
+				return false;
+
+			default: //FINAL_ONLY
+				return false;
+		} //switch
+	} //end shouldRecord
+
+	/**
+	 * Get the number of ticks to preallocate for a command recorded with this policy
+	 * @param maxTicks Most ticks the command can run for before timing out
+	 * @return Ticks the command records at most, or a starting size the recorder grows from for ON_CHANGE
+	 */
+	public int getCapacity(int maxTicks) {
+		switch (mode) {
+			case FULL:
+				return maxTicks;
+			
+			case EVERY_NTH:
+				return maxTicks / interval + 1; //every nth tick and the last one
+			
+			case ON_CHANGE:
+				return Math.min(maxTicks, CHANGE_CAPACITY);
+			
+			default: //FINAL_ONLY
+				return 1;
+		} //switch
+	} //end getCapacity
+	
+	/**
+	 * Get the ticks that are recorded
+	 * @return Mode of the policy
+	 */
+	public MODE getMode() {
+		return mode;
+	} //end getMode
+} //end RecordingPolicy
@@ -51,6 +51,20 @@ public class Robot {
 	private double maxLinSpeed; //top linear speed of the robot
 	private double maxAngSpeed; //top angular speed of the robot
 	
+	//Integration
+	private Integrator integrator; //integrator used to update, null for 5ms constant acceleration steps
+	
+	//Color palettes indexed by percent of top speed, so updating the color does not allocate
+	private static final Color[] FORWARD_COLORS = new Color[129]; //green shades
+	private static final Color[] REVERSE_COLORS = new Color[129]; //red shades
+	
+	static {
+		for (int i = 0; i < FORWARD_COLORS.length; i++) {
+			FORWARD_COLORS[i] = new Color(0, 127 + i, 0);
+			REVERSE_COLORS[i] = new Color(127 + i, 0, 0);
+		} //loop
+	}
+	
 	/**
 	 * Create a robot with base parameters
 	 * double kWheelDia Wheel diameter in inches
@@ -83,13 +97,16 @@ public class Robot {
 	 */
 	public Robot clone() {
 		//convert the constants to imperial
-		double wheelDia = kWheelRad * 2 / Util.INCHES_TO_METERS;
-		double mass = kMass / Util.LBS_TO_KG;
-		double length = kLength / Util.INCHES_TO_METERS;
-		double width = kWidth / Util.INCHES_TO_METERS;
+		double wheelDia = getWheelDiameterInches();
+		double mass = getMassPounds();
+		double length = getLengthInches();
+		double width = getWidthInches();
 		
 		//left gearbox identical to right gearbox, doesn't matter which is used
-		return new Robot(wheelDia, mass, length, width, leftGearbox.clone());
+		Robot copy = new Robot(wheelDia, mass, length, width, getGearboxCopy());
+		if (integrator != null)
+			copy.setIntegrator(integrator.copy(copy));
+		return copy;
 	} 
 	
 	/**
@@ -125,6 +142,9 @@ public class Robot {
 		linearVel = 0;
 		color = Color.YELLOW;
 		commandName = "";
+		
+		if (integrator != null)
+			integrator.reset();
 	} //end reset
 	
 	/**
@@ -140,6 +160,54 @@ public class Robot {
 		color = Color.yellow;
 	} 
 	
+	/**
+	 * Get the radius of the wheels
+	 * @return Wheel radius in meters
+	 */
+	double getWheelRadius() {
+		return kWheelRad;
+	} 
+	
+	/**
+	 * Get the distance from the center of the robot to the wheels
+	 * @return Pivot arm in meters
+	 */
+	double getPivotArm() {
+		return kPivotArm;
+	} 
+	
+	/**
+	 * Get the constant applied to a side's own force in the acceleration calculation
+	 * @return fP constant
+	 */
+	double getFP() {
+		return fP;
+	} 
+	
+	/**
+	 * Get the constant applied to the opposite side's force in the acceleration calculation
+	 * @return fM constant
+	 */
+	double getFM() {
+		return fM;
+	} 
+	
+	/**
+	 * Get the left gearbox of the robot
+	 * @return Left drive gearbox
+	 */
+	Gearbox getLeftGearbox() {
+		return leftGearbox;
+	} 
+	
+	/**
+	 * Get the right gearbox of the robot
+	 * @return Right drive gearbox
+	 */
+	Gearbox getRightGearbox() {
+		return rightGearbox;
+	} 
+	
 	//Kinematics
 	
 	/**
@@ -182,6 +250,30 @@ public class Robot {
 		return maxAngSpeed;
 	} 
 	
+	/**
+	 * Get the diameter of the wheels in inches
+	 * @return Wheel diameter in inches
+	 */
+	public double getWheelDiameterInches() {
+		return kWheelRad * 2 / Util.INCHES_TO_METERS;
+	} 
+	
+	/**
+	 * Get the mass of the robot in pounds
+	 * @return Mass of the robot in pounds
+	 */
+	public double getMassPounds() {
+		return kMass / Util.LBS_TO_KG;
+	} 
+	
+	/**
+	 * Get a copy of the drive gearbox, both sides are built from the same parameters
+	 * @return Copy of the gearbox with no motion
+	 */
+	public Gearbox getGearboxCopy() {
+		return leftGearbox.clone();
+	} 
+	
 	/**
 	 * Get the width of the robot in inches
 	 * @return Width of robot in inches
@@ -214,6 +306,54 @@ public class Robot {
 		return rightGearbox.getPos() * kWheelRad / Util.INCHES_TO_METERS;
 	} 
 	
+	/**
+	 * Get the velocity of the left side of the drive
+	 * @return Left wheel velocity in ft/s
+	 */
+	public double getLeftVel() {
+		return leftGearbox.getVel() * kWheelRad / Util.INCHES_TO_METERS / 12;
+	} 
+	
+	/**
+	 * Get the velocity of the right side of the drive
+	 * @return Right wheel velocity in ft/s
+	 */
+	public double getRightVel() {
+		return rightGearbox.getVel() * kWheelRad / Util.INCHES_TO_METERS / 12;
+	} 
+	
+	/**
+	 * Get the acceleration of the left gearbox
+	 * @return Left gearbox acceleration in rad/s^2
+	 */
+	public double getLeftAcc() {
+		return leftGearbox.getAcc();
+	} 
+	
+	/**
+	 * Get the acceleration of the right gearbox
+	 * @return Right gearbox acceleration in rad/s^2
+	 */
+	public double getRightAcc() {
+		return rightGearbox.getAcc();
+	} 
+	
+	/**
+	 * Get the linear acceleration of the robot
+	 * @return Linear acceleration in in/s^2
+	 */
+	public double getLinearAcc() {
+		return ((leftGearbox.getAcc() + rightGearbox.getAcc()) / 2) * kWheelRad / Util.INCHES_TO_METERS;
+	} 
+	
+	/**
+	 * Get the angular acceleration of the robot
+	 * @return Angular acceleration in rad/s^2
+	 */
+	public double getAngularAcc() {
+		return (kWheelRad / (2 * kPivotArm)) * (rightGearbox.getAcc() - leftGearbox.getAcc());
+	} 
+	
 	/**
 	 * Check if the robot's speed is lower than a percent of its top speed
 	 * @param percent Percent of the top speed to be under between -1 and 1
@@ -226,8 +366,8 @@ public class Robot {
 	//Pose
 	
 	/**
-	 * Get the coordinates of the robot
-	 * @return (x,y) values of the robot as a Point
+	 * Get a copy of the coordinates of the robot, use getX and getY in loops to avoid creating a Point
+	 * @return (x,y) values of the robot as a new Point
 	 */
 	public Point getPoint() {
 		return new Point(point.getX(), point.getY());
@@ -254,7 +394,7 @@ public class Robot {
 	 * @param p New (x,y) coordinates of the robot
 	 */
 	public void setXY(Point p) {
-		point = new Point(p.getX(), p.getY());
+		point.setXY(p.getX(), p.getY());
 	} 
 	
 	/**
@@ -310,6 +450,45 @@ public class Robot {
 
 	//Dynamics
 	
+	/**
+	 * Set the integrator used to update the robot
+	 * @param integrator Integrator for the drivetrain dynamics, null for 5ms constant acceleration steps
+	 */
+	public void setIntegrator(Integrator integrator) {
+		this.integrator = integrator;
+	} 
+	
+	/**
+	 * Get the integrator used to update the robot
+	 * @return Integrator for the drivetrain dynamics, null if the default update is used
+	 */
+	public Integrator getIntegrator() {
+		return integrator;
+	} 
+	
+	/**
+	 * Step the robot with the exact discretization of its dynamics instead of 5ms constant acceleration steps
+	 * @param dt Time step of each update in seconds
+	 */
+	public void useExactDiscretization(double dt) {
+		setIntegrator(new ExactDiscretization(this, dt));
+	} 
+	
+	/**
+	 * Step the robot with the default 5ms constant acceleration update
+	 */
+	public void useDefaultIntegration() {
+		setIntegrator(null);
+	} 
+	
+	/**
+	 * Get the time covered by each call to update
+	 * @return Time step in seconds
+	 */
+	public double getTimeStep() {
+		return integrator == null ? Util.UPDATE_PERIOD : integrator.getTimeStep();
+	} 
+	
 	/**
 	 * Update the pose of the robot given voltages applied over an interval
 	 * @param leftVoltage Voltage applied to left gearbox
@@ -320,6 +499,13 @@ public class Robot {
 		leftVoltage = Util.clampNum(leftVoltage, -Util.MAX_VOLTAGE, Util.MAX_VOLTAGE);
 		rightVoltage = Util.clampNum(rightVoltage, -Util.MAX_VOLTAGE, Util.MAX_VOLTAGE);
 		
+		//step with the integrator if there is one
+		if (integrator != null) {
+			integrator.update(this, leftVoltage, rightVoltage);
+			updateGraphics();
+			return;
+		} //if
+		
 		//calculate force exerted by each gearbox on robot
 		double leftForce = leftGearbox.calcTorque(leftVoltage) / kWheelRad;
 		double rightForce = rightGearbox.calcTorque(rightVoltage) / kWheelRad;
@@ -337,6 +523,29 @@ public class Robot {
 		updateGraphics();
 	}
 	
+	/**
+	 * Set the gearbox states and pose of the robot after an integration step
+	 * @param leftPos Left gearbox position in radians
+	 * @param leftVel Left gearbox velocity in rad/s
+	 * @param leftAcc Left gearbox acceleration in rad/s^2
+	 * @param rightPos Right gearbox position in radians
+	 * @param rightVel Right gearbox velocity in rad/s
+	 * @param rightAcc Right gearbox acceleration in rad/s^2
+	 * @param x X position in inches
+	 * @param y Y position in inches
+	 * @param heading Heading in radians
+	 */
+	void setDriveState(double leftPos, double leftVel, double leftAcc, double rightPos, double rightVel, 
+						double rightAcc, double x, double y, double heading) {
+		leftGearbox.setState(leftPos, leftVel, leftAcc);
+		rightGearbox.setState(rightPos, rightVel, rightAcc);
+		updateSpeeds();
+		
+		averagePos = (leftPos + rightPos) / 2 * kWheelRad / Util.INCHES_TO_METERS;
+		point.setXY(x, y);
+		this.heading = heading;
+	} 
+	
 	/**
 	 * Calculate the accelerations of each side of the drive
 	 * @param leftTorque Torque of the left gearbox
@@ -412,13 +621,13 @@ public class Robot {
 	private void updateColor() {
 		//percentage of top speed
 		double modifier = Math.min(1, Math.abs(linearVel) / maxLinSpeed);
-		int val = 127 + (int) (128 * modifier);
+		int val = (int) (128 * modifier);
 		
 		if (linearVel > 0) { //moving forward
-			color = new Color(0, val, 0); //green
+			color = FORWARD_COLORS[val]; //green
 			
 		} else if (linearVel < 0) { //reversing
-			color = new Color(val, 0, 0); //red
+			color = REVERSE_COLORS[val]; //red
 			
 		} else { //not moving
 			color = Color.YELLOW;
@@ -449,6 +658,14 @@ public class Robot {
 		this.commandName = name;
 	} 
 	
+	/**
+	 * Get the name of the Command the robot is running
+	 * @return Name of the current Command
+	 */
+	public String getCommandName() {
+		return commandName;
+	} 
+	
 	/**
 	 * Set the goal point to be drawn
 	 * @param goal Goal point Robot is attempting to reach
@@ -457,6 +674,14 @@ public class Robot {
 		this.goalPoint = goal;
 	} 
 	
+	/**
+	 * Get the goal point to be drawn
+	 * @return Goal point Robot is attempting to reach, null if there is none
+	 */
+	public Point getGoalPoint() {
+		return goalPoint;
+	} 
+	
 	/**
 	 * Set the lookahead for the robot
 	 * @param lookahead New lookahead distance in inches
@@ -465,6 +690,14 @@ public class Robot {
 		this.lookahead = lookahead;
 	} 
 	
+	/**
+	 * Get the lookahead of the robot
+	 * @return Lookahead distance in inches
+	 */
+	public double getLookahead() {
+		return lookahead;
+	} 
+	
 	/**
 	 * Set the PID output to be displayed
 	 * @param pidOut Output from PID controller to be displayed
@@ -473,6 +706,14 @@ public class Robot {
 		this.pidOut = pidOut;
 	}
 	
+	/**
+	 * Get the PID output to be displayed
+	 * @return Output from PID controller
+	 */
+	public double getPIDOutput() {
+		return pidOut;
+	}
+	
 	/**
 	 * Get the data of the robot
 	 * @return All robot data point in a HashMap
@@ -488,14 +729,14 @@ public class Robot {
 		data.put(ROBOT_KEY.YAW, yaw);
 		data.put(ROBOT_KEY.POINT, point);
 		data.put(ROBOT_KEY.COLOR, color);
-		data.put(ROBOT_KEY.LEFT_POS, leftGearbox.getPos() * kWheelRad / Util.INCHES_TO_METERS); //in
-		data.put(ROBOT_KEY.RIGHT_POS, rightGearbox.getPos() * kWheelRad / Util.INCHES_TO_METERS); //in
-		data.put(ROBOT_KEY.LEFT_VEL, leftGearbox.getVel() * kWheelRad / Util.INCHES_TO_METERS / 12); //ft/s
-		data.put(ROBOT_KEY.RIGHT_VEL, rightGearbox.getVel() * kWheelRad / Util.INCHES_TO_METERS / 12); //ft/s
-		data.put(ROBOT_KEY.LEFT_ACC, leftGearbox.getAcc());
-		data.put(ROBOT_KEY.RIGHT_ACC, rightGearbox.getAcc());
-		data.put(ROBOT_KEY.LIN_ACC, ((leftGearbox.getAcc() + rightGearbox.getAcc()) / 2) * kWheelRad / Util.INCHES_TO_METERS);
-		data.put(ROBOT_KEY.ANG_ACC, (kWheelRad / (2 * kPivotArm)) * (rightGearbox.getAcc() - leftGearbox.getAcc()));
+		data.put(ROBOT_KEY.LEFT_POS, getLeftPos()); //in
+		data.put(ROBOT_KEY.RIGHT_POS, getRightPos()); //in
+		data.put(ROBOT_KEY.LEFT_VEL, getLeftVel()); //ft/s
+		data.put(ROBOT_KEY.RIGHT_VEL, getRightVel()); //ft/s
+		data.put(ROBOT_KEY.LEFT_ACC, getLeftAcc());
+		data.put(ROBOT_KEY.RIGHT_ACC, getRightAcc());
+		data.put(ROBOT_KEY.LIN_ACC, getLinearAcc());
+		data.put(ROBOT_KEY.ANG_ACC, getAngularAcc());
 		data.put(ROBOT_KEY.CURRENT_COMMAND, commandName);
 		data.put(ROBOT_KEY.GOAL_POINT, goalPoint);
 		data.put(ROBOT_KEY.LOOKAHEAD_DIST, lookahead);
@@ -0,0 +1,363 @@
+/**
+ * RobotBatch
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Steps many differential drive robots in lockstep using primitive columns
+ */
+
+package model;
+
+import util.Util;
+
+public class RobotBatch {
+	//Attributes
+	//Configured
+	private int size; //number of robots in the batch
+	private double[] kWheelRad; //wheel radius in meters
+	private double[] kPivotArm; //distance from robot center to wheel in meters
+	private double[] fP; //constant used in gearbox acceleration calculation
+	private double[] fM; //constant used in gearbox acceleration calculation
+	private double[] cVoltage; //gearbox torque per volt
+	private double[] cVelocity; //gearbox torque per rad/s
+	private double[] maxLinSpeed; //top linear speed in ft/s
+
+	//Gearboxes
+	private double[] leftPos; //left gearbox position in radians
+	private double[] leftVel; //left gearbox velocity in rad/s
+	private double[] leftAcc; //left gearbox acceleration in rad/s^2
+	private double[] rightPos; //right gearbox position in radians
+	private double[] rightVel; //right gearbox velocity in rad/s
+	private double[] rightAcc; //right gearbox acceleration in rad/s^2
+
+	//Kinematics
+	private double[] averagePos; //distance travelled in inches
+	private double[] angularVel; //angular speed in rad/s
+	private double[] linearVel; //linear speed in ft/s
+
+	//Pose
+	private double[] heading; //heading in radians
+	private double[] x; //x position in inches
+	private double[] y; //y position in inches
+
+	/**
+	 * Create a batch from a set of robot variants, copying their constants and current state. The batch
+	 * steps with the default 5ms constant acceleration update, so robots set to another integrator are rejected
+	 * rather than simulated with a different model.
+	 * @param robots Robots to simulate together
+	 */
+	public RobotBatch(Robot[] robots) {
+		for (int i = 0; i < robots.length; i++) {
+			if (robots[i].getIntegrator() != null)
+				throw new IllegalArgumentException("Robot " + i + " uses " + robots[i].getIntegrator().getClass().getSimpleName()
+													+ ", batches only step with the default integration");
+		} //loop
+		
+		size = robots.length;
+
+		//configured constants
+		kWheelRad = new double[size];
+		kPivotArm = new double[size];
+		fP = new double[size];
+		fM = new double[size];
+		cVoltage = new double[size];
+		cVelocity = new double[size];
+		maxLinSpeed = new double[size];
+
+		//state
+		leftPos = new double[size];
+		leftVel = new double[size];
+		leftAcc = new double[size];
+		rightPos = new double[size];
+		rightVel = new double[size];
+		rightAcc = new double[size];
+		averagePos = new double[size];
+		angularVel = new double[size];
+		linearVel = new double[size];
+		heading = new double[size];
+		x = new double[size];
+		y = new double[size];
+
+		for (int i = 0; i < size; i++) {
+			Robot r = robots[i];
+			Gearbox left = r.getLeftGearbox();
+			Gearbox right = r.getRightGearbox();
+
+			kWheelRad[i] = r.getWheelRadius();
+			kPivotArm[i] = r.getPivotArm();
+			fP[i] = r.getFP();
+			fM[i] = r.getFM();
+			cVoltage[i] = left.getVoltageConstant(); //both gearboxes built from the same parameters
+			cVelocity[i] = left.getVelocityConstant();
+			maxLinSpeed[i] = r.getMaxLinSpeed();
+
+			leftPos[i] = left.getPos();
+			leftVel[i] = left.getVel();
+			leftAcc[i] = left.getAcc();
+			rightPos[i] = right.getPos();
+			rightVel[i] = right.getVel();
+			rightAcc[i] = right.getAcc();
+			averagePos[i] = r.getAveragePos();
+			angularVel[i] = r.getAngularVel();
+			linearVel[i] = r.getLinearVel();
+			heading[i] = r.getHeading();
+			x[i] = r.getX();
+			y[i] = r.getY();
+		} //loop
+	} //end constructor
+
+	/**
+	 * Create a batch of identical copies of a robot
+	 * @param robot Robot to copy
+	 * @param size Number of copies in the batch
+	 */
+	public RobotBatch(Robot robot, int size) {
+		this(copies(robot, size));
+	} //end constructor
+
+	/**
+	 * Fill an array with the same robot
+	 * @param robot Robot to repeat
+	 * @param size Length of the array
+	 * @return Array containing the robot size times
+	 */
+	private static Robot[] copies(Robot robot, int size) {
+		Robot[] robots = new Robot[size];
+		for (int i = 0; i < size; i++) {
+			robots[i] = robot;
+		} //loop
+		return robots;
+	} //end copies
+
+	/**
+	 * Get the number of robots in the batch
+	 * @return Number of robots
+	 */
+	public int size() {
+		return size;
+	} //end size
+
+	/**
+	 * Reset the gearboxes, pose and kinematics of every robot
+	 */
+	public void reset() {
+		for (int i = 0; i < size; i++) {
+			reset(i);
+		} //loop
+	} //end reset
+
+	/**
+	 * Reset the gearboxes, pose and kinematics of one robot
+	 * @param i Index of the robot
+	 */
+	public void reset(int i) {
+		leftPos[i] = 0;
+		leftVel[i] = 0;
+		leftAcc[i] = 0;
+		rightPos[i] = 0;
+		rightVel[i] = 0;
+		rightAcc[i] = 0;
+		averagePos[i] = 0;
+		angularVel[i] = 0;
+		linearVel[i] = 0;
+		heading[i] = 0;
+		x[i] = 0;
+		y[i] = 0;
+	} //end reset
+
+	/**
+	 * Set the pose of one robot
+	 * @param i Index of the robot
+	 * @param xPos X position in inches
+	 * @param yPos Y position in inches
+	 * @param theta Heading in radians
+	 */
+	public void setPose(int i, double xPos, double yPos, double theta) {
+		x[i] = xPos;
+		y[i] = yPos;
+		heading[i] = theta;
+	} //end setPose
+
+	//Dynamics
+
+	/**
+	 * Update every robot with the same voltages applied over an interval
+	 * @param leftVoltage Voltage applied to each left gearbox
+	 * @param rightVoltage Voltage applied to each right gearbox
+	 */
+	public void update(double leftVoltage, double rightVoltage) {
+		//clamp the voltages between min and max voltage values
+		leftVoltage = Util.clampNum(leftVoltage, -Util.MAX_VOLTAGE, Util.MAX_VOLTAGE);
+		rightVoltage = Util.clampNum(rightVoltage, -Util.MAX_VOLTAGE, Util.MAX_VOLTAGE);
+
+		for (int i = 0; i < size; i++) {
+			step(i, leftVoltage, rightVoltage);
+		} //loop
+	} //end update
+
+	/**
+	 * Update every robot with its own voltages applied over an interval
+	 * @param leftVoltages Voltage applied to each left gearbox, indexed by robot
+	 * @param rightVoltages Voltage applied to each right gearbox, indexed by robot
+	 */
+	public void update(double[] leftVoltages, double[] rightVoltages) {
+		for (int i = 0; i < size; i++) {
+			step(i, Util.clampNum(leftVoltages[i], -Util.MAX_VOLTAGE, Util.MAX_VOLTAGE),
+					Util.clampNum(rightVoltages[i], -Util.MAX_VOLTAGE, Util.MAX_VOLTAGE));
+		} //loop
+	} //end update
+
+	/**
+	 * Step one robot with the same physics as Robot.update()
+	 * @param i Index of the robot
+	 * @param leftVoltage Clamped voltage applied to the left gearbox
+	 * @param rightVoltage Clamped voltage applied to the right gearbox
+	 */
+	private void step(int i, double leftVoltage, double rightVoltage) {
+		final double dt = Util.UPDATE_PERIOD;
+		double rad = kWheelRad[i];
+
+		//calculate force exerted by each gearbox on robot
+		double leftForce = (cVoltage[i] * leftVoltage + cVelocity[i] * leftVel[i]) / rad;
+		double rightForce = (cVoltage[i] * rightVoltage + cVelocity[i] * rightVel[i]) / rad;
+
+		//calculate each side's acceleration
+		double lAcc = (fP[i] * leftForce + fM[i] * rightForce) / rad;
+		double rAcc = (fM[i] * leftForce + fP[i] * rightForce) / rad;
+
+		//update the position and velocity of the gearboxes
+		double lVel = leftVel[i] + lAcc * dt;
+		double rVel = rightVel[i] + rAcc * dt;
+		double lPos = leftPos[i] + lVel * dt + 0.5 * lAcc * dt * dt;
+		double rPos = rightPos[i] + rVel * dt + 0.5 * rAcc * dt * dt;
+		leftAcc[i] = lAcc;
+		rightAcc[i] = rAcc;
+		leftVel[i] = lVel;
+		rightVel[i] = rVel;
+		leftPos[i] = lPos;
+		rightPos[i] = rPos;
+
+		//update the speeds of the robot
+		double angVel = (rad / (2 * kPivotArm[i])) * (rVel - lVel);
+		angularVel[i] = angVel;
+		linearVel[i] = rad / Util.INCHES_TO_METERS / 12 * (rVel + lVel) / 2;
+
+		//update average position and coordinates
+		double newPos = (lPos + rPos) / 2 * rad / Util.INCHES_TO_METERS;
+		double disp = newPos - averagePos[i];
+		double theta = heading[i];
+		x[i] += disp * Math.sin(theta);
+		y[i] += disp * Math.cos(theta);
+		averagePos[i] = newPos;
+
+		//update heading
+		heading[i] = theta + angVel * dt;
+	} //end step
+
+	//Columns
+
+	/**
+	 * Get the average distance travelled by a robot
+	 * @param i Index of the robot
+	 * @return Average distance travelled in inches
+	 */
+	public double getAveragePos(int i) {
+		return averagePos[i];
+	} //end getAveragePos
+
+	/**
+	 * Get the linear velocity of a robot
+	 * @param i Index of the robot
+	 * @return Linear speed in ft/s
+	 */
+	public double getLinearVel(int i) {
+		return linearVel[i];
+	} //end getLinearVel
+
+	/**
+	 * Get the angular velocity of a robot
+	 * @param i Index of the robot
+	 * @return Angular speed in rad/s
+	 */
+	public double getAngularVel(int i) {
+		return angularVel[i];
+	} //end getAngularVel
+
+	/**
+	 * Get the heading of a robot
+	 * @param i Index of the robot
+	 * @return Heading in radians
+	 */
+	public double getHeading(int i) {
+		return heading[i];
+	} //end getHeading
+
+	/**
+	 * Get the x position of a robot
+	 * @param i Index of the robot
+	 * @return X position in inches
+	 */
+	public double getX(int i) {
+		return x[i];
+	} //end getX
+
+	/**
+	 * Get the y position of a robot
+	 * @param i Index of the robot
+	 * @return Y position in inches
+	 */
+	public double getY(int i) {
+		return y[i];
+	} //end getY
+
+	/**
+	 * Get the left wheel position of a robot
+	 * @param i Index of the robot
+	 * @return Left wheel position in inches
+	 */
+	public double getLeftPos(int i) {
+		return leftPos[i] * kWheelRad[i] / Util.INCHES_TO_METERS;
+	} //end getLeftPos
+
+	/**
+	 * Get the right wheel position of a robot
+	 * @param i Index of the robot
+	 * @return Right wheel position in inches
+	 */
+	public double getRightPos(int i) {
+		return rightPos[i] * kWheelRad[i] / Util.INCHES_TO_METERS;
+	} //end getRightPos
+
+	/**
+	 * Check if a robot's speed is lower than a percent of its top speed
+	 * @param i Index of the robot
+	 * @param percent Percent of the top speed to be under between -1 and 1
+	 * @return True if under, false if equal or over
+	 */
+	public boolean isSlowerThanPercent(int i, double percent) {
+		return Math.abs(linearVel[i]) < percent * maxLinSpeed[i];
+	} //end isSlowerThanPercent
+
+	/**
+	 * Get the x positions of every robot
+	 * @return X column in inches, indexed by robot (not a copy)
+	 */
+	public double[] getXs() {
+		return x;
+	} //end getXs
+
+	/**
+	 * Get the y positions of every robot
+	 * @return Y column in inches, indexed by robot (not a copy)
+	 */
+	public double[] getYs() {
+		return y;
+	} //end getYs
+
+	/**
+	 * Get the headings of every robot
+	 * @return Heading column in radians, indexed by robot (not a copy)
+	 */
+	public double[] getHeadings() {
+		return heading;
+	} //end getHeadings
+} //end RobotBatch
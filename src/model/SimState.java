@@ -0,0 +1,169 @@
+/**
+ * SimState
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Snapshot of everything that changes while a drive loop runs, used to branch from a checkpoint
+ */
+
+package model;
+
+import java.awt.Color;
+
+import model.DriveLoop.STATE;
+
+public class SimState {
+	//Attributes
+	//Gearboxes
+	private double leftPos, leftVel, leftAcc; //left gearbox kinematics in radians
+	private double rightPos, rightVel, rightAcc; //right gearbox kinematics in radians
+
+	//Robot
+	private double x, y; //position in inches
+	private double heading; //heading in radians
+	private Color color; //color of the robot
+	private String commandName; //name of the command running
+	private Point goalPoint; //copy of the goal point, null if there is none
+	private double lookahead; //lookahead circle radius
+	private double pidOut; //output from a PID controller
+
+	//Drive loop
+	private STATE state; //state the loop is in
+	private double goalDist; //distance to drive
+	private double tolerance; //epsilon to be within
+	private double topSpeed; //max allowable speed
+	private double minSpeed; //min allowable speed
+	private double goalAngle; //angle to turn to
+	private double[] leftPVA; //left profile goal, null if none
+	private double[] rightPVA; //right profile goal, null if none
+
+	//PID controllers, {errorSum, lastError, initPos}
+	private double[] drivePID = new double[3]; //drive controller values
+	private double[] turnPID = new double[3]; //turn controller values
+	private boolean driveAtTarget; //whether the drive controller was at its target
+	private boolean turnAtTarget; //whether the turn controller was at its target
+
+	/**
+	 * Create an empty snapshot to save into
+	 */
+	public SimState() {}
+
+	/**
+	 * Take a snapshot of a drive loop and its robot
+	 * @param loop Loop to save
+	 * @return Snapshot of the loop
+	 */
+	public static SimState of(DriveLoop loop) {
+		SimState state = new SimState();
+		state.save(loop);
+		return state;
+	} //end of
+
+	/**
+	 * Save the state of a drive loop, its PID controllers and its robot into this snapshot.
+	 * The Pure Pursuit controller is not saved.
+	 * @param loop Loop to save
+	 */
+	public void save(DriveLoop loop) {
+		Robot robot = loop.getRobot();
+		Gearbox left = robot.getLeftGearbox();
+		Gearbox right = robot.getRightGearbox();
+
+		//gearboxes
+		leftPos = left.getPos();
+		leftVel = left.getVel();
+		leftAcc = left.getAcc();
+		rightPos = right.getPos();
+		rightVel = right.getVel();
+		rightAcc = right.getAcc();
+
+		//robot
+		x = robot.getX();
+		y = robot.getY();
+		heading = robot.getHeading();
+		color = robot.getColor();
+		commandName = robot.getCommandName();
+		Point goal = robot.getGoalPoint();
+		goalPoint = goal == null ? null : new Point(goal.getX(), goal.getY());
+		lookahead = robot.getLookahead();
+		pidOut = robot.getPIDOutput();
+
+		//drive loop
+		state = loop.getState();
+		goalDist = loop.getGoalDist();
+		tolerance = loop.getTolerance();
+		topSpeed = loop.getTopSpeed();
+		minSpeed = loop.getMinSpeed();
+		goalAngle = loop.getGoalAngle();
+		leftPVA = copy(loop.getLeftPVA(), leftPVA);
+		rightPVA = copy(loop.getRightPVA(), rightPVA);
+
+		//controllers
+		driveAtTarget = savePID(loop.getDrivePID(), drivePID);
+		turnAtTarget = savePID(loop.getTurnPID(), turnPID);
+	} //end save
+
+	/**
+	 * Restore a drive loop, its PID controllers and its robot to this snapshot
+	 * @param loop Loop to restore, must control the same kind of robot that was saved
+	 */
+	public void restore(DriveLoop loop) {
+		Robot robot = loop.getRobot();
+
+		//robot, speeds and average position follow from the gearboxes
+		robot.setDriveState(leftPos, leftVel, leftAcc, rightPos, rightVel, rightAcc, x, y, heading);
+		robot.setColor(color);
+		robot.setCommandName(commandName);
+		robot.setGoalPoint(goalPoint == null ? null : new Point(goalPoint.getX(), goalPoint.getY()));
+		robot.setLookahead(lookahead);
+		robot.setPIDOutput(pidOut);
+
+		//anything the integrator carried belongs to the timeline being left
+		if (robot.getIntegrator() != null)
+			robot.getIntegrator().reset();
+
+		//drive loop
+		loop.setLoopState(state, goalDist, tolerance, topSpeed, minSpeed, goalAngle, leftPVA, rightPVA);
+		restorePID(loop.getDrivePID(), drivePID, driveAtTarget);
+		restorePID(loop.getTurnPID(), turnPID, turnAtTarget);
+	} //end restore
+
+	/**
+	 * Copy a profile goal, reusing the destination when it is the right size
+	 * @param src Array to copy, may be null
+	 * @param dest Array to reuse, may be null
+	 * @return Copy of the source, null if the source is null
+	 */
+	private static double[] copy(double[] src, double[] dest) {
+		if (src == null)
+			return null;
+
+		if (dest == null || dest.length != src.length)
+			dest = new double[src.length];
+		System.arraycopy(src, 0, dest, 0, src.length);
+		return dest;
+	} //end copy
+
+	/**
+	 * Save the values a PID controller carries between calculations
+	 * @param pid Controller to save
+	 * @param values Array to save errorSum, lastError and initPos into
+	 * @return Whether the controller was at its target
+	 */
+	private static boolean savePID(PIDController pid, double[] values) {
+		values[0] = pid.getErrorSum();
+		values[1] = pid.getLastError();
+		values[2] = pid.getInitPos();
+		return pid.isDone();
+	} //end savePID
+
+	/**
+	 * Restore the values a PID controller carries between calculations
+	 * @param pid Controller to restore
+	 * @param values Saved errorSum, lastError and initPos
+	 * @param atTarget Whether the controller was at its target
+	 */
+	private static void restorePID(PIDController pid, double[] values, boolean atTarget) {
+		pid.setState(values[0], values[1], atTarget);
+		pid.setInitPos(values[2]);
+	} //end restorePID
+} //end SimState
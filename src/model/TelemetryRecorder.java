@@ -0,0 +1,541 @@
+/**
+ * TelemetryRecorder
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Records robot data every tick into preallocated primitive columns
+ */
+
+package model;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import util.Util;
+import util.Util.ROBOT_KEY;
+
+public class TelemetryRecorder {
+	//Attributes
+	//Constants
+	private static final ROBOT_KEY[] KEYS = ROBOT_KEY.values(); //cached since values() copies
+	private static final int DEFAULT_CAPACITY = 2000; //10 seconds of ticks
+
+	//Columns
+	private double[][] columns; //one column per numeric key, indexed by key ordinal
+	private double[] x; //x position in inches
+	private double[] y; //y position in inches
+	private double[] goalX; //goal point x in inches, NaN if there is no goal point
+	private double[] goalY; //goal point y in inches, NaN if there is no goal point
+	private int[] colors; //RGB value of the robot color
+	private int[] commands; //index into the command name table
+	private int[] ticks; //number of ticks simulated before each recorded tick, gaps are skipped ticks
+
+	//Command names
+	private ArrayList<String> commandNames; //names of every command recorded
+	private String lastName; //last command name recorded
+	private int lastNameIndex; //index of the last command name recorded
+
+	//Updated
+	private int size; //number of ticks recorded
+	private int capacity; //number of ticks that fit in the columns
+	private int elapsed; //number of ticks simulated, recorded or skipped
+	private double timeStep = Util.UPDATE_PERIOD; //seconds per tick, from the robot recorded
+
+	/**
+	 * Create a recorder with enough room for a ten second command
+	 */
+	public TelemetryRecorder() {
+		this(DEFAULT_CAPACITY);
+	} //end constructor
+
+	/**
+	 * Create a recorder with room for a number of ticks
+	 * @param capacity Number of ticks to preallocate space for
+	 */
+	public TelemetryRecorder(int capacity) {
+		this.capacity = Math.max(1, capacity);
+		this.columns = new double[KEYS.length][];
+
+		//only numeric keys get a column
+		for (int k = 0; k < KEYS.length; k++) {
+			if (isNumeric(KEYS[k]))
+				columns[k] = new double[this.capacity];
+		} //loop
+
+		x = new double[this.capacity];
+		y = new double[this.capacity];
+		goalX = new double[this.capacity];
+		goalY = new double[this.capacity];
+		colors = new int[this.capacity];
+		commands = new int[this.capacity];
+		ticks = new int[this.capacity];
+		commandNames = new ArrayList<String>();
+
+		clear();
+	} //end constructor
+
+	/**
+	 * Create a recorder from a list of poses
+	 * @param poses Poses to record
+	 * @return Recorder holding the point, heading and color of each pose
+	 */
+	public static TelemetryRecorder fromPoses(ArrayList<Pose> poses) {
+		TelemetryRecorder telemetry = new TelemetryRecorder(poses.size());
+
+		for (int i = 0; i < poses.size(); i++) {
+			Pose p = poses.get(i);
+			Point pt = p.getPoint();
+			int tick = telemetry.nextTick();
+
+			telemetry.x[tick] = pt.getX();
+			telemetry.y[tick] = pt.getY();
+			telemetry.columns[ROBOT_KEY.HEADING.ordinal()][tick] = p.getHeading();
+			telemetry.colors[tick] = p.getColor().getRGB();
+			telemetry.goalX[tick] = Double.NaN;
+			telemetry.goalY[tick] = Double.NaN;
+			telemetry.commands[tick] = -1;
+			telemetry.ticks[tick] = telemetry.elapsed++;
+		} //loop
+
+		return telemetry;
+	} //end fromPoses
+
+	/**
+	 * Check whether a key is stored as a number
+	 * @param key Key to check
+	 * @return True if the key has a numeric column, false if it is an object value
+	 */
+	public static boolean isNumeric(ROBOT_KEY key) {
+		switch (key) {
+			case POINT:
+			case COLOR:
+			case CURRENT_COMMAND:
+			case GOAL_POINT:
+			case STATE:
+				return false;
+
+			default:
+				return true;
+		} //switch
+	} //end isNumeric
+
+	//Recording
+
+	/**
+	 * Clear all recorded ticks, keeping the allocated columns
+	 */
+	public void clear() {
+		size = 0;
+		elapsed = 0;
+		commandNames.clear();
+		lastName = null;
+		lastNameIndex = -1;
+	} //end clear
+
+	/**
+	 * Drop every tick after a number of ticks
+	 * @param size Number of ticks to keep
+	 */
+	public void truncate(int size) {
+		if (size < 0 || size > this.size)
+			throw new IllegalArgumentException("Cannot truncate " + this.size + " ticks to " + size);
+		this.size = size;
+		this.elapsed = size == 0 ? 0 : ticks[size - 1] + 1;
+	} //end truncate
+
+	/**
+	 * Record the current state of the robot as the next tick
+	 * @param robot Robot to record
+	 */
+	public void record(Robot robot) {
+		record(robot, null);
+	} //end record
+
+	/**
+	 * Record the current state of the robot as the next tick, only filling some of the numeric columns
+	 * @param robot Robot to record
+	 * @param keys Numeric keys to fill indexed by key ordinal, the rest are NaN. Null to fill every key.
+	 */
+	public void record(Robot robot, boolean[] keys) {
+		int tick = nextTick();
+		ticks[tick] = elapsed++;
+		timeStep = robot.getTimeStep();
+
+		if (keys == null) {
+			//kinematics
+			columns[ROBOT_KEY.AVG_POS.ordinal()][tick] = robot.getAveragePos();
+			columns[ROBOT_KEY.LIN_VEL.ordinal()][tick] = robot.getLinearVel();
+			columns[ROBOT_KEY.ANG_VEL.ordinal()][tick] = robot.getAngularVel();
+			columns[ROBOT_KEY.HEADING.ordinal()][tick] = robot.getHeading();
+			columns[ROBOT_KEY.YAW.ordinal()][tick] = robot.getYaw();
+
+			//drive sides
+			columns[ROBOT_KEY.LEFT_POS.ordinal()][tick] = robot.getLeftPos();
+			columns[ROBOT_KEY.RIGHT_POS.ordinal()][tick] = robot.getRightPos();
+			columns[ROBOT_KEY.LEFT_VEL.ordinal()][tick] = robot.getLeftVel();
+			columns[ROBOT_KEY.RIGHT_VEL.ordinal()][tick] = robot.getRightVel();
+			columns[ROBOT_KEY.LEFT_ACC.ordinal()][tick] = robot.getLeftAcc();
+			columns[ROBOT_KEY.RIGHT_ACC.ordinal()][tick] = robot.getRightAcc();
+			columns[ROBOT_KEY.LIN_ACC.ordinal()][tick] = robot.getLinearAcc();
+			columns[ROBOT_KEY.ANG_ACC.ordinal()][tick] = robot.getAngularAcc();
+
+			//controllers
+			columns[ROBOT_KEY.LOOKAHEAD_DIST.ordinal()][tick] = robot.getLookahead();
+			columns[ROBOT_KEY.PID_OUTPUT.ordinal()][tick] = robot.getPIDOutput();
+
+		} else {
+			for (int k = 0; k < columns.length; k++) {
+				if (columns[k] != null)
+					columns[k][tick] = keys[k] ? getValue(robot, KEYS[k]) : Double.NaN;
+			} //loop
+		} //if
+
+		//pose and graphics
+		x[tick] = robot.getX();
+		y[tick] = robot.getY();
+		colors[tick] = robot.getColor().getRGB();
+		commands[tick] = commandIndex(robot.getCommandName());
+
+		Point goal = robot.getGoalPoint();
+		goalX[tick] = goal == null ? Double.NaN : goal.getX();
+		goalY[tick] = goal == null ? Double.NaN : goal.getY();
+	} //end record
+
+	/**
+	 * Count a tick that was simulated without recording it, so the times of later ticks stay right
+	 */
+	public void skip() {
+		elapsed++;
+	} //end skip
+
+	/**
+	 * Record the current state of the robot as the last tick, which was skipped
+	 * @param robot Robot to record, still in its state from the skipped tick
+	 * @param keys Numeric keys to fill indexed by key ordinal, the rest are NaN. Null to fill every key.
+	 */
+	public void recordSkipped(Robot robot, boolean[] keys) {
+		elapsed--;
+		record(robot, keys);
+	} //end recordSkipped
+
+	/**
+	 * Get the current value of a numeric key from a robot
+	 * @param robot Robot to read
+	 * @param key Numeric key to get
+	 * @return Value the key would be recorded as
+	 */
+	public static double getValue(Robot robot, ROBOT_KEY key) {
+		switch (key) {
+			case AVG_POS:
+				return robot.getAveragePos();
+			case LIN_VEL:
+				return robot.getLinearVel();
+			case ANG_VEL:
+				return robot.getAngularVel();
+			case HEADING:
+				return robot.getHeading();
+			case YAW:
+				return robot.getYaw();
+			case LEFT_POS:
+				return robot.getLeftPos();
+			case RIGHT_POS:
+				return robot.getRightPos();
+			case LEFT_VEL:
+				return robot.getLeftVel();
+			case RIGHT_VEL:
+				return robot.getRightVel();
+			case LEFT_ACC:
+				return robot.getLeftAcc();
+			case RIGHT_ACC:
+				return robot.getRightAcc();
+			case LIN_ACC:
+				return robot.getLinearAcc();
+			case ANG_ACC:
+				return robot.getAngularAcc();
+			case LOOKAHEAD_DIST:
+				return robot.getLookahead();
+			case PID_OUTPUT:
+				return robot.getPIDOutput();
+
+			default:
+				throw new IllegalArgumentException(key + " is not a numeric key");
+		} //switch
+	} //end getValue
+
+	/**
+	 * Append ticks recorded by another recorder
+	 * @param other Recorder to copy ticks from
+	 */
+	public void append(TelemetryRecorder other) {
+		int start = size;
+		int count = other.size;
+		ensureCapacity(size + count);
+
+		for (int k = 0; k < columns.length; k++) {
+			if (columns[k] != null)
+				System.arraycopy(other.columns[k], 0, columns[k], start, count);
+		} //loop
+		System.arraycopy(other.x, 0, x, start, count);
+		System.arraycopy(other.y, 0, y, start, count);
+		System.arraycopy(other.goalX, 0, goalX, start, count);
+		System.arraycopy(other.goalY, 0, goalY, start, count);
+		System.arraycopy(other.colors, 0, colors, start, count);
+
+		//other recorder's ticks continue from the ones simulated here
+		for (int i = 0; i < count; i++) {
+			ticks[start + i] = elapsed + other.ticks[i];
+		} //loop
+		elapsed += other.elapsed;
+		timeStep = other.timeStep;
+
+		//command indices refer to the other recorder's name table
+		for (int i = 0; i < count; i++) {
+			commands[start + i] = commandIndex(other.getCommandName(i));
+		} //loop
+
+		size += count;
+	} //end append
+
+	/**
+	 * Reserve the next tick, growing the columns if they are full
+	 * @return Index of the reserved tick
+	 */
+	private int nextTick() {
+		if (size == capacity)
+			ensureCapacity(size + 1);
+		return size++;
+	} //end nextTick
+
+	/**
+	 * Make sure the columns can hold a number of ticks
+	 * @param minCapacity Number of ticks needed
+	 */
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity <= capacity)
+			return;
+
+		//double to keep growth amortized
+		int newCapacity = Math.max(minCapacity, capacity * 2);
+
+		for (int k = 0; k < columns.length; k++) {
+			if (columns[k] != null)
+				columns[k] = Arrays.copyOf(columns[k], newCapacity);
+		} //loop
+		x = Arrays.copyOf(x, newCapacity);
+		y = Arrays.copyOf(y, newCapacity);
+		goalX = Arrays.copyOf(goalX, newCapacity);
+		goalY = Arrays.copyOf(goalY, newCapacity);
+		colors = Arrays.copyOf(colors, newCapacity);
+		commands = Arrays.copyOf(commands, newCapacity);
+		ticks = Arrays.copyOf(ticks, newCapacity);
+
+		capacity = newCapacity;
+	} //end ensureCapacity
+
+	/**
+	 * Get the index of a command name, adding it to the table if it is new
+	 * @param name Name of the command
+	 * @return Index in the name table, -1 if the name is null
+	 */
+	private int commandIndex(String name) {
+		if (name == null)
+			return -1;
+
+		//the name rarely changes between ticks
+		if (name.equals(lastName))
+			return lastNameIndex;
+
+		int index = commandNames.indexOf(name);
+		if (index < 0) {
+			commandNames.add(name);
+			index = commandNames.size() - 1;
+		} //if
+
+		lastName = name;
+		lastNameIndex = index;
+		return index;
+	} //end commandIndex
+
+	//Reading
+
+	/**
+	 * Get the number of ticks recorded
+	 * @return Number of ticks
+	 */
+	public int size() {
+		return size;
+	} //end size
+
+	/**
+	 * Get the number of ticks that fit before the columns grow
+	 * @return Number of ticks preallocated
+	 */
+	public int getCapacity() {
+		return capacity;
+	} //end getCapacity
+
+	/**
+	 * Get the time the robot had been simulated for when a tick was recorded
+	 * @param tick Index of the tick
+	 * @return Time in seconds at the end of the tick
+	 */
+	public double getTime(int tick) {
+		return (ticks[tick] + 1) * timeStep;
+	} //end getTime
+
+	/**
+	 * Get the time of every recorded tick, which are not evenly spaced when ticks are skipped
+	 * @return Array of the time of each tick in seconds
+	 */
+	public double[] getTimes() {
+		double[] times = new double[size];
+
+		for (int i = 0; i < size; i++) {
+			times[i] = (ticks[i] + 1) * timeStep;
+		} //loop
+
+		return times;
+	} //end getTimes
+
+	/**
+	 * Get the time simulated, including ticks that were skipped
+	 * @return Number of ticks simulated times the time step in seconds
+	 */
+	public double getElapsedTime() {
+		return elapsed * timeStep;
+	} //end getElapsedTime
+
+	/**
+	 * Check whether nothing has been recorded
+	 * @return True if there are no ticks
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	} //end isEmpty
+
+	/**
+	 * Get a numeric value at a tick
+	 * @param key Key of the value
+	 * @param tick Index of the tick
+	 * @return Value of the key at the tick
+	 */
+	public double get(ROBOT_KEY key, int tick) {
+		double[] column = columns[key.ordinal()];
+		if (column == null)
+			throw new IllegalArgumentException(key + " is not a numeric key");
+
+		return column[tick];
+	} //end get
+
+	/**
+	 * Copy the recorded values of a numeric key
+	 * @param key Key of the values
+	 * @return Array of the values at each tick
+	 */
+	public double[] getColumn(ROBOT_KEY key) {
+		double[] column = columns[key.ordinal()];
+		if (column == null)
+			throw new IllegalArgumentException(key + " is not a numeric key");
+
+		return Arrays.copyOf(column, size);
+	} //end getColumn
+
+	/**
+	 * Copy the values of a numeric key over a range of ticks, like the ticks of one command in a group
+	 * @param key Key of the values
+	 * @param from Index of the first tick
+	 * @param count Number of ticks
+	 * @return Array of the values at each tick in the range
+	 */
+	public double[] getColumn(ROBOT_KEY key, int from, int count) {
+		double[] column = columns[key.ordinal()];
+		if (column == null)
+			throw new IllegalArgumentException(key + " is not a numeric key");
+		if (from < 0 || count < 0 || from + count > size)
+			throw new IllegalArgumentException("Ticks " + from + " to " + (from + count) + " are not all recorded, " + size + " ticks");
+
+		return Arrays.copyOfRange(column, from, from + count);
+	} //end getColumn
+
+	/**
+	 * Get the x position at a tick
+	 * @param tick Index of the tick
+	 * @return X position in inches
+	 */
+	public double getX(int tick) {
+		return x[tick];
+	} //end getX
+
+	/**
+	 * Get the y position at a tick
+	 * @param tick Index of the tick
+	 * @return Y position in inches
+	 */
+	public double getY(int tick) {
+		return y[tick];
+	} //end getY
+
+	/**
+	 * Get the heading at a tick
+	 * @param tick Index of the tick
+	 * @return Heading in radians
+	 */
+	public double getHeading(int tick) {
+		return columns[ROBOT_KEY.HEADING.ordinal()][tick];
+	} //end getHeading
+
+	/**
+	 * Get the robot color at a tick
+	 * @param tick Index of the tick
+	 * @return RGB value of the color
+	 */
+	public int getColor(int tick) {
+		return colors[tick];
+	} //end getColor
+
+	/**
+	 * Check whether the robot had a goal point at a tick
+	 * @param tick Index of the tick
+	 * @return True if there was a goal point
+	 */
+	public boolean hasGoalPoint(int tick) {
+		return !Double.isNaN(goalX[tick]);
+	} //end hasGoalPoint
+
+	/**
+	 * Get the goal point x at a tick
+	 * @param tick Index of the tick
+	 * @return Goal x in inches, NaN if there was no goal point
+	 */
+	public double getGoalX(int tick) {
+		return goalX[tick];
+	} //end getGoalX
+
+	/**
+	 * Get the goal point y at a tick
+	 * @param tick Index of the tick
+	 * @return Goal y in inches, NaN if there was no goal point
+	 */
+	public double getGoalY(int tick) {
+		return goalY[tick];
+	} //end getGoalY
+
+	/**
+	 * Get the name of the command running at a tick
+	 * @param tick Index of the tick
+	 * @return Name of the command, null if there was none
+	 */
+	public String getCommandName(int tick) {
+		int index = commands[tick];
+		return index < 0 ? null : commandNames.get(index);
+	} //end getCommandName
+
+	/**
+	 * Get the pose at a tick (allocates, meant for graphics and tests)
+	 * @param tick Index of the tick
+	 * @return Pose of the robot at the tick
+	 */
+	public Pose getPose(int tick) {
+		return new Pose(new Point(x[tick], y[tick]), getHeading(tick), new Color(colors[tick]));
+	} //end getPose
+} //end TelemetryRecorder
@@ -0,0 +1,18 @@
+/**
+ * AnalyticProfile
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * A profile with a closed form, which can calculate its points when asked instead of storing them
+ */
+
+package model.motion;
+
+public interface AnalyticProfile {
+
+	/**
+	 * Calculate the point both sides follow at a time
+	 * @param time Time in the profile in seconds
+	 * @param out Array of at least three values to fill with position, velocity and acceleration
+	 */
+	public void calcPoint(double time, double[] out);
+} //end AnalyticProfile
@@ -0,0 +1,236 @@
+/**
+ * ArcLength
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Distance along a Bezier path and the t value at a distance, found by integrating its speed
+ */
+
+package model.motion;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class ArcLength implements Serializable {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	//Five point Gauss-Legendre nodes on [-1,1] and their weights
+	private static final double[] NODES = {-0.9061798459386640, -0.5384693101056831, 0,
+											0.5384693101056831, 0.9061798459386640};
+	private static final double[] WEIGHTS = {0.2369268850561891, 0.4786286704993665, 0.5688888888888889,
+											0.4786286704993665, 0.2369268850561891};
+	private static final int START_PANELS = 8; //panels the curve is split into before refining
+	private static final int MAX_DEPTH = 20; //times a panel can be halved
+	private static final int MAX_ITERATIONS = 50; //Newton steps before settling for the bracket
+
+	//Attributes
+	private BezierPath path; //curve to measure
+	private double tolerance; //allowed error in the total length in inches
+	private double[] tBreaks; //t value at the start of each panel, and 1 at the end
+	private double[] sBreaks; //distance along the curve at each t break in inches
+	private int numPanels; //number of panels the curve is split into
+
+	/**
+	 * Measure a path, splitting it into panels until each is integrated to within the tolerance
+	 * @param path Curve to measure
+	 * @param tolerance Allowed error in the total length in inches
+	 */
+	public ArcLength(BezierPath path, double tolerance) {
+		if (!(tolerance > 0))
+			throw new IllegalArgumentException("Tolerance must be positive, was " + tolerance);
+
+		//set attributes
+		this.path = path;
+		this.tolerance = tolerance;
+		this.tBreaks = new double[START_PANELS * 2 + 1];
+		this.sBreaks = new double[tBreaks.length];
+
+		//integrate every panel, halving the ones whose halves do not agree with them
+		for (int i = 0; i < START_PANELS; i++) {
+			double a = (double) i / START_PANELS;
+			double b = (double) (i + 1) / START_PANELS;
+			refine(a, b, integrate(a, b), tolerance / START_PANELS, 0);
+		} //loop
+
+		//close the last panel
+		tBreaks[numPanels] = 1;
+	} //end constructor
+
+	/**
+	 * Integrate the speed of the curve over an interval with one Gauss-Legendre panel
+	 * @param a Start of the interval
+	 * @param b End of the interval
+	 * @return Length of the curve between a and b in inches
+	 */
+	private double integrate(double a, double b) {
+		double half = (b - a) / 2;
+		double mid = (a + b) / 2;
+		double sum = 0;
+
+		for (int i = 0; i < NODES.length; i++) {
+			sum += WEIGHTS[i] * path.calcSpeed(mid + half * NODES[i]);
+		} //loop
+
+		return sum * half;
+	} //end integrate
+
+	/**
+	 * Add a panel, halving it until the halves agree with the whole to within the tolerance
+	 * @param a Start of the panel
+	 * @param b End of the panel
+	 * @param whole Length of the panel from one Gauss-Legendre panel
+	 * @param tol Allowed error for the panel in inches
+	 * @param depth Number of times the panel has been halved
+	 */
+	private void refine(double a, double b, double whole, double tol, int depth) {
+		double mid = (a + b) / 2;
+		double left = integrate(a, mid);
+		double right = integrate(mid, b);
+
+		if (Math.abs(left + right - whole) > tol && depth < MAX_DEPTH) {
+			refine(a, mid, left, tol / 2, depth + 1);
+			refine(mid, b, right, tol / 2, depth + 1);
+			return;
+		} //if
+
+		addPanel(a, left);
+		addPanel(mid, right);
+	} //end refine
+
+	/**
+	 * Append a panel to the break arrays
+	 * @param t Start of the panel
+	 * @param length Length of the panel in inches
+	 */
+	private void addPanel(double t, double length) {
+		//leave room for the closing break
+		if (numPanels + 1 >= tBreaks.length) {
+			tBreaks = Arrays.copyOf(tBreaks, tBreaks.length * 2);
+			sBreaks = Arrays.copyOf(sBreaks, sBreaks.length * 2);
+		} //if
+
+		tBreaks[numPanels] = t;
+		sBreaks[numPanels + 1] = sBreaks[numPanels] + length;
+		numPanels++;
+	} //end addPanel
+
+	/**
+	 * Get the length of the curve
+	 * @return Length from t = 0 to t = 1 in inches
+	 */
+	public double getLength() {
+		return sBreaks[numPanels];
+	} //end getLength
+
+	/**
+	 * Get the allowed error in the total length
+	 * @return Tolerance in inches
+	 */
+	public double getTolerance() {
+		return tolerance;
+	} //end getTolerance
+
+	/**
+	 * Get the number of panels the curve was split into
+	 * @return Number of panels, more where the speed of the curve changes quickly
+	 */
+	public int getNumPanels() {
+		return numPanels;
+	} //end getNumPanels
+
+	/**
+	 * Find the panel a t value falls in
+	 * @param t Parametric t value
+	 * @return Index of the panel
+	 */
+	private int panelAtT(double t) {
+		int lo = 0, hi = numPanels - 1;
+
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (tBreaks[mid] <= t) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			} //if
+		} //loop
+
+		return lo;
+	} //end panelAtT
+
+	/**
+	 * Find the panel a distance falls in
+	 * @param s Distance along the curve in inches
+	 * @return Index of the panel
+	 */
+	private int panelAtS(double s) {
+		int lo = 0, hi = numPanels - 1;
+
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (sBreaks[mid] <= s) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			} //if
+		} //loop
+
+		return lo;
+	} //end panelAtS
+
+	/**
+	 * Calculate the distance along the curve at a t value
+	 * @param t Parametric t value from 0 to 1 inclusive
+	 * @return Distance from the start of the curve in inches
+	 */
+	public double calcLength(double t) {
+		if (t <= 0)
+			return 0;
+		if (t >= 1)
+			return getLength();
+
+		int k = panelAtT(t);
+		return sBreaks[k] + integrate(tBreaks[k], t);
+	} //end calcLength
+
+	/**
+	 * Calculate the t value at a distance along the curve with Newton's method, kept within
+	 * the panel the distance falls in by bisection
+	 * @param s Distance from the start of the curve in inches
+	 * @return Parametric t value from 0 to 1 inclusive
+	 */
+	public double calcT(double s) {
+		if (s <= 0)
+			return 0;
+		if (s >= getLength())
+			return 1;
+
+		//bracket the root with the panel
+		int k = panelAtS(s);
+		double lo = tBreaks[k], hi = tBreaks[k + 1];
+		double sLo = sBreaks[k];
+
+		//start from where the distance would be if the speed were constant in the panel
+		double t = lo + (hi - lo) * (s - sLo) / (sBreaks[k + 1] - sLo);
+
+		for (int i = 0; i < MAX_ITERATIONS; i++) {
+			double error = sLo + integrate(lo, t) - s;
+			if (Math.abs(error) <= tolerance)
+				return t;
+
+			//shrink the bracket around the root
+			if (error > 0) {
+				hi = t;
+			} else {
+				lo = t;
+				sLo = s + error;
+			} //if
+
+			//Newton step, bisect if it leaves the bracket or the curve has stopped
+			double speed = path.calcSpeed(t);
+			double next = speed > 0 ? t - error / speed : Double.NaN;
+			t = next > lo && next < hi ? next : (lo + hi) / 2;
+		} //loop
+
+		return t;
+	} //end calcT
+} //end ArcLength
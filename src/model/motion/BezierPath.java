@@ -7,17 +7,26 @@
 
 package model.motion;
 
+import java.io.Serializable;
+
 import model.FieldPositioning;
 import model.Point;
 import util.FieldPoints;
 import util.Util;
 
-public class BezierPath {
+public class BezierPath implements Serializable {
 	//Constants
+	private static final long serialVersionUID = 1L;
 	public static final int HIGH_RES = 1000;
 	public static final int FAST_RES = 100;
-	private final double EPSILON = 1E-5;
 	private final double MAX_RADIUS = 1E6;
+	private final double MIN_SPEED_SQ = 1E-12; //squared derivative length below which the tangent is degenerate
+	
+	//Indices of the values filled by evaluate
+	public static final int X = 0;
+	public static final int Y = 1;
+	public static final int HEADING = 2;
+	public static final int CURVATURE = 3;
 	
 	//Attributes
 	//Configured
@@ -26,6 +35,9 @@ public class BezierPath {
 	
 	//Calculated
 	protected int numSegments; //number of segments curve is split up into
+	private double[] cx = new double[6], cy = new double[6]; //power basis coefficients, c[k] multiplies t^k
+	private double[] dx = new double[5], dy = new double[5]; //first derivative coefficients
+	private double[] ddx = new double[4], ddy = new double[4]; //second derivative coefficients
 	
 	/**
 	 * Create a quintic bezier path given an array of control points
@@ -36,6 +48,7 @@ public class BezierPath {
 	public BezierPath(Point[] controlPts) {
 		//set attributes
 		this.controlPts = controlPts;
+		updateCoefficients();
 	} //end constructor
 	
 	/**
@@ -73,6 +86,7 @@ public class BezierPath {
 	 */
 	public void setControlPoints(Point[] points) {
 		this.controlPts = points;
+		updateCoefficients();
 	} //end setControlPoints
 	
 	/**
@@ -88,55 +102,173 @@ public class BezierPath {
 		} else if (key.charAt(0) == 'y') {
 			this.controlPts[pointIndex].setY(value);
 		} //if
+		updateCoefficients();
 	} //end setCoordinate
+	
+	/**
+	 * Recalculate the polynomial coefficients from the control points, must be called after
+	 * a control point is moved directly
+	 */
+	public void updateCoefficients() {
+		//forward differences of the control points, the kth difference of P0 times 5Ck is the t^k coefficient
+		double[] diffX = new double[6];
+		double[] diffY = new double[6];
+		for (int i = 0; i <= 5; i++) {
+			diffX[i] = controlPts[i].getX();
+			diffY[i] = controlPts[i].getY();
+		} //loop
 		
+		for (int k = 0; k <= 5; k++) {
+			cx[k] = Util.FIVENOMIAL_CONSTANTS[k] * diffX[0];
+			cy[k] = Util.FIVENOMIAL_CONSTANTS[k] * diffY[0];
+			
+			for (int i = 0; i < 5 - k; i++) {
+				diffX[i] = diffX[i+1] - diffX[i];
+				diffY[i] = diffY[i+1] - diffY[i];
+			} //loop
+		} //loop
+		
+		//differentiate the polynomials term by term
+		for (int k = 0; k < 5; k++) {
+			dx[k] = (k + 1) * cx[k+1];
+			dy[k] = (k + 1) * cy[k+1];
+		} //loop
+		for (int k = 0; k < 4; k++) {
+			ddx[k] = (k + 1) * dx[k+1];
+			ddy[k] = (k + 1) * dy[k+1];
+		} //loop
+	} //end updateCoefficients
+	
+	/**
+	 * Evaluate a polynomial with Horner's rule
+	 * @param c Coefficients, c[k] multiplies t^k
+	 * @param t Value to evaluate at
+	 * @return Value of the polynomial at t
+	 */
+	private static double horner(double[] c, double t) {
+		double sum = c[c.length - 1];
+		for (int k = c.length - 2; k >= 0; k--) {
+			sum = sum * t + c[k];
+		} //loop
+		return sum;
+	} //end horner
+	
 	/**
 	 * Calculate the (x,y) point value for a given t
 	 * @param t Parametric t value of the curve from 0 to 1 inclusive
 	 * @return (x,y) point value for t
 	 */
 	public Point calcPoint(double t) {
-		//running sums
-		double sum = 0, sumX = 0, sumY = 0;
-		
-		//loop through and get contribution from each control point
-		for (int i = 0; i <= 5; i++) {
-			sum = Util.FIVENOMIAL_CONSTANTS[i] * Math.pow(1 - t, 5 - i) * Math.pow(t, i);
-			sumX += controlPts[i].getX() * sum;
-			sumY += controlPts[i].getY() * sum;
-		} //loop
-		
-		return new Point(sumX, sumY);
+		return new Point(horner(cx, t), horner(cy, t));
 	} //end calcPoint
 	
+	/**
+	 * Calculate how fast the curve moves along its length at a given t
+	 * @param t Parametric t value of the curve from 0 to 1 inclusive
+	 * @return Length of the first derivative in inches per unit t
+	 */
+	public double calcSpeed(double t) {
+		double vx = horner(dx, t), vy = horner(dy, t);
+		return Math.sqrt(vx * vx + vy * vy);
+	} //end calcSpeed
 	
 	/**
-	 * Calculate the curvature at a given t
-	 * @param t Parametric t value to calculate the curvature
-	 * @return curvature at the t value
+	 * Calculate the position, heading and curvature at a given t without creating any objects
+	 * @param t Parametric t value of the curve from 0 to 1 inclusive
+	 * @param out Array of at least four values to fill, indexed by X, Y, HEADING (degrees) and
+	 * CURVATURE (change in heading per inch in radians, positive when the heading increases)
 	 */
-	public double calcRadius(double t) {
-		//normalize t value
-		t = t <= EPSILON ? EPSILON : t >= (1 - EPSILON) ? 1 - EPSILON : t;
+	public void evaluate(double t, double[] out) {
+		//position
+		out[X] = horner(cx, t);
+		out[Y] = horner(cy, t);
 		
-		//three points for triangle
-		Point p1 = calcPoint(t - EPSILON);
-		Point p2 = calcPoint(t + EPSILON);
-		Point p3 = calcPoint(t);
+		//first and second derivatives
+		double vx = horner(dx, t), vy = horner(dy, t);
+		double ax = horner(ddx, t), ay = horner(ddy, t);
+		double speedSq = vx * vx + vy * vy;
 		
-		//three triangle side lengths
-		double a = FieldPositioning.dist(p1, p2);
-		double b = FieldPositioning.dist(p2, p3);
-		double c = FieldPositioning.dist(p1, p3);
+		if (speedSq < MIN_SPEED_SQ) {
+			/*
+			 * A control point on top of its neighbour stops the curve at the end it belongs to. The
+			 * tangent there points along the second derivative, backwards when arriving at the end.
+			 */
+			double sign = t < 0.5 ? 1 : -1;
+			out[HEADING] = Math.toDegrees(Math.atan2(sign * ax, sign * ay));
+			out[CURVATURE] = 0;
+			return;
+		} //if
+		
+		//heading measured like goalYaw, curvature is the change in heading per unit arclength
+		out[HEADING] = Math.toDegrees(Math.atan2(vx, vy));
+		out[CURVATURE] = (vy * ax - vx * ay) / (speedSq * Math.sqrt(speedSq));
+	} //end evaluate
+	
+	/**
+	 * Sample the curve at evenly spaced t values, filling only the arrays that are given
+	 * @param t0 First t value
+	 * @param t1 Last t value, sampled when there is more than one sample
+	 * @param n Number of samples, each array given must hold at least this many
+	 * @param xs X values to fill, null to skip
+	 * @param ys Y values to fill, null to skip
+	 * @param headings Headings in degrees to fill, null to skip
+	 * @param curvatures Curvatures in radians per inch to fill, null to skip
+	 */
+	public void sample(double t0, double t1, int n, double[] xs, double[] ys, double[] headings, double[] curvatures) {
+		if (n < 1)
+			throw new IllegalArgumentException("Need at least one sample, was " + n);
+		
+		double step = n == 1 ? 0 : (t1 - t0) / (n - 1);
 		
-		//Heron's formula for area
-		double s = (a + b + c) / 2;
-		double k = Math.sqrt(s * (s - a) * (s - b) * (s - c));
+		//position only, Horner's rule for each t keeps the rounding error from adding up like forward differencing
+		if (headings == null && curvatures == null) {
+			for (int i = 0; i < n; i++) {
+				double t = t0 + i * step;
+				if (xs != null) xs[i] = horner(cx, t);
+				if (ys != null) ys[i] = horner(cy, t);
+			} //loop
+			return;
+		} //if
 		
-		//radius based on triangle formed by three points on curve
-		double rad = (a * b * c) / (4 * k);
-		return Util.clampNum(rad, -MAX_RADIUS, MAX_RADIUS);
-	} //end calcCurvature
+		double[] eval = new double[4];
+		for (int i = 0; i < n; i++) {
+			evaluate(t0 + i * step, eval);
+			if (xs != null) xs[i] = eval[X];
+			if (ys != null) ys[i] = eval[Y];
+			if (headings != null) headings[i] = eval[HEADING];
+			if (curvatures != null) curvatures[i] = eval[CURVATURE];
+		} //loop
+	} //end sample
+	
+	/**
+	 * Calculate the radius of the curve at a given t
+	 * @param t Parametric t value to calculate the radius at
+	 * @return Radius at the t value in inches, MAX_RADIUS for straight sections
+	 */
+	public double calcRadius(double t) {
+		return calcRadius(t, new double[4]);
+	} //end calcRadius
+	
+	/**
+	 * Calculate the radius of the curve at a given t without allocating, for loops over many t values
+	 * @param t Parametric t value to calculate the radius at
+	 * @param eval Array of at least four values to evaluate the curve into
+	 * @return Radius at the t value in inches, MAX_RADIUS for straight sections
+	 */
+	public double calcRadius(double t, double[] eval) {
+		evaluate(t, eval);
+		return radius(eval[CURVATURE]);
+	} //end calcRadius
+	
+	/**
+	 * Convert a curvature into a radius
+	 * @param curvature Curvature in radians per inch, either sign
+	 * @return Radius in inches, MAX_RADIUS for straight sections
+	 */
+	public double radius(double curvature) {
+		double k = Math.abs(curvature);
+		return k * MAX_RADIUS <= 1 ? MAX_RADIUS : 1 / k;
+	} //end radius
 	
 	//Heading
 	
@@ -146,13 +278,19 @@ public class BezierPath {
 	 * @return Heading at t in degrees
 	 */
 	public double calcHeading(double t) {
-		if (t <= EPSILON) {
-			return FieldPositioning.goalYaw(calcPoint(EPSILON), calcPoint(0)) - 180;
-		} else if (t >= 1 - EPSILON) {
-			return FieldPositioning.goalYaw(calcPoint(1 - EPSILON), calcPoint(1));
-		} //if
-		return FieldPositioning.goalYaw(calcPoint(t - EPSILON), calcPoint(t + EPSILON));
-	} //end getHeading
+		return calcHeading(t, new double[4]);
+	} //end calcHeading
+	
+	/**
+	 * Calculate the heading at the curve of a given t value without allocating, for loops over many t values
+	 * @param t Parametric t value of the curve
+	 * @param eval Array of at least four values to evaluate the curve into
+	 * @return Heading at t in degrees
+	 */
+	public double calcHeading(double t, double[] eval) {
+		evaluate(t, eval);
+		return eval[HEADING];
+	} //end calcHeading
 	
 	/**
 	 * Get the initial heading of the path
@@ -3,15 +3,17 @@ package model.motion;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.Arrays;
 
 import model.FieldPositioning;
 import model.Point;
 import model.Pose;
+import model.motion.TrajectoryStore.STORAGE;
 import util.Util;
 
 public class BezierProfile extends DriveProfile {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
 	private BezierPath path; //path to follow
 	private double trackWidth; //width of the robot wheelbase in inches
@@ -19,12 +21,20 @@ public class BezierProfile extends DriveProfile {
 	private double maxAcc; //maximum acceleration robot can reach in in/s^2
 	private double maxDec; //maximum deceleration robot can reach in in/s^2
 	
-	private final int SIZE = 500;; //number of pieces the path is split into
-	private final double STEP = 1.0 / SIZE; //inverse of size
+	private double velTolerance; //largest change in velocity allowed between points in in/s
+	
+	private final double LENGTH_TOLERANCE = 1E-6; //allowed error in the arclength in inches
+	public static final double POSITION_TOLERANCE = 0.05; //furthest the curve can stray from the line between points in inches
+	private final double MAX_SPACING = 6; //distance between points before refining in inches
+	private final double MIN_SPACING = 1E-3; //distance between points below which they are not split in inches
+	private final int MAX_REFINEMENTS = 30; //times the points can be split
+	public static final double DEFAULT_VEL_TOLERANCE = 2; //velocity tolerance in in/s
 	
+	private ArcLength arcLength; //distance along the path and the t value at a distance
 	private double totalLength; //arclength of the entire path in inches
-	private double[] tVals; //t values for the points evenly spaced along the path
-	private Point[] evenPoints; //list of points in the path evenly spaced by distance
+	private double[] dists; //distance along the path at each point in inches
+	private double[] tVals; //t values for the points along the path
+	private Point[] evenPoints; //list of points in the path, closer together where the velocity changes quickly
 	
 	private double[] centerRadius; //radius the center of the robot drives at in inches
 	private double[] centerVel; //center velocity of the robot in inches per second
@@ -34,15 +44,9 @@ public class BezierProfile extends DriveProfile {
 	private double[] rightRadius; //radius of right side of path in inches
 	
 	private double[] times; //time at each point in curve
-	private double[] leftVel; //left wheel velocities in inches per second
-	private double[] rightVel; //right wheel velocities in inches per second
-	private double[] leftPos; //left wheel position in inches
-	private double[] rightPos; //right wheel position in inches
-	private double[] leftAcc; //left wheel acceleration in in/s^2
-	private double[] rightAcc; //right wheel acceleration in in/s^2
+	private TimeSampler sampler; //finds the points around a time
 	
-	private Pose[] poses;
-	private double[] omega;
+	private double[] omega; //angular velocity over the gap before each point in radians per second
 	
 	/**
 	 * Create a profile to follow a Bezier curve while respecting kinematic robot constraints
@@ -51,20 +55,41 @@ public class BezierProfile extends DriveProfile {
 	 * @param maxVel Maximum reachable robot velocity in in/s
 	 * @param maxAcc Maximum reachable robot acceleration in in/s^2
 	 * @param maxDec Maximum reachable robot deceleration in in/s^2
+	 * @param velTolerance Largest change in velocity between points in in/s, smaller values give more points
 	 */
-	public BezierProfile(Point[] controlPts, double trackWidth, double maxVel, double maxAcc, double maxDec) {
+	public BezierProfile(Point[] controlPts, double trackWidth, double maxVel, double maxAcc, double maxDec, double velTolerance) {
+		this(controlPts, trackWidth, maxVel, maxAcc, maxDec, velTolerance, STORAGE.DOUBLE);
+	} //end constructor
+	
+	/**
+	 * Create a profile to follow a Bezier curve while respecting kinematic robot constraints
+	 * @param controlPts Control points of the Bezier curve
+	 * @param trackWidth Width of the robot wheelbase in inches
+	 * @param maxVel Maximum reachable robot velocity in in/s
+	 * @param maxAcc Maximum reachable robot acceleration in in/s^2
+	 * @param maxDec Maximum reachable robot deceleration in in/s^2
+	 * @param velTolerance Largest change in velocity between points in in/s, smaller values give more points
+	 * @param storage How the points are kept, FLOAT for large batches of profiles (the curve has no closed
+	 * form, so ANALYTIC keeps doubles)
+	 */
+	public BezierProfile(Point[] controlPts, double trackWidth, double maxVel, double maxAcc, double maxDec, 
+						double velTolerance, STORAGE storage) {
+		super(storage);
+		if (!(velTolerance > 0))
+			throw new IllegalArgumentException("Velocity tolerance must be positive, was " + velTolerance);
+		
 		//set attributes
 		path = new BezierPath(controlPts);
 		this.trackWidth = trackWidth;
 		this.maxVel = maxVel;
 		this.maxAcc = maxAcc;
 		this.maxDec = maxDec;
-		this.size = SIZE;
+		this.velTolerance = velTolerance;
 		
 		//create profile
 		computeConstants();
 		fillProfiles();
-		fillPoses();
+		fillOmega();
 	} //end constructor
 	
 	/**
@@ -76,7 +101,19 @@ public class BezierProfile extends DriveProfile {
 	 * @param maxDec Maximum reachable robot deceleration in in/s^2
 	 */
 	public BezierProfile(double[][] controlPts, double trackWidth, double maxVel, double maxAcc, double maxDec) {
-		this(FieldPositioning.pointsFromDoubles(controlPts), trackWidth, maxVel, maxAcc, maxDec);
+		this(FieldPositioning.pointsFromDoubles(controlPts), trackWidth, maxVel, maxAcc, maxDec, DEFAULT_VEL_TOLERANCE);
+	} //end constructor
+	
+	/**
+	 * Create a profile to follow a Bezier curve while respecting kinematic robot constraints
+	 * @param controlPts Control points of the Bezier curve
+	 * @param trackWidth Width of the robot wheelbase in inches
+	 * @param maxVel Maximum reachable robot velocity in in/s
+	 * @param maxAcc Maximum reachable robot acceleration in in/s^2
+	 * @param maxDec Maximum reachable robot deceleration in in/s^2
+	 */
+	public BezierProfile(Point[] controlPts, double trackWidth, double maxVel, double maxAcc, double maxDec) {
+		this(controlPts, trackWidth, maxVel, maxAcc, maxDec, DEFAULT_VEL_TOLERANCE);
 	} //end constructor
 
 	/**
@@ -84,21 +121,43 @@ public class BezierProfile extends DriveProfile {
 	 */
 	protected void computeConstants() {
 		/*
-		 * Create a list of points with even t value spacing. This is later used to split the
-		 * curve up into segments of equal length.
+		 * Measure the curve by integrating its speed. This is later used to split the
+		 * curve up by distance.
 		 */
-		double[] tDistances = parameterizeByT();
-		this.totalLength = tDistances[tDistances.length - 1]; //last distance is length of curve
-		//t value is index/size, tDistances[index] is distance along path at that t value
+		this.arcLength = new ArcLength(path, LENGTH_TOLERANCE);
+		this.totalLength = arcLength.getLength();
 		
 		/*
-		 * Create the evenly spaced points list by linearly interpolating between the points based on the
-		 * distance along the curve. The curve radius (inverse of curvature) and heading (degrees) is
-		 * also calculated at this point.
+		 * Start with points evenly spaced along the curve by finding the t value at each
+		 * distance, then constrain the velocity at each point.
+		 */
+		parameterizeByD();
+		constrainVelocities();
+		
+		/*
+		 * Split the gaps the velocity or curvature changes too much over and constrain the
+		 * velocities again, until every gap is within the tolerances.
+		 */
+		for (int i = 0; i < MAX_REFINEMENTS && refineSpacing(); i++) {
+			constrainVelocities();
+		} //loop
+		
+		//points at the final t values
+		evenPoints = new Point[size];
+		evenPoints[0] = path.getControlPoints()[0];
+		for (int i = 1; i < size; i++) {
+			evenPoints[i] = path.calcPoint(tVals[i]);
+		} //loop
+	} //end computeConstants
+	
+	/**
+	 * Calculate the radius, heading and center velocity at each point
+	 */
+	private void constrainVelocities() {
+		/*
+		 * The curve radius (inverse of curvature) and heading (degrees) at each point.
 		 */
-		parameterizeByD(tDistances);
-		calcRadii();
-		calcHeadings();
+		calcRadiiAndHeadings();
 		
 		/*
 		 * Constrain the center velocity of the robot by the path's curvature. 
@@ -116,107 +175,127 @@ public class BezierProfile extends DriveProfile {
 		 * of the center velocity list.
 		 */
 		applyDecelerationConstraint();
-	} //end computeConstants
+	} //end constrainVelocities
 	
 	/**
-	 * Split the curve up with evenly spaced t values
-	 * @return Distance along the curve at each t value
+	 * Split the path into points evenly spaced by distance, no more than MAX_SPACING apart
 	 */
-	private double[] parameterizeByT() {
-		double t = 0; //parametric value
-		double dist = 0; 
-		double[] distances = new double[SIZE];
-		
-		distances[0] = 0; //start with zero distance
-		
-		for (int i = 1; i < SIZE; i++) {
-			//cumulatively sum the distance
-			dist += FieldPositioning.dist(path.calcPoint(t), path.calcPoint(t - STEP));
-			distances[i] = dist;
-			
-			t += 1.0 / SIZE;
+	private void parameterizeByD() {
+		size = Math.max(2, (int) Math.ceil(totalLength / MAX_SPACING) + 1);
+		double distStep = this.totalLength / (size - 1);
+				
+		//initialize the distance and t values arrays, ending at the end of the curve
+		dists = new double[size];
+		tVals = new double[size];
+		
+		for (int i = 1; i < size; i++) {
+			//t value the distance is reached at
+			dists[i] = i * distStep;
+			tVals[i] = arcLength.calcT(dists[i]);
 		} //loop
-		
-		return distances;
-	} //end parameterizeByT
-
+	} //end paramaterizeByD
+	
 	/**
-	 * Parameterize the curve by distance values
-	 * @param tDistances Distance values from t parameterization
-	 * @return Array of t values parameterized by distance
+	 * Add a point halfway along each gap between points that the velocity changes too much over
+	 * or that the curve strays too far from a straight line over
+	 * @return Whether any points were added
 	 */
-	private void parameterizeByD(double[] tDistances) {
-		double dist = 0;
-		double distStep = this.totalLength / SIZE;
-				
-		//initialize the t values array
-		tVals = new double[SIZE];
-		tVals[0] = 0;
-		
-		//initialize the points array
-		this.evenPoints = new Point[SIZE];
-		this.evenPoints[0] = path.getControlPoints()[0];
-		
-		for (int i = 1; i < SIZE; i++) {
-			dist += distStep; //increase the distance
+	private boolean refineSpacing() {
+		boolean[] split = new boolean[size - 1];
+		int added = 0;
+		
+		for (int i = 0; i < size - 1; i++) {
+			double ds = dists[i+1] - dists[i];
+			if (ds < 2 * MIN_SPACING)
+				continue;
 			
-			//index of the distance in tDistances just below dist (bottom of the sandwich)
-			int k = Util.findSandwichedElements(tDistances, dist, 1E-3)[0];
+			//change in velocity, and in velocity allowed by the curvature which sets the wheel speed difference
+			boolean velChange = Math.abs(centerVel[i+1] - centerVel[i]) > velTolerance;
+			boolean curveChange = Math.abs(curvatureVel(centerRadius[i+1]) - curvatureVel(centerRadius[i])) > velTolerance;
 			
-			//linear interpolation
-			double t2 = (k+1) * STEP;
-			double t1 = k * STEP;
-			double d2 = tDistances[k+1];
-			double d1 = tDistances[k];
+			//distance from the middle of an arc to its chord
+			double curvature = 1 / Math.min(centerRadius[i], centerRadius[i+1]);
+			boolean stray = curvature * ds * ds / 8 > POSITION_TOLERANCE;
 			
-			//add the point at the interpolated t value to the curve
-			tVals[i] = Util.interpolate(dist, t1, d1, t2, d2);
-			evenPoints[i] = path.calcPoint(tVals[i]);
+			if (velChange || curveChange || stray) {
+				split[i] = true;
+				added++;
+			} //if
 		} //loop
-	} //end paramaterizeByD
+		
+		if (added == 0)
+			return false;
+		
+		//copy the points over, with new ones in the split gaps
+		double[] newDists = new double[size + added];
+		double[] newTVals = new double[size + added];
+		int j = 0;
+		
+		for (int i = 0; i < size; i++) {
+			newDists[j] = dists[i];
+			newTVals[j] = tVals[i];
+			j++;
+			
+			if (i < size - 1 && split[i]) {
+				newDists[j] = (dists[i] + dists[i+1]) / 2;
+				newTVals[j] = arcLength.calcT(newDists[j]);
+				j++;
+			} //if
+		} //loop
+		
+		dists = newDists;
+		tVals = newTVals;
+		size += added;
+		return true;
+	} //end refineSpacing
+	
+	/**
+	 * Calculate the fastest the center can drive around a radius without the outer wheel going over the top speed
+	 * @param radius Radius of the path in inches
+	 * @return Center velocity in in/s
+	 */
+	private double curvatureVel(double radius) {
+		return (maxVel * radius) / (radius + trackWidth / 2);
+	} //end curvatureVel
 	
 	/**
 	 * Apply the curvature constraint to the robot's center velocity
 	 */
 	private void applyCurvatureConstraint() {
 		//initialize the center velocity list
-		centerVel = new double[SIZE];
+		centerVel = new double[size];
 		
 		//fill the center velocities
-		for (int i = 0; i < SIZE; i++) {
-			centerVel[i] = (maxVel * centerRadius[i]) / (centerRadius[i] + trackWidth / 2);
+		for (int i = 0; i < size; i++) {
+			centerVel[i] = curvatureVel(centerRadius[i]);
 		} //loop
 	} //end applyCurvatureConstraint
 	
 	/**
-	 * Calculate the center radius along the spline
+	 * Calculate the center radius and heading along the spline from the derivatives of the curve
 	 */
-	private void calcRadii() {
-		/*
-		 * Potentially refactor this to the calculus method
-		 * dx, dy, ddx, ddy
-		 * Use 1 / curvature formula
-		 */
-		centerRadius = new double[SIZE];
-		
-		for (int i = 0; i < centerRadius.length; i++) {
-			//radius is inverse of curvature
-			centerRadius[i] = path.calcRadius(tVals[i]);
-		} //loop		
-	} //end calcRadii
+	private void calcRadiiAndHeadings() {
+		centerRadius = new double[size];
+		headings = new double[size];
+		double[] eval = new double[4]; //position, heading and curvature at a t value
+		
+		for (int i = 0; i < size; i++) {
+			path.evaluate(tVals[i], eval);
+			centerRadius[i] = path.radius(eval[BezierPath.CURVATURE]);
+			headings[i] = eval[BezierPath.HEADING];
+		} //loop
+	} //end calcRadiiAndHeadings
 	
 	/**
 	 * Constrain the center velocity with the maximum acceleration value
 	 */
 	private void applyAccelerationConstraint() {
-		//distance between points
-		double distStep = this.totalLength / SIZE;
-		
 		//start at initial speed of zero
 		centerVel[0] = 0;
 		
 		//calculate the new center velocity at each point, skipping the first one
 		for (int i = 1; i < centerVel.length; i++) {
+			double distStep = dists[i] - dists[i-1]; //distance between points
 			double velFromAcc = Math.sqrt(Math.pow(centerVel[i-1], 2) + 2 * maxAcc * distStep); //sqrt(v^2 + 2ad)
 			centerVel[i] = Math.min(velFromAcc, centerVel[i]); //minimum of this new constraint and old value
 		} //loop
@@ -226,14 +305,12 @@ public class BezierProfile extends DriveProfile {
 	 * Constrain the center velocity with the maximum deceleration value
 	 */
 	private void applyDecelerationConstraint() {
-		//distance between points
-		double distStep = this.totalLength / SIZE;
-		
 		//start at final speed of zero
 		centerVel[centerVel.length - 1] = 0;
 		
 		//calculate the new center velocity looping backwards, skipping the first one
-		for (int i = SIZE - 2; i >= 0; i--) {
+		for (int i = size - 2; i >= 0; i--) {
+			double distStep = dists[i+1] - dists[i]; //distance between points
 			double velFromAcc = Math.sqrt(Math.pow(centerVel[i+1], 2) + 2 * maxDec * distStep); //sqrt(v^2 + 2ad)
 			centerVel[i] = Math.min(velFromAcc, centerVel[i]); //minimum of this new constraint and old value
 		} //loop
@@ -246,57 +323,55 @@ public class BezierProfile extends DriveProfile {
 		//calculate outer radii for left and right velocity offsetting
 		calcOuterRadii();
 		
-		//calculate left and right velocities
-		calcWheelVelocities();
-		
 		//calculate the time at each step of the trajectory
 		fillTimes();
 		
-		//calculate left and right wheel positions
-		calcWheelPositions();
+		//calculate left and right velocities
+		double[] leftVel = calcWheelVelocities(leftRadius);
+		double[] rightVel = calcWheelVelocities(rightRadius);
 		
-		//calculate left and right wheel accelerations
-		calcWheelAccelerations();
+		//fill the trajectory points, summing the velocities for the positions and differencing them for the accelerations
+		this.trajectory = newTrajectory(size);
+		double leftPos = 0;
+		double rightPos = 0;
 		
-		//fill the left and right side trajectory points (just velocity setpoints)
-		for (int i = 0; i < SIZE; i++) {
-			this.leftProfile.add(new double[] {leftPos[i], leftVel[i] / 12, leftAcc[i]});
-			this.rightProfile.add(new double[] {rightPos[i], rightVel[i] / 12, rightAcc[i]});
+		for (int i = 0; i < size; i++) {
+			double leftAcc = 0;
+			double rightAcc = 0;
+			
+			if (i > 0) {
+				double dt = times[i] - times[i-1];
+				leftPos += leftVel[i] * dt;
+				rightPos += rightVel[i] * dt;
+				leftAcc = (leftVel[i] - leftVel[i-1]) / dt;
+				rightAcc = (rightVel[i] - rightVel[i-1]) / dt;
+			} //if
+			
+			trajectory.add(leftPos, leftVel[i] / 12, leftAcc, rightPos, rightVel[i] / 12, rightAcc);
+			trajectory.set(TrajectoryStore.HEADING, i, headings[i]);
 		} //loop
 	} //end fillProfiles
 	
-	public void fillPoses() {
-		fillTimes();
-		
-		poses = new Pose[SIZE];
-		poses[0] = new Pose(path.getControlPoints()[0], Math.toRadians(path.getInitialHeading()));
-		
-		omega = new double[SIZE];
-		omega[0] = 0;
-		
-		for (int i = 1; i < poses.length; i++) {
-			omega[i] = Math.toRadians(headings[i] - headings[i-1]) / Util.UPDATE_PERIOD;
-			poses[i] = new Pose(evenPoints[i], headings[i]);
-		}
-	}
-	
 	/**
-	 * Fill the array of headings for the robot to follow
+	 * Calculate the angular velocity at each point from the change in heading since the last one
 	 */
-	private void calcHeadings() {
-		//first calc 
-		headings = new double[SIZE];
+	private void fillOmega() {
+		omega = new double[size];
+		omega[0] = 0;
 		
-		for (int i = 0; i < headings.length; i++)
-			headings[i] = path.calcHeading(tVals[i]);
-	} //end calcHeadings
+		for (int i = 1; i < size; i++) {
+			double dt = times[i] - times[i-1]; //points are not evenly spaced in time
+			double dHeading = FieldPositioning.angleWrapDeg(headings[i] - headings[i-1]); //short way around at 180
+			omega[i] = dt == 0 ? 0 : Math.toRadians(dHeading) / dt;
+		} //loop
+	} //end fillOmega
 	
 	/**
 	 * Represent the change in heading as an int (1 if negative, -1 if positive, 0 if none)
 	 * @return Array of values for deciding which wheel is outer
 	 */
 	private int[] calcDeltaHeadings() {
-		int[] dTheta = new int[SIZE];
+		int[] dTheta = new int[size];
 		
 		dTheta[0] = 0; //no change at first point
 		
@@ -314,10 +389,10 @@ public class BezierProfile extends DriveProfile {
 	private void calcOuterRadii() {
 		int[] dTheta = calcDeltaHeadings();
 		double offset = trackWidth / 2;
-		leftRadius = new double[SIZE];
-		rightRadius = new double[SIZE];
+		leftRadius = new double[size];
+		rightRadius = new double[size];
 		
-		for (int i = 0; i < SIZE; i++) {
+		for (int i = 0; i < size; i++) {
 			if (dTheta[i] == 1) { //turning right, left is outer
 				leftRadius[i] = centerRadius[i] + offset;
 				rightRadius[i] = centerRadius[i] - offset;
@@ -334,166 +409,199 @@ public class BezierProfile extends DriveProfile {
 	} //end calcOuterRadii
 	
 	/**
-	 * Calculate the wheel velocities in inches per second
+	 * Calculate the velocities of one wheel
+	 * @param radius Radius the wheel drives at at each point in inches
+	 * @return Wheel velocity at each point in inches per second
 	 */
-	private void calcWheelVelocities() {
-		leftVel = new double[SIZE];
-		rightVel = new double[SIZE];
+	private double[] calcWheelVelocities(double[] radius) {
+		double[] vel = new double[size];
 		
-		for (int i = 0; i < SIZE; i++) {
-			leftVel[i] = (centerVel[i] / centerRadius[i]) * leftRadius[i];
-			rightVel[i] = (centerVel[i] / centerRadius[i]) * rightRadius[i];
+		for (int i = 0; i < size; i++) {
+			vel[i] = (centerVel[i] / centerRadius[i]) * radius[i];
 		} //loop
+		
+		return vel;
 	} //end calcWheelVelocities
 	
 	/**
 	 * Calculate the time at each step and set the total time
 	 */
 	private void fillTimes() {
-		times = new double[SIZE];
-		double distStep = this.totalLength / SIZE;
+		times = new double[size];
 		double time = 0;
 		times[0] = 0;
 		
 		for (int i = 1; i < times.length; i++) {
-			time += centerVel[i] == 0 ? 0 : distStep / centerVel[i]; //don't step forward in time if not moving
+			//average velocity over the gap, exact for constant acceleration
+			double vel = (centerVel[i-1] + centerVel[i]) / 2;
+			time += vel == 0 ? 0 : (dists[i] - dists[i-1]) / vel; //don't step forward in time if not moving
 			times[i] = time;
 		} //loop
 		
 		this.totalTime = time;
+		this.sampler = new TimeSampler(times);
 	} //end fillTimes
 	
-	/**
-	 * Calculate the wheel positions in inches
-	 */
-	private void calcWheelPositions() {
-		leftPos = new double[SIZE];
-		rightPos = new double[SIZE];
-		double left = 0;
-		double right = 0;
-		
-		leftPos[0] = 0;
-		rightPos[0] = 0;
-		
-		for (int i = 1; i < SIZE; i++) {
-			double dt = times[i] - times[i-1];
-			left += leftVel[i] * dt;
-			leftPos[i] = left;
-			
-			right += rightVel[i] * dt;
-			rightPos[i] = right;
-		} //loop
-	} //end calcWheelPositions
-	
-	/**
-	 * Calculate the wheel accelerations in in/s^2
-	 */
-	public void calcWheelAccelerations() {
-		leftAcc = new double[SIZE];
-		rightAcc = new double[SIZE];
-		
-		leftAcc[0] = 0;
-		rightAcc[0] = 0;
-		
-		for (int i = 1; i < SIZE; i++) {
-			double dt = times[i] - times[i-1];
-			leftAcc[i] = (leftVel[i] - leftVel[i-1]) / dt;
-			rightAcc[i] = (rightVel[i] - rightVel[i-1]) / dt;
-		} //loop
-	} //end calcWheelAccelerations
-	
 	//Getters
 
 	/**
-	 * Get the left trajectory point at this time
-	 * @param time Time in seconds to get trajectory point
-	 * @return Left position, velocity, and acceleration at that time
+	 * Interpolate the left trajectory point at a time into an array
+	 * @param time Time in seconds to get the trajectory point
+	 * @param out Array to fill with left position, velocity (ft/s) and acceleration
 	 */
-	public double[] getLeftTrajPoint(double time) {
-		return leftProfile.get(getIndex(time));
+	public void getLeftTrajPoint(double time, double[] out) {
+		interpolate(time, TrajectoryStore.LEFT_POS, out);
 	} //end getLeftTrajPoint
 	
 	/**
-	 * Get the right trajectory point at this time
-	 * @param time Time in seconds to get trajectory point
-	 * @return Right position, velocity, and acceleration at that time
+	 * Interpolate the right trajectory point at a time into an array
+	 * @param time Time in seconds to get the trajectory point
+	 * @param out Array to fill with right position, velocity (ft/s) and acceleration
 	 */
-	public double[] getRightTrajPoint(double time) {
-		return rightProfile.get(getIndex(time));
+	public void getRightTrajPoint(double time, double[] out) {
+		interpolate(time, TrajectoryStore.RIGHT_POS, out);
 	} //end getRightTrajPoint
 	
+	/**
+	 * Linearly interpolate a trajectory point between the stored points around a time
+	 * @param time Time in seconds
+	 * @param posColumn Position column of the side, followed by its velocity and acceleration columns
+	 * @param out Array to fill with position, velocity (ft/s) and acceleration
+	 */
+	private void interpolate(double time, int posColumn, double[] out) {
+		double position = getPosition(time);
+		int i = (int) position;
+		double f = position - i;
+		int j = f == 0 ? i : i + 1; //next point, the same one when exactly on a point
+		
+		for (int k = 0; k < 3; k++) {
+			double start = trajectory.get(posColumn + k, i);
+			out[k] = start + (trajectory.get(posColumn + k, j) - start) * f;
+		} //loop
+	} //end interpolate
+	
 	/**
 	 * Get the size of the profile
 	 * @return Number of steps in the profile
 	 */
 	public int getSize() {
-		return SIZE;
+		return size;
 	} //end getSize
 	
 	/**
-	 * Save the left and right profile velocities to a file
+	 * Save the left and right profile velocities to a file, along with a binary copy that is read instead
 	 * @param filename Name of the file
-	 * @return True if writing was successful, false if not
+	 * @return True if writing both files was successful, false if not
 	 */
 	public boolean saveVelsToFile(String filename) {
+		File file = new File(Util.UTIL_DIR + filename + ".vels");
+		double[] times = new double[getNumTicks(period)];
+		double[] left = getLeftVelocities();
+		double[] right = getRightVelocities();
+		
 		try {
-			PrintWriter p = new PrintWriter(new File(Util.UTIL_DIR + filename + ".vels"));
-			
-			for (double time = 0; time < this.totalTime; time += Util.UPDATE_PERIOD) {
-				int i = getIndex(time);
-				double left = leftProfile.get(i)[1];
-				double right = rightProfile.get(i)[1];
-				p.println(String.format("%.3f %.8f %.8f", time, left, right));
+			PrintWriter p = new PrintWriter(file);
+			for (int i = 0; i < times.length; i++) {
+				times[i] = i * period;
+				p.println(String.format("%.3f %.8f %.8f", times[i], left[i], right[i]));
 			} //loop
 			
 			p.close();
-			return true;
 		} catch (IOException e) {
 			return false;
 		} //try-catch
+		
+		//written after the text file so it is not older than it
+		return TrajectoryFile.write(TrajectoryFile.getBinaryCopy(file), TrajectoryFile.KIND.VELOCITIES, 
+									new double[][] {times, left, right}, true);
 	} //end saveVelsToFile
 	
 	/**
-	 * Get the point index from the time
+	 * Find where a time falls between the points. The sampler keeps no other state, so a cached profile
+	 * can be looked up from several threads.
 	 * @param time Time from 0 to totalTime inclusive
-	 * @return Index of the trajectory point at this time
+	 * @return Index of the point at or before this time plus the fraction of the way to the next one
 	 */
-	private int getIndex(double time) {
-		time = Math.max(Math.min(this.totalTime, time), 0);
-		return Util.findSandwichedElements(times, time, 1E-3)[0];
-	} //end getIndex
+	private double getPosition(double time) {
+		return sampler.positionAt(Math.max(Math.min(this.totalTime, time), 0));
+	} //end getPosition
+	
+	/**
+	 * Linearly interpolate a value between a point and the next one
+	 * @param values Value at each point
+	 * @param i Index of the point
+	 * @param f Fraction of the way to the next point, 0 to 1
+	 * @return Value between the points
+	 */
+	private static double lerp(double[] values, int i, double f) {
+		return f == 0 ? values[i] : values[i] + (values[i+1] - values[i]) * f;
+	} //end lerp
+	
+	/**
+	 * Interpolate the heading between a point and the next one, turning the short way around at 180 degrees
+	 * @param i Index of the point
+	 * @param f Fraction of the way to the next point, 0 to 1
+	 * @return Heading between the points in degrees
+	 */
+	private double headingAt(int i, double f) {
+		if (f == 0)
+			return headings[i];
+		
+		double change = FieldPositioning.angleWrapDeg(headings[i+1] - headings[i]);
+		return FieldPositioning.angleWrapDeg(headings[i] + change * f);
+	} //end headingAt
 	
 	/**
 	 * Get the left velocities (ft/s)
-	 * @return Left wheel velocities as an array
+	 * @return Left wheel velocities every period as an array
 	 */
 	public double[] getLeftVelocities() {
-		ArrayList<Double> leftVel = new ArrayList<Double>();
-		
-		for (double time = 0; time < this.totalTime; time += Util.UPDATE_PERIOD) {
-			int i = getIndex(time);
-			leftVel.add(leftProfile.get(i)[1]);			
-		} //loop
-		
-		//convert double list to double array
-		return Arrays.stream(leftVel.toArray()).mapToDouble(num -> Double.parseDouble(num.toString())).toArray();
+		return velocitiesPerTick(TrajectoryStore.LEFT_POS, period);
+	} //end getLeftVelocities
+	
+	/**
+	 * Get the left velocities (ft/s) a loop following the profile runs at
+	 * @param timeStep Seconds per tick, like the robot's time step
+	 * @return Left wheel velocities at the times from getTimes(timeStep)
+	 */
+	public double[] getLeftVelocities(double timeStep) {
+		return velocitiesPerTick(TrajectoryStore.LEFT_POS, timeStep);
 	} //end getLeftVelocities
 	
 	/**
 	 * Get the right velocities (ft/s)
-	 * @return Right wheel velocities as an array
+	 * @return Right wheel velocities every period as an array
 	 */
 	public double[] getRightVelocities() {
-		ArrayList<Double> rightVel = new ArrayList<Double>();
+		return velocitiesPerTick(TrajectoryStore.RIGHT_POS, period);
+	} //end getRightVelocities
+	
+	/**
+	 * Get the right velocities (ft/s) a loop following the profile runs at
+	 * @param timeStep Seconds per tick, like the robot's time step
+	 * @return Right wheel velocities at the times from getTimes(timeStep)
+	 */
+	public double[] getRightVelocities(double timeStep) {
+		return velocitiesPerTick(TrajectoryStore.RIGHT_POS, timeStep);
+	} //end getRightVelocities
+	
+	/**
+	 * Interpolate wheel velocities at every tick of a loop
+	 * @param posColumn Position column of the side
+	 * @param timeStep Seconds per tick
+	 * @return Velocities in ft/s at the times from getTimes(timeStep)
+	 */
+	private double[] velocitiesPerTick(int posColumn, double timeStep) {
+		double[] perTick = new double[getNumTicks(timeStep)];
+		double[] point = new double[3];
 		
-		for (double time = 0; time < this.totalTime; time += Util.UPDATE_PERIOD) {
-			int i = getIndex(time);
-			rightVel.add(rightProfile.get(i)[1]);			
+		for (int i = 0; i < perTick.length; i++) {
+			interpolate(i * timeStep, posColumn, point);
+			perTick[i] = point[1];
 		} //loop
 		
-		//convert double list to double array
-		return Arrays.stream(rightVel.toArray()).mapToDouble(num -> Double.parseDouble(num.toString())).toArray();
-	} //end getRightVelocities
+		return perTick;
+	} //end velocitiesPerTick
 	
 	/**
 	 * Get the path the profile is following
@@ -503,6 +611,14 @@ public class BezierProfile extends DriveProfile {
 		return path;
 	} //end getPath
 	
+	/**
+	 * Get the points the path is split into, closer together where the velocity or curvature changes quickly
+	 * @return Point on the path at each point of the profile
+	 */
+	public Point[] getPoints() {
+		return evenPoints;
+	} //end getPoints
+	
 	/**
 	 * Get the width of the robot
 	 * @return Distance from wheel to wheel of the robot in inches
@@ -533,18 +649,44 @@ public class BezierProfile extends DriveProfile {
 	 * @return Heading in degrees
 	 */
 	public double getHeading(double time) {
-		return headings[getIndex(time)];
+		double position = getPosition(time);
+		int i = (int) position;
+		return headingAt(i, position - i);
 	} //end getHeading
 	
+	/**
+	 * Get the pose at a specific time, between the points around it
+	 * @param time Time in the profile in seconds
+	 * @return Position in inches and heading in degrees
+	 */
 	public Pose getPose(double time) {
-		return poses[getIndex(time)];
-	}
+		double position = getPosition(time);
+		int i = (int) position;
+		double f = position - i;
+		double x = f == 0 ? evenPoints[i].getX() : evenPoints[i].getX() + (evenPoints[i+1].getX() - evenPoints[i].getX()) * f;
+		double y = f == 0 ? evenPoints[i].getY() : evenPoints[i].getY() + (evenPoints[i+1].getY() - evenPoints[i].getY()) * f;
+		return new Pose(new Point(x, y), headingAt(i, f));
+	} //end getPose
 	
+	/**
+	 * Get the center velocity at a specific time
+	 * @param time Time in the profile in seconds
+	 * @return Linear velocity in inches per second
+	 */
 	public double getCenter(double time) {
-		return centerVel[getIndex(time)];
-	}
+		double position = getPosition(time);
+		int i = (int) position;
+		return lerp(centerVel, i, position - i);
+	} //end getCenter
 	
+	/**
+	 * Get the angular velocity at a specific time
+	 * @param time Time in the profile in seconds
+	 * @return Angular velocity in radians per second
+	 */
 	public double getOmega(double time) {
-		return omega[getIndex(time)];
-	}
+		double position = getPosition(time);
+		int i = (int) position;
+		return lerp(omega, i, position - i);
+	} //end getOmega
 } //end class
\ No newline at end of file
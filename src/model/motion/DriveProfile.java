@@ -1,18 +1,38 @@
 package model.motion;
 
-import java.util.ArrayList;
+import java.io.Serializable;
 
+import model.motion.TrajectoryStore.STORAGE;
 import util.Util;
 
-public abstract class DriveProfile {
+public abstract class DriveProfile implements Serializable {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
-	protected ArrayList<double[]> leftProfile = new ArrayList<double[]>();
-	protected ArrayList<double[]> rightProfile = new ArrayList<double[]>();
-	protected ArrayList<Double> headings = new ArrayList<Double>();
+	private final STORAGE storage; //how this profile keeps its points
+	private final AnalyticProfile closedForm; //this profile when its points are calculated, null when they are stored
+	protected TrajectoryStore trajectory; //left and right points and headings, null when calculated
+	private double heading; //heading of every point when they are calculated
+	protected double period = Util.UPDATE_PERIOD; //seconds between the points of the profile
 	protected double totalTime;
 	protected int size;
 	protected double length;
 	
+	/**
+	 * Create an empty profile
+	 * @param storage FLOAT to halve the memory of large batches of profiles, ANALYTIC to calculate
+	 * the points of an AnalyticProfile when asked for, DOUBLE otherwise
+	 */
+	protected DriveProfile(STORAGE storage) {
+		this.storage = storage;
+		
+		//profiles without a closed form store their points even when asked to calculate them
+		boolean calculated = storage == STORAGE.ANALYTIC && this instanceof AnalyticProfile;
+		this.closedForm = calculated ? (AnalyticProfile) this : null;
+		this.trajectory = calculated ? null : newTrajectory(0); //replaced with one of the right size when filled
+	} //end constructor
+	
 	/**
 	 * Compute all profile constants
 	 */
@@ -23,14 +43,50 @@ public abstract class DriveProfile {
 	 */
 	protected abstract void fillProfiles();
 	
+	/**
+	 * Create an empty store for the points of this profile, storing doubles if the profile was
+	 * meant to be calculated but is not an AnalyticProfile
+	 * @param capacity Number of points expected
+	 * @return Store keeping values at the precision of this profile
+	 */
+	protected TrajectoryStore newTrajectory(int capacity) {
+		return new TrajectoryStore(storage == STORAGE.ANALYTIC ? STORAGE.DOUBLE : storage, capacity);
+	} //end newTrajectory
+	
+	/**
+	 * Check whether the points are calculated when asked for instead of being stored
+	 * @return True if the profile has no trajectory store
+	 */
+	public boolean isAnalytic() {
+		return trajectory == null;
+	} //end isAnalytic
+	
+	/**
+	 * Get the packed trajectory points
+	 * @return Left and right points and headings of the profile, null if they are calculated
+	 */
+	public TrajectoryStore getTrajectory() {
+		return trajectory;
+	} //end getTrajectory
+	
+	/**
+	 * Get the index of the point at a time
+	 * @param time Time in the profile in seconds
+	 * @return Index of the point, one every period
+	 */
+	private int indexAtTime(double time) {
+		return Math.max(0, Math.min((int) (time / period), getSize() - 1));
+	} //end indexAtTime
+	
 	/**
 	 * Return left trajectory point
 	 * @param time Time in the profile the point should be run at
 	 * @return Trajectory point at the corresponding time
 	 */
 	public double[] getLeftTrajPoint(double time) {
-		int index = Math.max(0, Math.min((int) (time / Util.UPDATE_PERIOD), leftProfile.size() - 1));
-		return leftProfile.get(index);
+		double[] point = new double[3];
+		getLeftTrajPoint(time, point);
+		return point;
 	} //end getLeftTrajPoint
 	
 	/**
@@ -39,7 +95,13 @@ public abstract class DriveProfile {
 	 * @return Trajectory point at the corresponding index
 	 */
 	public double[] getLeftTrajPoint(int index) {
-		return leftProfile.get(index);
+		double[] point = new double[3];
+		if (trajectory == null) {
+			closedForm.calcPoint(index * period, point);
+		} else {
+			trajectory.getLeft(index, point);
+		} //if
+		return point;
 	} //end getLeftTrajPoint
 
 	/**
@@ -48,8 +110,9 @@ public abstract class DriveProfile {
 	 * @return Trajectory point at the corresponding time
 	 */
 	public double[] getRightTrajPoint(double time) {
-		int index = Math.max(0, Math.min((int) (time / Util.UPDATE_PERIOD), rightProfile.size() - 1));
-		return rightProfile.get(index);
+		double[] point = new double[3];
+		getRightTrajPoint(time, point);
+		return point;
 	} //end getRightTrajPoint
 	
 	/**
@@ -58,7 +121,39 @@ public abstract class DriveProfile {
 	 * @return Trajectory point at the corresponding index
 	 */
 	public double[] getRightTrajPoint(int index) {
-		return rightProfile.get(index);
+		double[] point = new double[3];
+		if (trajectory == null) {
+			closedForm.calcPoint(index * period, point);
+		} else {
+			trajectory.getRight(index, point);
+		} //if
+		return point;
+	} //end getRightTrajPoint
+	
+	/**
+	 * Copy the left trajectory point at a time into an array, so following the profile creates no objects
+	 * @param time Time in the profile the point should be run at, exact for calculated profiles
+	 * @param out Array of at least three values to fill with position, velocity and acceleration
+	 */
+	public void getLeftTrajPoint(double time, double[] out) {
+		if (trajectory == null) {
+			closedForm.calcPoint(time, out);
+			return;
+		} //if
+		trajectory.getLeft(indexAtTime(time), out);
+	} //end getLeftTrajPoint
+	
+	/**
+	 * Copy the right trajectory point at a time into an array, so following the profile creates no objects
+	 * @param time Time in the profile the point should be run at, exact for calculated profiles
+	 * @param out Array of at least three values to fill with position, velocity and acceleration
+	 */
+	public void getRightTrajPoint(double time, double[] out) {
+		if (trajectory == null) {
+			closedForm.calcPoint(time, out);
+			return;
+		} //if
+		trajectory.getRight(indexAtTime(time), out);
 	} //end getRightTrajPoint
 	
 	/**
@@ -67,7 +162,7 @@ public abstract class DriveProfile {
 	 * @return Heading at the corresponding time
 	 */
 	public double getHeading(double time) {
-		return headings.get((int) (time / Util.UPDATE_PERIOD));
+		return trajectory == null ? heading : trajectory.get(TrajectoryStore.HEADING, indexAtTime(time));
 	} //end getLeftTrajPoint
 
 	/**
@@ -76,7 +171,7 @@ public abstract class DriveProfile {
 	 * @return Heading at the corresponding index
 	 */
 	public double getHeading(int index) {
-		return headings.get(index);
+		return trajectory == null ? heading : trajectory.get(TrajectoryStore.HEADING, index);
 	} //end getHeading
 	
 	/**
@@ -89,10 +184,10 @@ public abstract class DriveProfile {
 	
 	/**
 	 * Get the size of the profile
-	 * @return Size of the lists
+	 * @return Number of points, one every update period
 	 */
 	public int getSize() {
-		return size;
+		return trajectory == null ? getNumTicks() : trajectory.size();
 	} //end getSize
 	
 	/**
@@ -100,8 +195,11 @@ public abstract class DriveProfile {
 	 * @param heading Heading to follow
 	 */
 	public void fillHeadings(double heading) {
-		for (int i = 0; i < headings.size(); i++) 
-			headings.set(i, heading);
+		if (trajectory == null) {
+			this.heading = heading;
+		} else {
+			trajectory.fill(TrajectoryStore.HEADING, heading);
+		} //if
 	} //end fillHeadings
 	
 	/**
@@ -109,7 +207,12 @@ public abstract class DriveProfile {
 	 * @return Final distance in list
 	 */
 	public double getTotalDist() {
-		return leftProfile.get(leftProfile.size() - 1)[0];
+		if (trajectory == null) {
+			double[] end = new double[3];
+			closedForm.calcPoint(totalTime, end);
+			return end[0];
+		} //if
+		return trajectory.get(TrajectoryStore.LEFT_POS, trajectory.size() - 1);
 	} //end getTotalDist
 	
 	/**
@@ -117,12 +220,7 @@ public abstract class DriveProfile {
 	 * @return Left wheel velocities as an array
 	 */
 	public double[] getLeftVelocities() {
-		double[] leftVel = new double[this.size];
-		
-		for (int i = 0; i < this.size; i++) 
-			leftVel[i] = leftProfile.get(i)[1];
-		
-		return leftVel;
+		return trajectory == null ? calcVelocities() : trajectory.getColumn(TrajectoryStore.LEFT_VEL);
 	} //end getLeftVelocities
 	
 	/**
@@ -130,24 +228,70 @@ public abstract class DriveProfile {
 	 * @return Right wheel velocities as an array
 	 */
 	public double[] getRightVelocities() {
-		double[] rightVel = new double[this.size];
+		return trajectory == null ? calcVelocities() : trajectory.getColumn(TrajectoryStore.RIGHT_VEL);
+	} //end getRightVelocities
+	
+	/**
+	 * Calculate the velocity at every update period of a calculated profile
+	 * @return Velocities of both sides in ft/s as an array
+	 */
+	private double[] calcVelocities() {
+		double[] vels = new double[getSize()];
+		double[] point = new double[3];
 		
-		for (int i = 0; i < this.size; i++) 
-			rightVel[i] = rightProfile.get(i)[1];
+		for (int i = 0; i < vels.length; i++) {
+			closedForm.calcPoint(i * period, point);
+			vels[i] = point[1];
+		} //loop
 		
-		return rightVel;
-	} //end getRightVelocities
+		return vels;
+	} //end calcVelocities
+	
+	/**
+	 * Get the time between the points of the profile
+	 * @return Period in seconds
+	 */
+	public double getPeriod() {
+		return period;
+	} //end getPeriod
+	
+	/**
+	 * Get the number of points one period apart the profile runs for
+	 * @return Number of times in getTimes
+	 */
+	protected int getNumTicks() {
+		return getNumTicks(period);
+	} //end getNumTicks
+	
+	/**
+	 * Get the number of ticks of a loop the profile runs for, from the start up to the first tick at or
+	 * past the end
+	 * @param timeStep Seconds per tick, like the robot's time step
+	 * @return Number of times in getTimes(timeStep)
+	 */
+	protected int getNumTicks(double timeStep) {
+		return (int) Math.ceil(totalTime / timeStep - 1E-9) + 1; //an end on a whole number of ticks is not repeated
+	} //end getNumTicks
 	
 	/**
 	 * Get the times the profile occurs at
 	 * @return Times each setpoint runs at in seconds as an array
 	 */
 	public double[] getTimes() {
-		ArrayList<Double> times = new ArrayList<Double>();
+		return getTimes(period);
+	} //end getTimes
+	
+	/**
+	 * Get the times a loop following the profile runs each setpoint at
+	 * @param timeStep Seconds per tick, like the robot's time step
+	 * @return Times in seconds as an array
+	 */
+	public double[] getTimes(double timeStep) {
+		double[] times = new double[getNumTicks(timeStep)];
 		
-		for (double time = 0; time < this.totalTime; time += Util.UPDATE_PERIOD)
-			times.add(time);
+		for (int i = 0; i < times.length; i++)
+			times[i] = i * timeStep;
 		
-		return Util.doubleListToArray(times);
+		return times;
 	} //end getTimes
 } //end class
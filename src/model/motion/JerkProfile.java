@@ -7,9 +7,12 @@
 
 package model.motion;
 
-import util.Util;
+import model.motion.TrajectoryStore.STORAGE;
 
-public class JerkProfile extends DriveProfile {
+public class JerkProfile extends DriveProfile implements AnalyticProfile {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
 	private double dT; //total distance in inches
 	private double dA; //acceleration distance in inches
@@ -22,6 +25,10 @@ public class JerkProfile extends DriveProfile {
 	private double jA; //jerk during acceleration phase
 	private double jD; //jerk during deceleration phase
 	
+	//Phase boundaries
+	private double t1, t2, t3, t4; //times each phase ends at, the last ends at tT
+	private double p1, p2, p3, p4; //positions at the end of each phase in inches
+	
 	/**
 	 * Create a symmetric jerk profile
 	 * @param totalDist Total distance to travel in inches
@@ -29,13 +36,27 @@ public class JerkProfile extends DriveProfile {
 	 * @param maxVel Maximum velocity to reach when cruising in ft/s
 	 */
 	public JerkProfile(double totalDist, double accDist, double maxVel) {
+		this(totalDist, accDist, maxVel, STORAGE.DOUBLE);
+	} //end constructor
+	
+	/**
+	 * Create a symmetric jerk profile
+	 * @param totalDist Total distance to travel in inches
+	 * @param accDist Distance to accelerate AND decelerate over in inches
+	 * @param maxVel Maximum velocity to reach when cruising in ft/s
+	 * @param storage How the points are kept, ANALYTIC calculates them when asked for
+	 */
+	public JerkProfile(double totalDist, double accDist, double maxVel, STORAGE storage) {
+		super(storage);
+		
 		this.dT = totalDist;
 		this.dA = accDist;
 		this.dD = accDist;
 		this.vM = maxVel * 12; //convert to in/s
 				
 		computeConstants();
-		fillProfiles();
+		if (trajectory != null) //analytic profiles calculate their points when asked
+			fillProfiles();
 	} //end computeConstants
 
 	/**
@@ -72,6 +93,18 @@ public class JerkProfile extends DriveProfile {
 		jA = (4 * vM) / Math.pow(tA, 2); //4v / t^2
 		jD = -jA;
 		
+		//time boundaries for each phase
+		t1 = tA / 2;
+		t2 = tA;
+		t3 = tT - tD;
+		t4 = tT - tD / 2;
+		
+		//position at the end of each phase, integrating the velocity of the phase
+		p1 = jA * Math.pow(t1, 3) / 6;
+		p2 = p1 + jA * t1 * t1 * (t2 - t1) + jA * Math.pow(t1 - t2, 3) / 6;
+		p3 = p2 + vM * (t3 - t2);
+		p4 = p3 + vM * (t4 - t3) + jD * Math.pow(t4 - t3, 3) / 6;
+		
 		//profile
 		this.totalTime = tT;
 	} //end computeConstants
@@ -83,18 +116,16 @@ public class JerkProfile extends DriveProfile {
 		double p = 0; //position
 		double v = 0; //velocity
 		double a = 0; //acceleration
-		double dt = Util.UPDATE_PERIOD; //time interval
-		
-		//time boundaries for each phase
-		double t1 = tA / 2;
-		double t2 = tA;
-		double t3 = tT - tD;
-		double t4 = tT - tD / 2;
+		double dt = period; //time interval
 		
 		double prevV = 0;
 		
-		int loops = (int) Math.ceil(tT / dt); //number of timesteps
-		this.size = loops;
+		int loops = getNumTicks() - 1; //number of timesteps, the last ending at or past the total time
+		this.size = loops + 1;
+		this.trajectory = newTrajectory(size);
+		
+		//start at rest so index i is at time i * dt, like the calculated points
+		this.trajectory.add(0, 0, 0);
 		
 		//calculate like piecewise function instead of numerically
 		for (int i = 1; i <= loops; i++) {
@@ -116,9 +147,45 @@ public class JerkProfile extends DriveProfile {
 			p += v * dt;
 			prevV = v;
 			
-			this.leftProfile.add(new double[] {p, v / 12, a}); //vel back to ft/s
-			this.rightProfile.add(new double[] {p, v / 12, a});
+			this.trajectory.add(p, v / 12, a); //vel back to ft/s
 		} //loop
+		this.trajectory.trim();
 	} //end fillProfiles
 	
+	/**
+	 * Calculate the point at a time from the piecewise polynomials of each phase
+	 * @param time Time in the profile in seconds
+	 * @param out Array of at least three values to fill with position, velocity and acceleration
+	 */
+	public void calcPoint(double time, double[] out) {
+		double p, v, a;
+		double t = Math.max(0, Math.min(time, tT));
+		
+		if (t <= t1) { //increasing acceleration
+			a = jA * t;
+			v = 0.5 * jA * t * t;
+			p = jA * t * t * t / 6;
+		} else if (t <= t2) { //decreasing acceleration
+			a = -jA * (t - t2);
+			v = -0.5 * jA * Math.pow(t - t2, 2) + jA * t1 * t1;
+			p = p1 + jA * t1 * t1 * (t - t1) - jA * (Math.pow(t - t2, 3) - Math.pow(t1 - t2, 3)) / 6;
+		} else if (t <= t3) { //cruising
+			a = 0;
+			v = vM;
+			p = p2 + vM * (t - t2);
+		} else if (t <= t4) { //increasing deceleration
+			a = jD * (t - t3);
+			v = vM + 0.5 * jD * Math.pow(t - t3, 2);
+			p = p3 + vM * (t - t3) + jD * Math.pow(t - t3, 3) / 6;
+		} else { //decreasing deceleration
+			a = -jD * (t - tT);
+			v = -0.5 * jD * Math.pow(t - tT, 2);
+			p = p4 - jD * (Math.pow(t - tT, 3) - Math.pow(t4 - tT, 3)) / 6;
+		} //if
+		
+		out[0] = p;
+		out[1] = v / 12; //vel back to ft/s
+		out[2] = a;
+	} //end calcPoint
+	
 } //end JerkProfile
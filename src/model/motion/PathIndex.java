@@ -0,0 +1,285 @@
+/**
+ * PathIndex
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Uniform grid of the segments of a path for finding the closest point and lookahead intersects
+ */
+
+package model.motion;
+
+import java.util.Arrays;
+
+import model.FieldPositioning;
+import model.Point;
+
+public class PathIndex {
+	//Constants
+	private static final int MAX_CELLS_PER_SEGMENT = 4; //cells allowed per segment before the cells are made bigger
+	private static final double EDGE_TOLERANCE = 1E-3; //intersects off the end of a segment still counted, in inches
+
+	//Attributes
+	private Point[] points; //points of the path, segment i runs from point i to point i+1
+	private double cellSize; //width and height of each cell in inches
+	private double minX, minY; //corner of the grid in inches
+	private int nx, ny; //number of cells in x and y
+	private int[] cellStart; //index in cellSegments of the first segment of each cell, and the total at the end
+	private int[] cellSegments; //segments overlapping each cell, one cell after another
+
+	//Queries
+	private int[] candidates; //segments near the last lookahead circle
+	private int[] stamps; //query each segment was last added to the candidates in
+	private int query; //number of the current query
+	private double[] intersects = new double[4]; //(x,y) of the intersects of one segment
+
+	/**
+	 * Build the grid for a path
+	 * @param points Points of the path, not copied
+	 * @param cellSize Width of each cell in inches, about the lookahead distance. Zero or less to
+	 * choose from the spacing of the points. Cells are never smaller than two segments.
+	 */
+	public PathIndex(Point[] points, double cellSize) {
+		if (points.length == 0)
+			throw new IllegalArgumentException("Path needs at least one point");
+
+		this.points = points;
+		int numSegments = points.length - 1;
+
+		//bounds of the path and the mean segment length
+		minX = Double.POSITIVE_INFINITY;
+		minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		double totalLength = 0;
+		for (int i = 0; i < points.length; i++) {
+			minX = Math.min(minX, points[i].getX());
+			minY = Math.min(minY, points[i].getY());
+			maxX = Math.max(maxX, points[i].getX());
+			maxY = Math.max(maxY, points[i].getY());
+			if (i > 0)
+				totalLength += FieldPositioning.dist(points[i-1], points[i]);
+		} //loop
+
+		//size the cells, growing them if the path is spread out over a lot of empty space
+		double meanSegment = numSegments == 0 ? 0 : totalLength / numSegments;
+		this.cellSize = Math.max(cellSize, 2 * meanSegment);
+		if (!(this.cellSize > 0))
+			this.cellSize = 1;
+
+		long maxCells = (long) MAX_CELLS_PER_SEGMENT * Math.max(numSegments, 1);
+		while ((long) cellsAlong(maxX - minX) * cellsAlong(maxY - minY) > maxCells) {
+			this.cellSize *= 2;
+		} //loop
+		nx = cellsAlong(maxX - minX);
+		ny = cellsAlong(maxY - minY);
+
+		//count the segments in each cell, then fill them in
+		cellStart = new int[nx * ny + 1];
+		for (int pass = 0; pass < 2; pass++) {
+			int[] next = pass == 0 ? null : Arrays.copyOf(cellStart, cellStart.length - 1);
+
+			for (int s = 0; s < numSegments; s++) {
+				int x0 = cellX(Math.min(points[s].getX(), points[s+1].getX()));
+				int x1 = cellX(Math.max(points[s].getX(), points[s+1].getX()));
+				int y0 = cellY(Math.min(points[s].getY(), points[s+1].getY()));
+				int y1 = cellY(Math.max(points[s].getY(), points[s+1].getY()));
+
+				for (int cx = x0; cx <= x1; cx++) {
+					for (int cy = y0; cy <= y1; cy++) {
+						if (pass == 0) {
+							cellStart[cx * ny + cy + 1]++;
+						} else {
+							cellSegments[next[cx * ny + cy]++] = s;
+						} //if
+					} //loop
+				} //loop
+			} //loop
+
+			//running total of the counts
+			if (pass == 0) {
+				for (int c = 1; c < cellStart.length; c++) {
+					cellStart[c] += cellStart[c-1];
+				} //loop
+				cellSegments = new int[cellStart[cellStart.length - 1]];
+			} //if
+		} //loop
+
+		candidates = new int[16];
+		stamps = new int[Math.max(numSegments, 1)];
+	} //end constructor
+
+	/**
+	 * Get the number of cells needed to cover a distance
+	 * @param span Distance in inches
+	 * @return Number of cells, at least one
+	 */
+	private int cellsAlong(double span) {
+		return (int) Math.floor(span / cellSize) + 1;
+	} //end cellsAlong
+
+	/**
+	 * Get the column of the cell an x value is in
+	 * @param x X value in inches
+	 * @return Column, clamped to the grid
+	 */
+	private int cellX(double x) {
+		return Math.max(0, Math.min(nx - 1, (int) Math.floor((x - minX) / cellSize)));
+	} //end cellX
+
+	/**
+	 * Get the row of the cell a y value is in
+	 * @param y Y value in inches
+	 * @return Row, clamped to the grid
+	 */
+	private int cellY(double y) {
+		return Math.max(0, Math.min(ny - 1, (int) Math.floor((y - minY) / cellSize)));
+	} //end cellY
+
+	/**
+	 * Get the width of each cell
+	 * @return Cell size in inches
+	 */
+	public double getCellSize() {
+		return cellSize;
+	} //end getCellSize
+
+	/**
+	 * Find the closest point at or after a starting point, searching the cells in rings outwards
+	 * until no closer point could be left. Starting from the point found last tick keeps the
+	 * search moving forward along the path and bounds it by the distance to that point.
+	 * @param p Point to search from, like the robot position
+	 * @param from Index of the first point that can be chosen
+	 * @return Index of the closest point, the lowest if there is a tie
+	 */
+	public int closestIndex(Point p, int from) {
+		return closestIndex(p.getX(), p.getY(), from);
+	} //end closestIndex
+	
+	/**
+	 * Find the closest point at or after a starting point without creating any objects
+	 * @param x X value to search from in inches
+	 * @param y Y value to search from in inches
+	 * @param from Index of the first point that can be chosen
+	 * @return Index of the closest point, the lowest if there is a tie
+	 */
+	public int closestIndex(double x, double y, int from) {
+		from = Math.max(0, Math.min(from, points.length - 1));
+
+		int best = from;
+		double bestDistSq = distSq(from, x, y);
+
+		int cx = cellX(x), cy = cellY(y);
+		int maxRing = Math.max(nx, ny);
+		for (int ring = 0; ring <= maxRing; ring++) {
+			//every cell further out is at least this far away
+			double reach = (ring - 1) * cellSize;
+			if (reach > 0 && reach * reach > bestDistSq)
+				break;
+
+			for (int i = cx - ring; i <= cx + ring; i++) {
+				if (i < 0 || i >= nx)
+					continue;
+
+				for (int j = cy - ring; j <= cy + ring; j++) {
+					//only the outside of the ring, the inside has been searched
+					if (j < 0 || j >= ny || (Math.abs(i - cx) != ring && Math.abs(j - cy) != ring))
+						continue;
+
+					int cell = i * ny + j;
+					for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+						//both ends of the segment
+						for (int idx = cellSegments[k]; idx <= cellSegments[k] + 1; idx++) {
+							if (idx < from)
+								continue;
+
+							double d = distSq(idx, x, y);
+							if (d < bestDistSq || (d == bestDistSq && idx < best)) {
+								bestDistSq = d;
+								best = idx;
+							} //if
+						} //loop
+					} //loop
+				} //loop
+			} //loop
+		} //loop
+
+		return best;
+	} //end closestIndex
+
+	/**
+	 * Get the square of the distance from a point of the path to a location
+	 * @param index Index of the point
+	 * @param x X value in inches
+	 * @param y Y value in inches
+	 * @return Distance squared in square inches
+	 */
+	private double distSq(int index, double x, double y) {
+		double dx = points[index].getX() - x;
+		double dy = points[index].getY() - y;
+		return dx * dx + dy * dy;
+	} //end distSq
+
+	/**
+	 * Find where a circle crosses the path furthest along it, only checking the segments in the
+	 * cells the circle covers
+	 * @param center Center of the circle, like the robot position
+	 * @param radius Radius of the circle, like the lookahead distance
+	 * @return Last intersect of the highest segment the circle crosses, null if it crosses none
+	 */
+	public Point lastIntersect(Point center, double radius) {
+		Point intersect = new Point(0, 0);
+		return lastIntersect(center.getX(), center.getY(), radius, intersect) >= 0 ? intersect : null;
+	} //end lastIntersect
+	
+	/**
+	 * Find where a circle crosses the path furthest along it, writing it into a point the caller
+	 * keeps so following the path does not create any objects
+	 * @param x X value of the center of the circle in inches
+	 * @param y Y value of the center of the circle in inches
+	 * @param radius Radius of the circle, like the lookahead distance
+	 * @param out Point set to the last intersect of the highest segment crossed, unchanged if none is
+	 * @return Index of the segment the intersect is on, which starts at the point with the same index,
+	 * -1 if the circle does not cross the path
+	 */
+	public int lastIntersect(double x, double y, double radius, Point out) {
+		//reset the stamps before the query number wraps around
+		if (++query == Integer.MAX_VALUE) {
+			Arrays.fill(stamps, 0);
+			query = 1;
+		} //if
+
+		//segments in the cells the circle covers, once each
+		double reach = radius + EDGE_TOLERANCE;
+		int x0 = cellX(x - reach), x1 = cellX(x + reach);
+		int y0 = cellY(y - reach), y1 = cellY(y + reach);
+		int n = 0;
+
+		for (int i = x0; i <= x1; i++) {
+			for (int j = y0; j <= y1; j++) {
+				int cell = i * ny + j;
+				for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+					int s = cellSegments[k];
+					if (stamps[s] == query)
+						continue;
+
+					stamps[s] = query;
+					if (n == candidates.length)
+						candidates = Arrays.copyOf(candidates, n * 2);
+					candidates[n++] = s;
+				} //loop
+			} //loop
+		} //loop
+
+		//check from the furthest segment back, the first one crossed is the answer
+		Arrays.sort(candidates, 0, n);
+		for (int k = n - 1; k >= 0; k--) {
+			int s = candidates[k];
+			int found = FieldPositioning.lineCircleIntersect(points[s].getX(), points[s].getY(), 
+									points[s+1].getX(), points[s+1].getY(), x, y, radius, intersects);
+			if (found > 0) {
+				out.setXY(intersects[2*found - 2], intersects[2*found - 1]);
+				return s;
+			} //if
+		} //loop
+
+		return -1;
+	} //end lastIntersect
+} //end PathIndex
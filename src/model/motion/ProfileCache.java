@@ -0,0 +1,421 @@
+/**
+ * ProfileCache
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Generated profiles and paths kept by their inputs, so generating the same one twice is instant
+ */
+
+package model.motion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import model.FieldPositioning;
+import model.Point;
+import util.Util;
+
+public class ProfileCache {
+	//Constants
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L; //64 bit FNV-1a starting hash
+	private static final long FNV_PRIME = 0x100000001b3L; //64 bit FNV-1a multiplier
+	private static final int BYTES_PER_PROFILE_POINT = 240; //arrays, trajectory columns and pose of a BezierProfile point
+	private static final int BYTES_PER_PATH_POINT = 72; //point and arrays of a PursuitPath point
+	private static final String EXTENSION = ".prof"; //extension of the files on disk
+
+	//Kinds of object kept, part of the key so a path and a profile with the same inputs differ
+	private static final int BEZIER_PROFILE = 1;
+	private static final int PURSUIT_PATH = 2;
+
+	//Attributes
+	private static final ProfileCache shared = new ProfileCache(64, 64L << 20, null); //cache shared by the whole sim
+
+	private final LinkedHashMap<Key, Entry> entries; //cached objects, least recently used first
+	private final int maxEntries; //most objects kept
+	private final long maxBytes; //most estimated bytes kept
+	private final File diskDir; //folder profiles are saved to and read from, null for memory only
+	private long bytes; //estimated bytes of the objects kept
+	private long hits; //lookups found in memory
+	private long diskHits; //lookups read from disk
+	private long misses; //lookups that had to generate
+	private long evictions; //objects dropped to stay within the bounds
+
+	/**
+	 * Create a cache that keeps the most recently used objects
+	 * @param maxEntries Most objects kept
+	 * @param maxBytes Most estimated bytes kept
+	 * @param diskDir Folder to save generated objects to and read them from after a restart, null for memory only
+	 */
+	public ProfileCache(int maxEntries, long maxBytes, File diskDir) {
+		if (maxEntries < 1 || maxBytes < 1)
+			throw new IllegalArgumentException("Cache bounds must be positive, were " + maxEntries + " and " + maxBytes);
+
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.diskDir = diskDir;
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true); //access order for LRU
+
+		if (diskDir != null)
+			diskDir.mkdirs();
+	} //end constructor
+
+	/**
+	 * Create a cache kept in memory only
+	 * @param maxEntries Most objects kept
+	 * @param maxBytes Most estimated bytes kept
+	 */
+	public ProfileCache(int maxEntries, long maxBytes) {
+		this(maxEntries, maxBytes, null);
+	} //end constructor
+
+	/**
+	 * Get the cache shared by the sim, kept in memory only
+	 * @return Shared cache
+	 */
+	public static ProfileCache getShared() {
+		return shared;
+	} //end getShared
+
+	/**
+	 * Get a profile, generating it only if one with the same inputs is not cached. The profile is
+	 * shared with everyone else who asks for it, so it should not be changed. Its lookups keep no state
+	 * of their own, so it can be played back from several threads at once.
+	 * @param controlPts Control points of the Bezier curve
+	 * @param trackWidth Width of the robot wheelbase in inches
+	 * @param maxVel Maximum reachable robot velocity in in/s
+	 * @param maxAcc Maximum reachable robot acceleration in in/s^2
+	 * @param maxDec Maximum reachable robot deceleration in in/s^2
+	 * @return Profile for the inputs
+	 */
+	public BezierProfile getBezierProfile(Point[] controlPts, double trackWidth, double maxVel, double maxAcc, double maxDec) {
+		Key key = new Key(BEZIER_PROFILE, controlPts, trackWidth, maxVel, maxAcc, maxDec,
+							BezierProfile.DEFAULT_VEL_TOLERANCE);
+		Object cached = lookup(key);
+		if (cached != null)
+			return (BezierProfile) cached;
+
+		//generate outside the lock so other lookups are not held up
+		BezierProfile profile = new BezierProfile(clonePoints(controlPts), trackWidth, maxVel, maxAcc, maxDec);
+		store(key, profile, (long) profile.getSize() * BYTES_PER_PROFILE_POINT);
+		return profile;
+	} //end getBezierProfile
+
+	/**
+	 * Get a profile, generating it only if one with the same inputs is not cached
+	 * @param controlPts Control point coordinates of the Bezier curve
+	 * @param trackWidth Width of the robot wheelbase in inches
+	 * @param maxVel Maximum reachable robot velocity in in/s
+	 * @param maxAcc Maximum reachable robot acceleration in in/s^2
+	 * @param maxDec Maximum reachable robot deceleration in in/s^2
+	 * @return Profile for the inputs
+	 */
+	public BezierProfile getBezierProfile(double[][] controlPts, double trackWidth, double maxVel, double maxAcc, double maxDec) {
+		return getBezierProfile(FieldPositioning.pointsFromDoubles(controlPts), trackWidth, maxVel, maxAcc, maxDec);
+	} //end getBezierProfile
+
+	/**
+	 * Get a path, generating it only if one with the same inputs is not cached. The path is shared
+	 * with everyone else who asks for it, so it should not be changed.
+	 * @param controlPts Control points for quintic spline
+	 * @param trackWidth Wheel-wheel robot width in inches
+	 * @param maxVel Top velocity for robot to reach in in/s
+	 * @param acc Magnitude of acceleration constant in in/s^2
+	 * @param dec Magnitude of deceleration constant in in/s^2
+	 * @param spacing Linear distance between points in inches
+	 * @return Path for the inputs
+	 */
+	public PursuitPath getPursuitPath(Point[] controlPts, double trackWidth, double maxVel, double acc, double dec, double spacing) {
+		Key key = new Key(PURSUIT_PATH, controlPts, trackWidth, maxVel, acc, dec, spacing);
+		Object cached = lookup(key);
+		if (cached != null)
+			return (PursuitPath) cached;
+
+		PursuitPath path = new PursuitPath(clonePoints(controlPts), trackWidth, maxVel, acc, dec, spacing);
+		store(key, path, (long) path.getPoints().length * BYTES_PER_PATH_POINT);
+		return path;
+	} //end getPursuitPath
+
+	/**
+	 * Get a path, generating it only if one with the same inputs is not cached
+	 * @param controlPts Control point coordinates for quintic spline
+	 * @param trackWidth Wheel-wheel robot width in inches
+	 * @param maxVel Top velocity for robot to reach in in/s
+	 * @param acc Magnitude of acceleration constant in in/s^2
+	 * @param dec Magnitude of deceleration constant in in/s^2
+	 * @param spacing Linear distance between points in inches
+	 * @return Path for the inputs
+	 */
+	public PursuitPath getPursuitPath(double[][] controlPts, double trackWidth, double maxVel, double acc, double dec, double spacing) {
+		return getPursuitPath(FieldPositioning.pointsFromDoubles(controlPts), trackWidth, maxVel, acc, dec, spacing);
+	} //end getPursuitPath
+
+	/**
+	 * Copy control points so moving the caller's points later does not change a cached object
+	 * @param points Points to copy
+	 * @return Copies of the points
+	 */
+	private static Point[] clonePoints(Point[] points) {
+		Point[] copy = new Point[points.length];
+		for (int i = 0; i < points.length; i++) {
+			copy[i] = points[i].clone();
+		} //loop
+		return copy;
+	} //end clonePoints
+
+	/**
+	 * Find a cached object in memory, then on disk
+	 * @param key Inputs of the object
+	 * @return Cached object, null if it has to be generated
+	 */
+	private Object lookup(Key key) {
+		synchronized (this) {
+			Entry e = entries.get(key);
+			if (e != null) {
+				hits++;
+				return e.value;
+			} //if
+		} //synchronized
+
+		Object value = readFromDisk(key);
+
+		synchronized (this) {
+			if (value == null) {
+				misses++;
+				return null;
+			} //if
+
+			diskHits++;
+			put(key, value, estimateBytes(value));
+			return value;
+		} //synchronized
+	} //end lookup
+
+	/**
+	 * Keep a generated object in memory and on disk
+	 * @param key Inputs of the object
+	 * @param value Generated object
+	 * @param size Estimated bytes of the object
+	 */
+	private void store(Key key, Object value, long size) {
+		synchronized (this) {
+			put(key, value, size);
+		} //synchronized
+		writeToDisk(key, value);
+	} //end store
+
+	/**
+	 * Add an object, dropping the least recently used ones until the cache is within its bounds
+	 * @param key Inputs of the object
+	 * @param value Object to keep
+	 * @param size Estimated bytes of the object
+	 */
+	private void put(Key key, Object value, long size) {
+		Entry old = entries.put(key, new Entry(value, size));
+		if (old != null)
+			bytes -= old.bytes;
+		bytes += size;
+
+		//the newest entry is always kept, even if it is larger than the byte bound on its own
+		Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || bytes > maxBytes) && entries.size() > 1) {
+			bytes -= it.next().getValue().bytes;
+			it.remove();
+			evictions++;
+		} //loop
+	} //end put
+
+	/**
+	 * Estimate the bytes an object read from disk takes up
+	 * @param value Profile or path
+	 * @return Estimated bytes
+	 */
+	private static long estimateBytes(Object value) {
+		if (value instanceof BezierProfile)
+			return (long) ((BezierProfile) value).getSize() * BYTES_PER_PROFILE_POINT;
+		return (long) ((PursuitPath) value).getPoints().length * BYTES_PER_PATH_POINT;
+	} //end estimateBytes
+
+	/**
+	 * Read an object saved by an earlier run
+	 * @param key Inputs of the object
+	 * @return Saved object, null if there is none or it could not be read
+	 */
+	private Object readFromDisk(Key key) {
+		if (diskDir == null)
+			return null;
+
+		File file = key.getFile(diskDir);
+		if (!file.isFile())
+			return null;
+
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			//the inputs are saved with the object in case two hash to the same file
+			double[] values = (double[]) in.readObject();
+			return Arrays.equals(values, key.values) ? in.readObject() : null;
+		} catch (Exception e) {
+			Util.println("Could not read cached profile " + file.getName());
+			return null;
+		} //try-catch
+	} //end readFromDisk
+
+	/**
+	 * Save an object so a later run does not have to generate it
+	 * @param key Inputs of the object
+	 * @param value Object to save
+	 * @return True if the object was saved, false if not
+	 */
+	private boolean writeToDisk(Key key, Object value) {
+		if (diskDir == null)
+			return false;
+
+		//write beside the file and rename so a reader never sees half a file
+		File file = key.getFile(diskDir);
+		File temp = new File(diskDir, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+
+		try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeObject(key.values);
+			out.writeObject(value);
+		} catch (Exception e) {
+			Util.println("Could not save cached profile " + file.getName());
+			temp.delete();
+			return false;
+		} //try-catch
+
+		file.delete();
+		return temp.renameTo(file);
+	} //end writeToDisk
+
+	/**
+	 * Drop every object kept in memory, leaving the disk and the counters alone
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	} //end clear
+
+	/**
+	 * Get the number of objects kept in memory
+	 * @return Number of objects
+	 */
+	public synchronized int size() {
+		return entries.size();
+	} //end size
+
+	/**
+	 * Get the estimated bytes of the objects kept in memory
+	 * @return Estimated bytes
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	} //end getBytes
+
+	/**
+	 * Get the number of lookups found in memory
+	 * @return Number of hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	} //end getHits
+
+	/**
+	 * Get the number of lookups read from disk
+	 * @return Number of disk hits
+	 */
+	public synchronized long getDiskHits() {
+		return diskHits;
+	} //end getDiskHits
+
+	/**
+	 * Get the number of lookups that had to generate
+	 * @return Number of misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	} //end getMisses
+
+	/**
+	 * Get the number of objects dropped to stay within the bounds
+	 * @return Number of evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	} //end getEvictions
+
+	//Inputs of a cached object, equal when every input is bit for bit the same
+	private static final class Key {
+		//Attributes
+		private final double[] values; //kind, control point coordinates and constraints
+		private final long hash; //FNV-1a hash of the bits of the values
+
+		/**
+		 * Create a key from the inputs of an object
+		 * @param kind Kind of object
+		 * @param controlPts Control points of the curve
+		 * @param constraints Kinematic constraints and other inputs, in constructor order
+		 */
+		private Key(int kind, Point[] controlPts, double... constraints) {
+			values = new double[1 + controlPts.length * 2 + constraints.length];
+			values[0] = kind;
+			for (int i = 0; i < controlPts.length; i++) {
+				values[1 + i * 2] = controlPts[i].getX();
+				values[2 + i * 2] = controlPts[i].getY();
+			} //loop
+			System.arraycopy(constraints, 0, values, 1 + controlPts.length * 2, constraints.length);
+
+			long h = FNV_OFFSET;
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] == 0)
+					values[i] = 0; //-0.0 and 0.0 give the same curve
+				long bits = Double.doubleToLongBits(values[i]);
+				for (int b = 0; b < 64; b += 8) {
+					h = (h ^ ((bits >>> b) & 0xff)) * FNV_PRIME;
+				} //loop
+			} //loop
+			hash = h;
+		} //end constructor
+
+		/**
+		 * Get the file the object is saved to
+		 * @param dir Folder of the disk tier
+		 * @return File named after the hash
+		 */
+		private File getFile(File dir) {
+			return new File(dir, String.format("%016x", hash) + EXTENSION);
+		} //end getFile
+
+		@Override
+		public int hashCode() {
+			return (int) (hash ^ (hash >>> 32));
+		} //end hashCode
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).hash == hash && Arrays.equals(((Key) obj).values, values);
+		} //end equals
+	} //end Key
+
+	//Cached object and its estimated size
+	private static final class Entry {
+		//Attributes
+		private final Object value; //profile or path
+		private final long bytes; //estimated bytes
+
+		/**
+		 * Create an entry
+		 * @param value Profile or path
+		 * @param bytes Estimated bytes
+		 */
+		private Entry(Object value, long bytes) {
+			this.value = value;
+			this.bytes = bytes;
+		} //end constructor
+	} //end Entry
+} //end ProfileCache
@@ -12,6 +12,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Scanner;
 
 import org.knowm.xchart.XYChart;
@@ -43,7 +44,7 @@ public class ProfileGenerator {
 		Util.println("Path points to file: " + printPathPointsToFile(new BezierPath(curve), "curve", 100));
 		*/
 		
-		PursuitPath path = new PursuitPath(FieldPoints.wrongL, 30, 12*12, 200, 200, 6);
+		PursuitPath path = ProfileCache.getShared().getPursuitPath(FieldPoints.wrongL, 30, 12*12, 200, 200, 6);
 		Util.println("PursuitPath made: " + path.saveXYToJS("wrongL", 2.5, 2.75, true));
 		
 //		double[] vels = path.getVels();
@@ -59,60 +60,93 @@ public class ProfileGenerator {
 	 */
 	private static ArrayList<Pose> posesFromVelsFile(String filename, BezierProfile profile) {
 		ArrayList<Pose> poses = new ArrayList<Pose>();
+		double[][] vels = velsFromFile(new File(Util.UTIL_DIR + filename + ".vels"));
+		if (vels == null) {
+			Util.println("Could not find " + filename);
+			return poses;
+		} //if
 		
-		try {
-			Scanner s = new Scanner(new File(Util.UTIL_DIR + filename + ".vels"));
+		//parameters for calculating displacement vector
+		double width = profile.getTrackWidth();
+		double heading = Math.toRadians(profile.getInitialHeading());
+		Point start = profile.getStartPosition();
+		double dt = Util.UPDATE_PERIOD;
+		
+		//add first pose
+		poses.add(new Pose(start, heading));
+		double x = start.getX();
+		double y = start.getY();
+		
+		for (int i = 0; i < vels[0].length; i++) {
+			double leftDisp = vels[0][i] * dt * 12; //v * t, inches
+			double rightDisp = vels[1][i] * dt * 12; //v * t, inches
+			
+			//displacement vector
+			double mag = (leftDisp + rightDisp) / 2;
+			double angle = (rightDisp - leftDisp) / width;
 			
-			//parameters for calculating displacement vector
-			double width = profile.getTrackWidth();
-			double heading = Math.toRadians(profile.getInitialHeading());
-			Point start = profile.getStartPosition();
-			double dt = Util.UPDATE_PERIOD;
+			//create point for pose
+			x += mag * Math.sin(heading);
+			y += mag * Math.cos(heading);
+			Point p = new Point(x, y);
 			
-			//add first pose
-			poses.add(new Pose(start, heading));
-			double x = start.getX();
-			double y = start.getY();
+			//add pose
+			poses.add(new Pose(p, heading));
+
+			//update heading
+			heading += angle;
+		} //loop
+		
+		return poses;
+	} //end posesFromVelsFile
+	
+	/**
+	 * Read the wheel velocities from a velocities file, or from its binary copy if it is up to date
+	 * @param file Text file of time, left and right velocity on each line
+	 * @return Left then right velocities in ft/s, null if the file could not be found
+	 */
+	private static double[][] velsFromFile(File file) {
+		//the binary copy written with the text file is read without parsing
+		TrajectoryFile copy = TrajectoryFile.openBinaryCopy(file, TrajectoryFile.KIND.VELOCITIES);
+		if (copy != null)
+			return new double[][] {copy.copyColumn(1), copy.copyColumn(2)};
+		
+		try {
+			Scanner s = new Scanner(file);
+			double[] left = new double[64];
+			double[] right = new double[64];
+			int n = 0;
 			
 			while (s.hasNext()) {
-				s.next(); //skip time token
-				double leftDisp = s.nextDouble() * dt * 12; //v * t, inches
-				double rightDisp = s.nextDouble() * dt * 12; //v * t, inches
-				
-				//displacement vector
-				double mag = (leftDisp + rightDisp) / 2;
-				double angle = (rightDisp - leftDisp) / width;
-				
-				//create point for pose
-				x += mag * Math.sin(heading);
-				y += mag * Math.cos(heading);
-				Point p = new Point(x, y);
+				if (n == left.length) {
+					left = Arrays.copyOf(left, n * 2);
+					right = Arrays.copyOf(right, n * 2);
+				} //if
 				
-				//add pose
-				poses.add(new Pose(p, heading));
-
-				//update heading
-				heading += angle;
+				s.next(); //skip time token
+				left[n] = s.nextDouble();
+				right[n] = s.nextDouble();
+				n++;
 			} //loop
 			
 			s.close();
+			return new double[][] {Arrays.copyOf(left, n), Arrays.copyOf(right, n)};
 			
 		} catch (FileNotFoundException e) {
-			Util.println("Could not find " + filename);
+			return null;
 		} //try-catch
-		
-		return poses;
-	} //end posesFromVelsFile
+	} //end velsFromFile
 	
 	/**
-	 * Write a list of poses to a file
+	 * Write a list of poses to a file, along with a binary copy that posesFromFile reads instead
 	 * @param poses List of poses
 	 * @param filename Name of the file to write to 
-	 * @return True if writing was successful, false if not
+	 * @return True if writing both files was successful, false if not
 	 */
 	private static boolean posesToFile(ArrayList<Pose> poses, String filename) {
+		File file = new File(Util.UTIL_DIR + filename + ".poses");
 		try {
-			PrintWriter pw = new PrintWriter(new File(Util.UTIL_DIR + filename + ".poses"));
+			PrintWriter pw = new PrintWriter(file);
 			
 			//loop through poses list, adding (x,y,theta) to file
 			for (int i = 0; i < poses.size(); i++) {
@@ -124,12 +158,14 @@ public class ProfileGenerator {
 			} //loop
 			
 			pw.close();
-			return true;
 			
 		} catch (FileNotFoundException e) {
 			Util.println("Could not find " + filename);
 			return false;
 		} //try-catch
+		
+		//written after the text file so it is not older than it
+		return posesToBinaryFile(poses, TrajectoryFile.getBinaryCopy(file));
 	} //end posesToFile
 	
 	/**
@@ -138,10 +174,16 @@ public class ProfileGenerator {
 	 * @return List of poses, one from each line
 	 */
 	public static ArrayList<Pose> posesFromFile(String filename) {
-		ArrayList<Pose> poses = new ArrayList<Pose>();
+		File file = new File(Util.UTIL_DIR + filename + ".poses");
+		
+		//the binary copy written with the text file is read without parsing
+		TrajectoryFile copy = TrajectoryFile.openBinaryCopy(file, TrajectoryFile.KIND.POSES);
+		if (copy != null)
+			return posesFromBinaryFile(copy);
 		
+		ArrayList<Pose> poses = new ArrayList<Pose>();
 		try {
-			Scanner s = new Scanner(new File(Util.UTIL_DIR + filename + ".poses"));
+			Scanner s = new Scanner(file);
 
 			//loop through each token, getting the x, y, and heading 
 			while(s.hasNext()) {
@@ -161,6 +203,40 @@ public class ProfileGenerator {
 		return poses;
 	} //end posesFromFile
 	
+	/**
+	 * Write a list of poses to a binary trajectory file
+	 * @param poses List of poses
+	 * @param file File to write to
+	 * @return True if writing was successful, false if not
+	 */
+	private static boolean posesToBinaryFile(ArrayList<Pose> poses, File file) {
+		double[][] columns = new double[3][poses.size()];
+		
+		//x, y and heading of each pose in their own columns
+		for (int i = 0; i < poses.size(); i++) {
+			columns[0][i] = poses.get(i).getPoint().getX();
+			columns[1][i] = poses.get(i).getPoint().getY();
+			columns[2][i] = poses.get(i).getHeading();
+		} //loop
+		
+		return TrajectoryFile.write(file, TrajectoryFile.KIND.POSES, columns, true);
+	} //end posesToBinaryFile
+	
+	/**
+	 * Get a list of poses from an open binary trajectory file
+	 * @param file POSES file
+	 * @return List of poses, one from each row
+	 */
+	private static ArrayList<Pose> posesFromBinaryFile(TrajectoryFile file) {
+		ArrayList<Pose> poses = new ArrayList<Pose>();
+		
+		for (int i = 0; i < file.getNumRows(); i++) {
+			poses.add(new Pose(new Point(file.get(0, i), file.get(1, i)), file.get(2, i)));
+		} //loop
+		
+		return poses;
+	} //end posesFromBinaryFile
+	
 	public static boolean posesToFile(BezierProfile profile, String filename) {
 		try {
 			PrintWriter pw = new PrintWriter(new File(Util.UTIL_DIR + filename + ".ramsete"));
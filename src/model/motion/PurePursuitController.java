@@ -7,8 +7,6 @@
 
 package model.motion;
 
-import java.util.ArrayList;
-
 import org.knowm.xchart.XYChart;
 
 import model.FieldPositioning;
@@ -32,6 +30,10 @@ public class PurePursuitController {
 	//Pure Pursuit
 	private double lookahead; //lookahead distance
 	private Point[] goals; //array of goals to follow
+	private PathIndex pathIndex; //grid of the goal segments for the closest point and intersect searches
+	private int closestIndex; //index of the closest goal found last, the next search starts from it
+	private Point intersect = new Point(0, 0); //last lookahead intersect, reused every update
+	private int goalSegment; //index of the path point the goal was found from, the start of its segment
 	
 	//Controller
 	private boolean arrived; //whether or not the controller has arrived at the final point
@@ -39,14 +41,19 @@ public class PurePursuitController {
 	private Point goal; //current goal to follow
 	private double speed; //linear speed output
 	private double turn; //angular speed output
-	private Pose robotPose; //pose of the robot
+	private double robotX; //x position of the robot in inches
+	private double robotY; //y position of the robot in inches
+	private double robotHeading; //heading of the robot in radians
 	
 	//Rate Limiter
 	private double prevTime; //for rate limiter
 	private double lastSpeed; //last speed value
 	private double robotSpeed; //speed from robot
 	private double maxSpeedStep; //maximum amount the speed can increase
-	ArrayList<Double> output = new ArrayList<Double>();
+	private double period = Util.UPDATE_PERIOD; //seconds between updates
+	
+	//Diagnostics
+	private PursuitDiagnostics diagnostics; //last outputs of the controller, null when not recording
 		
 	/**
 	 * Create a pure pursuit controller
@@ -67,6 +74,12 @@ public class PurePursuitController {
 	public void setWaypoints(Point[] goals) {
 		this.goals = goals;
 		this.goal = goals[0]; //set the goal to be the first point
+		this.pathIndex = new PathIndex(goals, lookahead);
+		this.closestIndex = 0;
+		this.goalSegment = 0;
+		
+		if (diagnostics != null)
+			diagnostics.clear();
 	} //end setWaypoints
 		
 	/**
@@ -82,9 +95,22 @@ public class PurePursuitController {
 		this.maxSpeed = maxSpeed;
 		this.reverse = reverse;
 		this.lastSpeed = 0; //start at zero lastSpeed
-		this.maxSpeedStep = Util.UPDATE_PERIOD * maxSpeed / accTime;
+		this.maxSpeedStep = period * maxSpeed / accTime;
 	} //end setSeekConstants
 	
+	/**
+	 * Set the time between updates, like the robot's time step
+	 * @param period Loop period in seconds
+	 */
+	public void setPeriod(double period) {
+		if (period != this.period && accTime > 0)
+			this.maxSpeedStep = period * maxSpeed / accTime;
+		this.period = period;
+		
+		if (diagnostics != null)
+			diagnostics.setPeriod(period);
+	} //end setPeriod
+	
 	/**
 	 * Set the constants for the arrive mode
 	 * @param goal Distance to be from goal before ramping
@@ -102,8 +128,30 @@ public class PurePursuitController {
 	 */
 	public void setPurePursuitConstants(double lookahead) {
 		this.lookahead = lookahead;
+		
+		//cells about the size of the lookahead circle
+		if (goals != null)
+			this.pathIndex = new PathIndex(goals, lookahead);
 	} //end setPurePursuitConstants
 	
+	/**
+	 * Record the outputs of the controller every update, keeping only the most recent ones
+	 * @param capacity Number of updates to keep, zero or less to stop recording
+	 */
+	public void setDiagnostics(int capacity) {
+		this.diagnostics = capacity > 0 ? new PursuitDiagnostics(capacity) : null;
+		if (diagnostics != null)
+			diagnostics.setPeriod(period);
+	} //end setDiagnostics
+	
+	/**
+	 * Get the recorded outputs of the controller
+	 * @return Outputs since the path was set, null if not recording
+	 */
+	public PursuitDiagnostics getDiagnostics() {
+		return diagnostics;
+	} //end getDiagnostics
+	
 	/**
 	 * Get the linear output
 	 * @return Linear output from controller
@@ -137,11 +185,11 @@ public class PurePursuitController {
 	} //end getLookahead
 	
 	/**
-	 * Get the goal point
+	 * Get the goal point, copied since the lookahead intersect is reused every update
 	 * @return Goal point the controller is tracking
 	 */
 	public Point getGoal() {
-		return goal;
+		return goal.clone();
 	} //end getGoal
 	
 	/**
@@ -150,12 +198,25 @@ public class PurePursuitController {
 	 * @param robotSpeed Current linear speed of the robot
 	 */
 	public void calcOutputs(Pose robotPose, double robotSpeed) {
+		calcOutputs(robotX, robotY, robotHeading, robotSpeed);
+	} //end calcOutputs
+	
+	/**
+	 * Calculate the outputs for the controller without creating a pose
+	 * @param x X position of the robot in inches
+	 * @param y Y position of the robot in inches
+	 * @param heading Heading of the robot in radians
+	 * @param robotSpeed Current linear speed of the robot
+	 */
+	public void calcOutputs(double x, double y, double heading, double robotSpeed) {
 		//set the pose and current speed
-		this.robotPose = robotPose;
+		this.robotX = x;
+		this.robotY = y;
+		this.robotHeading = heading;
 		this.robotSpeed = robotSpeed;
 		
 		//calculate the arrived state
-		if (FieldPositioning.dist(robotPose.getPoint(), goal) <= endDist) {
+		if (FieldPositioning.dist(robotX, robotY, goal.getX(), goal.getY()) <= endDist) {
 			goalIndex++;
 			goal = goals[Math.min(goalIndex, goals.length-1)];
 		} //if
@@ -169,9 +230,7 @@ public class PurePursuitController {
 			this.turn = 0;
 			
 			/*
-			XYChart c = PlotGenerator.buildChart("PPC Speed vs. Time", "Time (s)", "Output (V)");
-			c.addSeries("Time", Util.scaleArray(Util.indexArray(output.size()), Util.UPDATE_PERIOD), 
-						Util.doubleListToArray(output));
+			XYChart c = PlotGenerator.createChartFromDiagnostics(600, 400, diagnostics, PursuitDiagnostics.SPEED);
 			PlotGenerator.displayChart(c);
 			*/
 			
@@ -199,12 +258,12 @@ public class PurePursuitController {
 	 */
 	private void seek() {
 		//Distance to the target and the absoule angle of the target
-		Point delta = Point.subtract(goal, robotPose.getPoint());
-		//double dist = delta.getMag();
-		double absAng = Math.atan2(delta.getX(), delta.getY());
+		double dx = goal.getX() - robotX;
+		double dy = goal.getY() - robotY;
+		double absAng = Math.atan2(dx, dy);
 		
 		//Calculate the relative angles to the target
-		double relAng = FieldPositioning.angleWrap(absAng - (robotPose.getHeading() - Math.PI/2));
+		double relAng = FieldPositioning.angleWrap(absAng - (robotHeading - Math.PI/2));
 		double relTurn = relAng - Math.PI/2;
 		double relTurn2 = relTurn + 2*Math.PI;
 		
@@ -226,8 +285,9 @@ public class PurePursuitController {
 		//calculate the turn output
 		turn = Math.copySign(turnConst * Math.abs(twist), twist);
 		
-		//set the last speed
-		output.add(speed); //dbg
+		//record the outputs
+		if (diagnostics != null)
+			diagnostics.record(speed, turn, twist, goalSegment);
 	} //end seek
 	
 	/**
@@ -244,8 +304,9 @@ public class PurePursuitController {
 	 */
 	private void arrive() {
 		//ramp down the speed based on how far from the final point it is
-		if (FieldPositioning.isWithinBounds(goals[goals.length-1], robotPose.getPoint(), goalDist)) {
-			double dist = FieldPositioning.dist(robotPose.getPoint(), goal);
+		Point end = goals[goals.length-1];
+		if (FieldPositioning.isWithinBounds(end.getX(), end.getY(), robotX, robotY, goalDist)) {
+			double dist = FieldPositioning.dist(robotX, robotY, goal.getX(), goal.getY());
 			double scaleFactor = dist < endDist ? 0 : (dist-endDist) / (goalDist-endDist);
 			speed = maxSpeed * scaleFactor;
 			//arrived = dist < endDist;
@@ -279,10 +340,8 @@ public class PurePursuitController {
 		 *   - find points in bounds of lookahead + some distance, lookahead times a constant
 		 *   - then evaluate intersects
 		 */
-		ArrayList<Point> intersects = new ArrayList<Point>();
-		for (int i = 0; i < goals.length-1; i++) {
-			intersects.addAll(FieldPositioning.lineCircleIntersect(goals[i], goals[i+1], robotPose.getPoint(), lookahead));
-		} //loop
+		//last intersect of the furthest segment the lookahead circle crosses
+		int segment = pathIndex.lastIntersect(robotX, robotY, lookahead, intersect);
 		
 		//if no intersects, choose the closest point the robot
 		//otherwise, choose the last intersect added
@@ -298,12 +357,16 @@ public class PurePursuitController {
 		 * 	 goal = last intersect
 		 */
 		
-		if (FieldPositioning.dist(robotPose.getPoint(), goals[goals.length-1]) < goalDist) {
-			goal = goals[goals.length-1];
-		} else if (intersects.isEmpty()) {
+		Point end = goals[goals.length-1];
+		if (FieldPositioning.dist(robotX, robotY, end.getX(), end.getY()) < goalDist) {
+			goal = end;
+			goalSegment = goals.length-1;
+		} else if (segment < 0) {
 			goal = closestPoint();
+			goalSegment = closestIndex;
 		} else {
-			goal = intersects.get(intersects.size()-1);
+			goal = intersect;
+			goalSegment = segment;
 		}
 		
 		arrive();
@@ -311,23 +374,11 @@ public class PurePursuitController {
 	} //end purePursuit
 	
 	/**
-	 * Get the point on the path the robot is closest to
+	 * Get the point on the path the robot is closest to, never going back past the last one found
 	 * @return Point in goals the robot is closest to 
 	 */
 	private Point closestPoint() {
-		double minDist = Double.POSITIVE_INFINITY;
-		int record = 0;
-		double dist = 0;
-		
-		//loop through every point, looking for the closest one
-		for (int i = 0; i < goals.length; i++) {
-			dist = FieldPositioning.distsq(goals[i], robotPose.getPoint());
-			if (dist < minDist) {
-				minDist = dist;
-				record = i;
-			} //if
-		} //loop
-		
-		return goals[record];
+		closestIndex = pathIndex.closestIndex(robotX, robotY, closestIndex);
+		return goals[closestIndex];
 	} //end closestPoint
 } //end class
\ No newline at end of file
@@ -0,0 +1,175 @@
+/**
+ * PursuitDiagnostics
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Fixed size ring of the last outputs of a pure pursuit controller
+ */
+
+package model.motion;
+
+import java.util.Arrays;
+
+import util.Util;
+
+public class PursuitDiagnostics {
+	//Constants
+	//Columns
+	public static final int SPEED = 0; //linear output
+	public static final int TURN = 1; //angular output
+	public static final int TWIST = 2; //angle to the goal relative to the robot in radians
+	public static final int GOAL_INDEX = 3; //index of the path point the goal was found from, the start of its segment
+	public static final int NUM_COLUMNS = 4;
+
+	private static final String[] NAMES = {"Speed", "Turn", "Twist", "Goal Index"}; //names of the columns
+
+	//Attributes
+	private double[][] columns; //values by column then slot in the ring
+	private int capacity; //number of ticks kept
+	private int next; //slot the next tick is written to
+	private int size; //number of ticks kept so far, at most the capacity
+	private long count; //number of ticks recorded since the last clear
+	private double period = Util.UPDATE_PERIOD; //seconds between ticks
+
+	/**
+	 * Create an empty ring
+	 * @param capacity Number of ticks kept, older ticks are overwritten
+	 */
+	public PursuitDiagnostics(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Diagnostics need room for at least one tick, was " + capacity);
+
+		this.capacity = capacity;
+		this.columns = new double[NUM_COLUMNS][capacity];
+	} //end constructor
+
+	/**
+	 * Record the outputs of one tick, overwriting the oldest one if the ring is full
+	 * @param speed Linear output
+	 * @param turn Angular output
+	 * @param twist Angle to the goal relative to the robot in radians
+	 * @param goalIndex Index of the path point the goal was found from, the start of its segment
+	 */
+	public void record(double speed, double turn, double twist, int goalIndex) {
+		columns[SPEED][next] = speed;
+		columns[TURN][next] = turn;
+		columns[TWIST][next] = twist;
+		columns[GOAL_INDEX][next] = goalIndex;
+
+		next = next + 1 == capacity ? 0 : next + 1;
+		size = Math.min(size + 1, capacity);
+		count++;
+	} //end record
+
+	/**
+	 * Forget every tick recorded
+	 */
+	public void clear() {
+		next = 0;
+		size = 0;
+		count = 0;
+	} //end clear
+
+	/**
+	 * Set the time between ticks, used for the times of the ticks kept
+	 * @param period Loop period in seconds
+	 */
+	public void setPeriod(double period) {
+		this.period = period;
+	} //end setPeriod
+
+	/**
+	 * Get the number of ticks kept
+	 * @return Number of ticks that can be read, at most the capacity
+	 */
+	public int size() {
+		return size;
+	} //end size
+
+	/**
+	 * Get the number of ticks the ring holds
+	 * @return Capacity of the ring
+	 */
+	public int getCapacity() {
+		return capacity;
+	} //end getCapacity
+
+	/**
+	 * Get the number of ticks recorded, including the ones overwritten
+	 * @return Ticks recorded since the last clear
+	 */
+	public long getCount() {
+		return count;
+	} //end getCount
+
+	/**
+	 * Get the name of a column for charts
+	 * @param column Column like SPEED
+	 * @return Name of the column
+	 */
+	public static String getName(int column) {
+		return NAMES[column];
+	} //end getName
+
+	/**
+	 * Get a value
+	 * @param column Column of the value, like TWIST
+	 * @param index Index of the tick kept, zero is the oldest
+	 * @return Value at the tick
+	 */
+	public double get(int column, int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " with " + size + " ticks kept");
+
+		return columns[column][slot(index)];
+	} //end get
+
+	/**
+	 * Get the slot in the ring of a tick
+	 * @param index Index of the tick kept, zero is the oldest
+	 * @return Slot the tick is stored in
+	 */
+	private int slot(int index) {
+		int oldest = size < capacity ? 0 : next;
+		int slot = oldest + index;
+		return slot >= capacity ? slot - capacity : slot;
+	} //end slot
+
+	/**
+	 * Copy a column in the order it was recorded
+	 * @param column Column to copy
+	 * @return Value at every tick kept, oldest first
+	 */
+	public double[] getColumn(int column) {
+		double[] values = new double[size];
+		int oldest = size < capacity ? 0 : next;
+		int first = Math.min(size, capacity - oldest); //ticks before the ring wraps around
+
+		System.arraycopy(columns[column], oldest, values, 0, first);
+		System.arraycopy(columns[column], 0, values, first, size - first);
+		return values;
+	} //end getColumn
+
+	/**
+	 * Get the time of every tick kept, counting from the first tick recorded
+	 * @return Time of each tick in seconds, oldest first
+	 */
+	public double[] getTimes() {
+		double[] times = new double[size];
+		long first = count - size; //ticks overwritten
+
+		for (int i = 0; i < size; i++) {
+			times[i] = (first + i) * period;
+		} //loop
+
+		return times;
+	} //end getTimes
+
+	/**
+	 * Get the values of a column as a string for debugging
+	 * @param column Column to print
+	 * @return Values kept, oldest first
+	 */
+	public String getString(int column) {
+		return NAMES[column] + " " + Arrays.toString(getColumn(column));
+	} //end getString
+} //end PursuitDiagnostics
@@ -10,13 +10,18 @@ package model.motion;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
+import java.io.Serializable;
 import java.util.Scanner;
 
 import model.FieldPositioning;
 import model.Point;
 import util.Util;
 
-public class PursuitPath {
+public class PursuitPath implements Serializable {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	private static final String EXTENSION = ".prstpath"; //extension of the text file
+	
 	//Attributes
 	private BezierPath path; //quintic bezier spline
 	private double trackWidth; //wheel-wheel robot width in inches
@@ -24,8 +29,10 @@ public class PursuitPath {
 	private double acc; //acceleration constant in in/s^2
 	private double dec; //deceleration constant in in/s^2
 	private double DIST_STEP; //spacing between points
+	private final double LENGTH_TOLERANCE = 1E-6; //allowed error in the arclength in inches
 	
 	private Point[] points; //points along the path
+	private double[] tVals; //t value of the curve at each point
 	private double totalLength; //total length of the path in inches
 	private double[] distAlongPath; //distance along the path at each point in inches
 	private double[] radius; //radius of the path at each point
@@ -110,22 +117,20 @@ public class PursuitPath {
 	 */
 	private void createPath() {
 		/*
-		 * Create a list of points with even t value spacing. This is later used to split the
+		 * Measure the curve by integrating its speed. This is later used to split the
 		 * curve up into segments of equal length.
 		 */
-		double[] tDistances = parameterizeByT();
+		ArcLength arcLength = new ArcLength(path, LENGTH_TOLERANCE);
+		this.totalLength = arcLength.getLength();
 		
 		/*
-		 * Create the evenly spaced points list by linearly interpolating between the points based on the
-		 * distance along the curve. The curve radius (inverse of curvature) and heading (degrees) is
-		 * also calculated at this point.
+		 * Create the evenly spaced points list by finding the t value at each distance along 
+		 * the curve.
 		 */
-		parameterizeByD(tDistances);
+		parameterizeByD(arcLength);
 		
-		/**
-		 * Calculate the radius of travel between adjacent points. Beginning and end segments
-		 * are assumed to be straight (ie. very large radius) such that the curvature value 
-		 * (C = 1/r) is very small.
+		/*
+		 * Calculate the radius of travel at each point from the derivatives of the curve.
 		 */
 		calcRadii();
 		
@@ -147,63 +152,30 @@ public class PursuitPath {
 		applyDecelerationConstraint();
 	} //end createPath
 	
-	/**
-	 * Parameterize the curve with evenly spaced t-values
-	 * @return Array with distance along path at each step
-	 */
-	private double[] parameterizeByT() {
-		final int size = 500; //total resolution
-		final double step = 1.0/size; //step size for t-value
-		
-		double t = 0; //parametric value
-		double dist = 0; //cumulative distance
-		
-		double[] distances = new double[size];
-		distances[0] = 0; //start with zero distance
-		
-		for (int i = 1; i < size; i++) {
-			t += step;
-			//cumulatively sum the distance
-			dist += FieldPositioning.dist(path.calcPoint(t), path.calcPoint(t - step));
-			distances[i] = dist;
-		} //loop
-		
-		//total length of the path is the fully summed value
-		this.totalLength = distances[distances.length-1];
-		return distances;
-	} //end parameterizeByT
-	
 	/**
 	 * Split the curve up into equally spaced points
-	 * @param tDistances Distance along the path when parameterically defined
+	 * @param arcLength Distance along the path and the t value at a distance
 	 */
-	private void parameterizeByD(double[] tDistances) {
+	private void parameterizeByD(ArcLength arcLength) {
 		final int size = (int) Math.ceil(this.totalLength / DIST_STEP); //total length / step length
-		final double step = 1.0 / tDistances.length; //for new t values
 		double dist = 0; //cumulative distance
 		
 		//initialize the points array
 		this.points = new Point[size];
 		this.points[0] = path.getControlPoints()[0]; //first point of path object
 		
+		//initialize the t values array
+		this.tVals = new double[size];
+		tVals[0] = 0;
+		
 		//initialize the distance array
 		this.distAlongPath = new double[size];
 		distAlongPath[0] = 0; //start at zero units
 		
 		for (int i = 1; i < size; i++) {			
-			double d = (double) i * DIST_STEP;
-			//index of the distance in tDistances just below dist (bottom of the sandwich)
-			int k = Util.findSandwichedElements(tDistances, d, 1E-3)[0];
-			
-			//linear interpolation
-			double t2 = (k+1) * step;
-			double t1 = k * step;
-			double d2 = tDistances[k+1];
-			double d1 = tDistances[k];
-			
-			//add the point at the interpolated t value to the curve
-			double t = Util.interpolate(d, t1, d1, t2, d2);
-			points[i] = path.calcPoint(t);
+			//add the point at the t value the distance is reached at
+			tVals[i] = arcLength.calcT((double) i * DIST_STEP);
+			points[i] = path.calcPoint(tVals[i]);
 			
 			//add the distance to the distances array
 			dist += FieldPositioning.dist(points[i-1], points[i]);
@@ -216,14 +188,12 @@ public class PursuitPath {
 	 */
 	private void calcRadii() {
 		radius = new double[points.length];
-		
-		//first and last segments have max radius
-		radius[0] = 100000;
-		radius[radius.length-1] = 100000;
+		double[] eval = new double[4]; //position, heading and curvature at a point
 		
 		//calculate radii at each point
-		for (int i = 1; i < radius.length-1; i++) {
-			radius[i] = FieldPositioning.calcRadius(points[i-1], points[i], points[i+1]);
+		for (int i = 0; i < radius.length; i++) {
+			path.evaluate(tVals[i], eval);
+			radius[i] = path.radius(eval[BezierPath.CURVATURE]);
 		} //loop
 	} //end calcRadii
 	
@@ -272,14 +242,14 @@ public class PursuitPath {
 	//File
 	
 	/**
-	 * Write the path to a file
+	 * Write the path to a file, along with a binary copy that createFromFile reads instead
 	 * @param filename Name of the file
-	 * @return True if writing was successful, false if not
+	 * @return True if writing both files was successful, false if not
 	 */
 	public boolean writeToFile(String filename) {
+		File file = new File(Util.UTIL_DIR + filename + EXTENSION);
 		try {
-			filename = Util.UTIL_DIR + filename + ".prstpath";
-			PrintWriter pw = new PrintWriter(new File(filename));
+			PrintWriter pw = new PrintWriter(file);
 			
 			//header of file is size of path
 			pw.println(points.length);
@@ -296,12 +266,13 @@ public class PursuitPath {
 			
 			pw.close();
 			
-			return true;
-			
 		} catch (FileNotFoundException f) {
-			Util.println("Could not find", filename);
+			Util.println("Could not find", file.getName());
 			return false;
 		} //try-catch
+		
+		//written after the text file so it is not older than it
+		return writeToBinaryFile(TrajectoryFile.getBinaryCopy(file));
 	} //end writeToFile
 	
 	/**
@@ -383,8 +354,15 @@ public class PursuitPath {
 	 * @return Path object if reading & creating was successful, null if not
 	 */
 	public static PursuitPath createFromFile(String filename) {
+		File file = new File(Util.UTIL_DIR + filename + EXTENSION);
+		
+		//the binary copy written with the text file is read without parsing
+		TrajectoryFile copy = TrajectoryFile.openBinaryCopy(file, TrajectoryFile.KIND.PURSUIT_PATH);
+		if (copy != null)
+			return createFromBinaryFile(copy);
+		
 		try {
-			Scanner s = new Scanner(new File(Util.UTIL_DIR + filename + ".prstPath"));
+			Scanner s = new Scanner(file);
 			final int size = Integer.parseInt(s.nextLine()); //size from first line
 			
 			//Values for path
@@ -418,6 +396,54 @@ public class PursuitPath {
 		} //try-catch
 	} //end createFromFile
 	
+	/**
+	 * Write the path to a binary trajectory file, much faster to read than the text file
+	 * @param file File to write
+	 * @return True if writing was successful, false if not
+	 */
+	public boolean writeToBinaryFile(File file) {
+		double[] xs = new double[points.length];
+		double[] ys = new double[points.length];
+		for (int i = 0; i < points.length; i++) {
+			xs[i] = points[i].getX();
+			ys[i] = points[i].getY();
+		} //loop
+		
+		double[][] columns = {xs, ys, distAlongPath, radius, vel};
+		return TrajectoryFile.write(file, TrajectoryFile.KIND.PURSUIT_PATH, columns, true);
+	} //end writeToBinaryFile
+	
+	/**
+	 * Create a path object from a binary trajectory file
+	 * @param file File to read
+	 * @return Path object if reading & creating was successful, null if not
+	 */
+	public static PursuitPath createFromBinaryFile(File file) {
+		TrajectoryFile binary = TrajectoryFile.open(file);
+		if (binary == null || binary.getKind() != TrajectoryFile.KIND.PURSUIT_PATH) {
+			Util.println("Could not read a pursuit path from", file.getName());
+			return null;
+		} //if
+		
+		return createFromBinaryFile(binary);
+	} //end createFromBinaryFile
+	
+	/**
+	 * Create a path object from the columns of an open binary trajectory file
+	 * @param file PURSUIT_PATH file
+	 * @return Path object with the values of the file
+	 */
+	private static PursuitPath createFromBinaryFile(TrajectoryFile file) {
+		//Values for path
+		int size = file.getNumRows();
+		Point[] points = new Point[size];
+		for (int i = 0; i < size; i++) {
+			points[i] = new Point(file.get(0, i), file.get(1, i));
+		} //loop
+		
+		return new PursuitPath(points, file.copyColumn(2), file.copyColumn(3), file.copyColumn(4));
+	} //end createFromBinaryFile
+	
 	/**
 	 * Get the points in the path
 	 * @return Evenly spaced points on the path
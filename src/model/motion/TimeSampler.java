@@ -0,0 +1,115 @@
+/**
+ * TimeSampler
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Finds the samples of a profile around a time, and interpolates values between them
+ */
+
+package model.motion;
+
+import java.io.Serializable;
+
+public class TimeSampler implements Serializable {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	private static final int MAX_STEPS = 4; //samples stepped forward from the cursor before searching
+
+	//Attributes
+	private double[] times; //time of each sample in seconds, never decreasing
+	private int cursor; //sample at or before the last time looked up, only a hint where to start
+
+	/**
+	 * Create a sampler for the times of a profile. Lookups only read the cursor once and check it
+	 * before trusting it, so a profile shared between threads can be played back from all of them.
+	 * @param times Time of each sample in seconds, never decreasing, not copied
+	 */
+	public TimeSampler(double[] times) {
+		if (times.length == 0)
+			throw new IllegalArgumentException("Need at least one sample time");
+
+		this.times = times;
+	} //end constructor
+
+	/**
+	 * Find the sample at or before a time. Times after the last lookup, like a profile being played
+	 * back, are found in constant time and any other time with a binary search.
+	 * @param time Time in seconds, clamped to the times of the samples
+	 * @return Index of the sample
+	 */
+	public int indexAt(double time) {
+		int last = times.length - 1;
+
+		if (time <= times[0]) {
+			return 0;
+		} else if (time >= times[last]) {
+			return last;
+		} //if
+
+		//another thread may move the cursor, so work from a copy of it
+		int i = Math.min(cursor, last - 1);
+
+		//playback moves forward a sample or two each tick, so step before searching
+		if (times[i] <= time) {
+			for (int k = 0; k < MAX_STEPS && times[i + 1] <= time; k++) {
+				i++;
+			} //loop
+
+			if (times[i + 1] <= time)
+				i = search(time, i, last);
+		} else {
+			i = search(time, 0, i);
+		} //if
+
+		cursor = i;
+		return i;
+	} //end indexAt
+
+	/**
+	 * Find where a time falls between the samples
+	 * @param time Time in seconds, clamped to the times of the samples
+	 * @return Index of the sample at or before the time plus the fraction of the way to the next sample
+	 */
+	public double positionAt(double time) {
+		int i = indexAt(time);
+		if (i == times.length - 1)
+			return i;
+
+		//time is between the sample and the next one
+		double gap = times[i + 1] - times[i];
+		double fraction = gap == 0 ? 0 : (Math.max(time, times[0]) - times[i]) / gap;
+		return i + Math.min(fraction, 1);
+	} //end positionAt
+
+	/**
+	 * Binary search for the last sample at or before a time
+	 * @param time Time in seconds, inside the range of the samples
+	 * @param lo Index of a sample at or before the time
+	 * @param hi Index of a sample after the time, or the last sample
+	 * @return Index of the last sample at or before the time
+	 */
+	private int search(double time, int lo, int hi) {
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (times[mid] <= time) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			} //if
+		} //loop
+
+		return lo;
+	} //end search
+
+	/**
+	 * Linearly interpolate a value at a time
+	 * @param values Value at each sample
+	 * @param time Time in seconds, clamped to the times of the samples
+	 * @return Value at the time
+	 */
+	public double interpolate(double[] values, double time) {
+		double position = positionAt(time);
+		int i = (int) position;
+		double fraction = position - i;
+		return fraction == 0 ? values[i] : values[i] + (values[i + 1] - values[i]) * fraction;
+	} //end interpolate
+} //end TimeSampler
@@ -0,0 +1,346 @@
+/**
+ * TrajectoryFile
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Binary file of paths, velocities and poses stored as little-endian columns, read through a memory map
+ */
+
+package model.motion;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+import model.motion.TrajectoryStore.STORAGE;
+import util.Util;
+
+public class TrajectoryFile {
+	//What the columns of a file hold
+	public enum KIND {
+		PURSUIT_PATH(1, 5), //x, y, distance along path, radius, velocity
+		VELOCITIES(2, 3), //time, left velocity, right velocity
+		POSES(3, 3), //x, y, heading
+		TRAJECTORY(4, TrajectoryStore.NUM_COLUMNS); //columns of a TrajectoryStore
+
+		private final int code; //number saved in the header
+		private final int numColumns; //columns every file of this kind has
+
+		/**
+		 * Create a kind of file
+		 * @param code Number saved in the header
+		 * @param numColumns Columns every file of this kind has
+		 */
+		private KIND(int code, int numColumns) {
+			this.code = code;
+			this.numColumns = numColumns;
+		} //end constructor
+
+		/**
+		 * Get the number of columns every file of this kind has
+		 * @return Number of columns
+		 */
+		public int getNumColumns() {
+			return numColumns;
+		} //end getNumColumns
+	} //end enum
+
+	//Constants
+	public static final String EXTENSION = ".astj";
+	public static final int VERSION = 1; //newest layout this class reads and writes
+	private static final byte[] MAGIC = {'A', 'S', 'T', 'J'}; //first bytes of every file
+	private static final int HEADER_BYTES = 32; //magic, version, kind, flags, columns, rows and checksum
+	private static final int FLAG_CHECKSUM = 1; //set when the checksum covers the data
+
+	//Attributes
+	private KIND kind; //what the columns hold
+	private int numRows; //values in each column
+	private DoubleBuffer[] columns; //views of each column in the mapped file
+
+	/**
+	 * Wrap the mapped columns of a file that has been checked
+	 * @param kind What the columns hold
+	 * @param numRows Values in each column
+	 * @param columns Views of each column
+	 */
+	private TrajectoryFile(KIND kind, int numRows, DoubleBuffer[] columns) {
+		this.kind = kind;
+		this.numRows = numRows;
+		this.columns = columns;
+	} //end constructor
+
+	/**
+	 * Write columns of values to a file
+	 * @param file File to write
+	 * @param kind What the columns hold
+	 * @param columns Values by column then row, every column the same length
+	 * @param checksum Whether to save a CRC32 of the data that is checked when the file is opened
+	 * @return True if writing was successful, false if not
+	 */
+	public static boolean write(File file, KIND kind, double[][] columns, boolean checksum) {
+		if (columns.length != kind.numColumns)
+			throw new IllegalArgumentException(kind + " files have " + kind.numColumns + " columns, was given " + columns.length);
+
+		int numRows = columns[0].length;
+		for (int c = 1; c < columns.length; c++) {
+			if (columns[c].length != numRows)
+				throw new IllegalArgumentException("Column " + c + " has " + columns[c].length + " rows, not " + numRows);
+		} //loop
+
+		//data after the header, one column after another
+		ByteBuffer data = ByteBuffer.allocate(columns.length * numRows * 8).order(ByteOrder.LITTLE_ENDIAN);
+		DoubleBuffer values = data.asDoubleBuffer();
+		for (int c = 0; c < columns.length; c++) {
+			values.put(columns[c]);
+		} //loop
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		header.put(MAGIC);
+		header.putInt(VERSION);
+		header.putInt(kind.code);
+		header.putInt(checksum ? FLAG_CHECKSUM : 0);
+		header.putInt(columns.length);
+		header.putInt(numRows);
+		header.putLong(checksum ? crc(data) : 0);
+		header.flip();
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			FileChannel channel = raf.getChannel();
+			channel.truncate(0);
+			while (header.hasRemaining())
+				channel.write(header);
+			while (data.hasRemaining())
+				channel.write(data);
+			return true;
+
+		} catch (IOException e) {
+			Util.println("Could not write", file.getName());
+			return false;
+		} //try-catch
+	} //end write
+
+	/**
+	 * Write the points of a profile to a file
+	 * @param file File to write
+	 * @param store Points of the profile
+	 * @param checksum Whether to save a CRC32 of the data that is checked when the file is opened
+	 * @return True if writing was successful, false if not
+	 */
+	public static boolean write(File file, TrajectoryStore store, boolean checksum) {
+		double[][] columns = new double[TrajectoryStore.NUM_COLUMNS][];
+		for (int c = 0; c < columns.length; c++) {
+			columns[c] = store.getColumn(c);
+		} //loop
+
+		return write(file, KIND.TRAJECTORY, columns, checksum);
+	} //end write
+
+	/**
+	 * Calculate the checksum of the data of a file
+	 * @param data Data after the header
+	 * @return CRC32 of the data
+	 */
+	private static long crc(ByteBuffer data) {
+		CRC32 crc = new CRC32();
+		crc.update(data.duplicate());
+		return crc.getValue();
+	} //end crc
+
+	/**
+	 * Open a file without copying its data, checking the checksum if it has one. Nothing is printed
+	 * if the file cannot be opened, callers report it along with what they were reading.
+	 * @param file File to open
+	 * @return Columns of the file, null if it could not be read or is not a valid file
+	 */
+	public static TrajectoryFile open(File file) {
+		return open(file, true);
+	} //end open
+
+	/**
+	 * Open a file without copying its data. The file stays mapped until the object is garbage
+	 * collected, which on some systems keeps it from being deleted until then.
+	 * @param file File to open
+	 * @param verify Whether to check the checksum, reading every value once, if the file has one
+	 * @return Columns of the file, null if it could not be read or is not a valid file
+	 */
+	public static TrajectoryFile open(File file, boolean verify) {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			FileChannel channel = raf.getChannel();
+			if (channel.size() < HEADER_BYTES) //too short to be a trajectory file
+				return null;
+
+			//the mapping stays valid once the channel is closed
+			ByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+
+			//header
+			for (int i = 0; i < MAGIC.length; i++) {
+				if (map.get() != MAGIC[i]) //not a trajectory file
+					return null;
+			} //loop
+
+			int version = map.getInt();
+			int code = map.getInt();
+			int flags = map.getInt();
+			int numColumns = map.getInt();
+			int numRows = map.getInt();
+			long checksum = map.getLong();
+
+			if (version < 1 || version > VERSION) //written by a newer version
+				return null;
+
+			KIND kind = null;
+			for (KIND k : KIND.values()) {
+				if (k.code == code)
+					kind = k;
+			} //loop
+
+			if (kind == null || numColumns != kind.numColumns || numRows < 0
+					|| map.remaining() != (long) numColumns * numRows * 8) { //corrupt header
+				return null;
+			} //if
+
+			//data
+			ByteBuffer data = map.slice().order(ByteOrder.LITTLE_ENDIAN);
+			if (verify && (flags & FLAG_CHECKSUM) != 0 && crc(data) != checksum) //corrupt data
+				return null;
+
+			DoubleBuffer all = data.asDoubleBuffer();
+			DoubleBuffer[] columns = new DoubleBuffer[numColumns];
+			for (int c = 0; c < numColumns; c++) {
+				all.limit((c + 1) * numRows).position(c * numRows);
+				columns[c] = all.slice().asReadOnlyBuffer();
+			} //loop
+
+			return new TrajectoryFile(kind, numRows, columns);
+
+		} catch (IOException e) {
+			return null;
+		} //try-catch
+	} //end open
+
+	/**
+	 * Get the binary copy kept next to a text file
+	 * @param text Text file
+	 * @return File named after the text file with the trajectory extension added
+	 */
+	public static File getBinaryCopy(File text) {
+		return new File(text.getPath() + EXTENSION);
+	} //end getBinaryCopy
+
+	/**
+	 * Open the binary copy of a text file, if it was written no earlier than the text file
+	 * @param text Text file
+	 * @param kind What the columns of the copy should hold
+	 * @return Columns of the copy, null if there is no valid copy of the kind that is up to date
+	 */
+	public static TrajectoryFile openBinaryCopy(File text, KIND kind) {
+		File copy = getBinaryCopy(text);
+		if (!copy.isFile() || (text.isFile() && copy.lastModified() < text.lastModified()))
+			return null;
+
+		TrajectoryFile file = open(copy);
+		return file != null && file.kind == kind ? file : null;
+	} //end openBinaryCopy
+
+	/**
+	 * Convert a text file of whitespace separated values into a binary file. Every value keeps the
+	 * exact double it is parsed to, so converting back gives the same text.
+	 * @param text Text file with one row of values per line
+	 * @param kind What the columns hold, the first line of a PURSUIT_PATH file is its size and is skipped
+	 * @param out Binary file to write
+	 * @return True if converting was successful, false if not
+	 */
+	public static boolean convertTextFile(File text, KIND kind, File out) {
+		try {
+			String[] lines = new String(Files.readAllBytes(text.toPath()), "UTF-8").trim().split("\\R");
+			int first = kind == KIND.PURSUIT_PATH ? 1 : 0; //header line with the number of points
+			double[][] columns = new double[kind.numColumns][lines.length - first];
+
+			for (int r = first; r < lines.length; r++) {
+				String[] tokens = lines[r].trim().split("\\s+");
+				for (int c = 0; c < kind.numColumns; c++) {
+					columns[c][r - first] = Double.parseDouble(tokens[c]);
+				} //loop
+			} //loop
+
+			return write(out, kind, columns, true);
+
+		} catch (IOException e) {
+			Util.println("Could not find", text.getName());
+			return false;
+		} catch (RuntimeException e) {
+			Util.println("Issue parsing", text.getName());
+			return false;
+		} //try-catch
+	} //end convertTextFile
+
+	/**
+	 * Get what the columns hold
+	 * @return Kind of file
+	 */
+	public KIND getKind() {
+		return kind;
+	} //end getKind
+
+	/**
+	 * Get the number of values in each column
+	 * @return Number of rows
+	 */
+	public int getNumRows() {
+		return numRows;
+	} //end getNumRows
+
+	/**
+	 * Get a value
+	 * @param column Column of the value
+	 * @param row Row of the value
+	 * @return Value read from the mapped file
+	 */
+	public double get(int column, int row) {
+		return columns[column].get(row);
+	} //end get
+
+	/**
+	 * Get a column without copying it
+	 * @param column Column to get
+	 * @return Read only view of the column in the mapped file, positioned at the first row
+	 */
+	public DoubleBuffer getColumn(int column) {
+		return columns[column].duplicate();
+	} //end getColumn
+
+	/**
+	 * Copy a column into an array
+	 * @param column Column to copy
+	 * @return Value in every row
+	 */
+	public double[] copyColumn(int column) {
+		double[] values = new double[numRows];
+		columns[column].duplicate().get(values);
+		return values;
+	} //end copyColumn
+
+	/**
+	 * Copy the columns of a TRAJECTORY file into a store
+	 * @param storage Precision to keep the values at, DOUBLE or FLOAT
+	 * @return Store with every point of the file
+	 */
+	public TrajectoryStore toTrajectoryStore(STORAGE storage) {
+		if (kind != KIND.TRAJECTORY)
+			throw new IllegalStateException("Only TRAJECTORY files hold profile points, this is " + kind);
+
+		TrajectoryStore store = new TrajectoryStore(storage, numRows);
+		for (int i = 0; i < numRows; i++) {
+			store.add(get(TrajectoryStore.LEFT_POS, i), get(TrajectoryStore.LEFT_VEL, i), get(TrajectoryStore.LEFT_ACC, i),
+					get(TrajectoryStore.RIGHT_POS, i), get(TrajectoryStore.RIGHT_VEL, i), get(TrajectoryStore.RIGHT_ACC, i));
+			store.set(TrajectoryStore.HEADING, i, get(TrajectoryStore.HEADING, i));
+		} //loop
+
+		return store;
+	} //end toTrajectoryStore
+} //end TrajectoryFile
@@ -0,0 +1,223 @@
+/**
+ * TrajectoryStore
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Left and right trajectory points of a profile packed into one primitive array per value
+ */
+
+package model.motion;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class TrajectoryStore implements Serializable {
+	//Precision the values are kept at
+	public enum STORAGE {
+		DOUBLE, //8 bytes per value
+		FLOAT, //4 bytes per value, for batches of many profiles
+		ANALYTIC //nothing stored, profiles with a closed form calculate each point when asked
+	} //end enum
+
+	//Constants
+	private static final long serialVersionUID = 1L;
+	//Columns
+	public static final int LEFT_POS = 0;
+	public static final int LEFT_VEL = 1;
+	public static final int LEFT_ACC = 2;
+	public static final int RIGHT_POS = 3;
+	public static final int RIGHT_VEL = 4;
+	public static final int RIGHT_ACC = 5;
+	public static final int HEADING = 6;
+	public static final int NUM_COLUMNS = 7;
+
+	private static final int DEFAULT_CAPACITY = 64; //points held before growing
+
+	//Attributes
+	private STORAGE storage; //precision the values are kept at
+	private double[][] doubles; //values by column then point, null when storing floats
+	private float[][] floats; //values by column then point, null when storing doubles
+	private int size; //number of points added
+	private int capacity; //number of points the columns can hold
+
+	/**
+	 * Create an empty store
+	 * @param storage Precision to keep the values at, DOUBLE or FLOAT
+	 * @param capacity Number of points expected, the store grows past it if needed
+	 */
+	public TrajectoryStore(STORAGE storage, int capacity) {
+		if (storage == STORAGE.ANALYTIC)
+			throw new IllegalArgumentException("A store needs DOUBLE or FLOAT storage");
+		
+		this.storage = storage;
+		this.capacity = Math.max(1, capacity);
+
+		if (storage == STORAGE.FLOAT) {
+			floats = new float[NUM_COLUMNS][this.capacity];
+		} else {
+			doubles = new double[NUM_COLUMNS][this.capacity];
+		} //if
+	} //end constructor
+
+	/**
+	 * Create an empty store
+	 * @param storage Precision to keep the values at
+	 */
+	public TrajectoryStore(STORAGE storage) {
+		this(storage, DEFAULT_CAPACITY);
+	} //end constructor
+
+	/**
+	 * Add a point with the same values on both sides and a heading of zero
+	 * @param pos Position in inches
+	 * @param vel Velocity in ft/s
+	 * @param acc Acceleration in in/s^2
+	 */
+	public void add(double pos, double vel, double acc) {
+		add(pos, vel, acc, pos, vel, acc);
+	} //end add
+
+	/**
+	 * Add a point with a heading of zero
+	 * @param leftPos Left position in inches
+	 * @param leftVel Left velocity in ft/s
+	 * @param leftAcc Left acceleration in in/s^2
+	 * @param rightPos Right position in inches
+	 * @param rightVel Right velocity in ft/s
+	 * @param rightAcc Right acceleration in in/s^2
+	 */
+	public void add(double leftPos, double leftVel, double leftAcc, double rightPos, double rightVel, double rightAcc) {
+		if (size == capacity)
+			grow();
+
+		set(LEFT_POS, size, leftPos);
+		set(LEFT_VEL, size, leftVel);
+		set(LEFT_ACC, size, leftAcc);
+		set(RIGHT_POS, size, rightPos);
+		set(RIGHT_VEL, size, rightVel);
+		set(RIGHT_ACC, size, rightAcc);
+		set(HEADING, size, 0);
+		size++;
+	} //end add
+
+	/**
+	 * Double the number of points the columns can hold
+	 */
+	private void grow() {
+		capacity *= 2;
+
+		for (int c = 0; c < NUM_COLUMNS; c++) {
+			if (floats != null) {
+				floats[c] = Arrays.copyOf(floats[c], capacity);
+			} else {
+				doubles[c] = Arrays.copyOf(doubles[c], capacity);
+			} //if
+		} //loop
+	} //end grow
+
+	/**
+	 * Release the room left over once every point has been added
+	 */
+	public void trim() {
+		if (size == capacity || size == 0)
+			return;
+
+		capacity = size;
+		for (int c = 0; c < NUM_COLUMNS; c++) {
+			if (floats != null) {
+				floats[c] = Arrays.copyOf(floats[c], capacity);
+			} else {
+				doubles[c] = Arrays.copyOf(doubles[c], capacity);
+			} //if
+		} //loop
+	} //end trim
+
+	/**
+	 * Get the number of points
+	 * @return Number of points added
+	 */
+	public int size() {
+		return size;
+	} //end size
+
+	/**
+	 * Get the precision the values are kept at
+	 * @return Storage of the values
+	 */
+	public STORAGE getStorage() {
+		return storage;
+	} //end getStorage
+
+	/**
+	 * Get a value
+	 * @param column Column of the value, like LEFT_VEL
+	 * @param index Index of the point
+	 * @return Value at the point
+	 */
+	public double get(int column, int index) {
+		return floats != null ? floats[column][index] : doubles[column][index];
+	} //end get
+
+	/**
+	 * Set a value of a point that has been added
+	 * @param column Column of the value, like HEADING
+	 * @param index Index of the point
+	 * @param value New value
+	 */
+	public void set(int column, int index, double value) {
+		if (floats != null) {
+			floats[column][index] = (float) value;
+		} else {
+			doubles[column][index] = value;
+		} //if
+	} //end set
+
+	/**
+	 * Set a value for every point
+	 * @param column Column to fill
+	 * @param value Value for every point
+	 */
+	public void fill(int column, double value) {
+		if (floats != null) {
+			Arrays.fill(floats[column], 0, size, (float) value);
+		} else {
+			Arrays.fill(doubles[column], 0, size, value);
+		} //if
+	} //end fill
+
+	/**
+	 * Copy the left position, velocity and acceleration of a point into an array
+	 * @param index Index of the point
+	 * @param out Array of at least three values to fill
+	 */
+	public void getLeft(int index, double[] out) {
+		out[0] = get(LEFT_POS, index);
+		out[1] = get(LEFT_VEL, index);
+		out[2] = get(LEFT_ACC, index);
+	} //end getLeft
+
+	/**
+	 * Copy the right position, velocity and acceleration of a point into an array
+	 * @param index Index of the point
+	 * @param out Array of at least three values to fill
+	 */
+	public void getRight(int index, double[] out) {
+		out[0] = get(RIGHT_POS, index);
+		out[1] = get(RIGHT_VEL, index);
+		out[2] = get(RIGHT_ACC, index);
+	} //end getRight
+
+	/**
+	 * Copy a column
+	 * @param column Column to copy
+	 * @return Value at every point
+	 */
+	public double[] getColumn(int column) {
+		double[] values = new double[size];
+
+		for (int i = 0; i < size; i++) {
+			values[i] = get(column, i);
+		} //loop
+
+		return values;
+	} //end getColumn
+} //end TrajectoryStore
@@ -7,9 +7,12 @@
 
 package model.motion;
 
-import util.Util;
+import model.motion.TrajectoryStore.STORAGE;
 
-public class TrapezoidalProfile extends DriveProfile {
+public class TrapezoidalProfile extends DriveProfile implements AnalyticProfile {
+	//Constants
+	private static final long serialVersionUID = 1L;
+	
 	//Attributes
 	private double dT; //total distance in inches
 	private double dA; //acceleration distance in inches
@@ -28,6 +31,19 @@ public class TrapezoidalProfile extends DriveProfile {
 	 * @param maxVel
 	 */
 	public TrapezoidalProfile(double totalDist, double accDist, double maxVel) {
+		this(totalDist, accDist, maxVel, STORAGE.DOUBLE);
+	} //end constructor
+	
+	/**
+	 * Create a profile given a total distance, acceleration distance and a max velocity
+	 * @param totalDist
+	 * @param accDist
+	 * @param maxVel
+	 * @param storage How the points are kept, ANALYTIC calculates them when asked for
+	 */
+	public TrapezoidalProfile(double totalDist, double accDist, double maxVel, STORAGE storage) {
+		super(storage);
+		
 		//set attributes
 		this.dT = totalDist;
 		this.dA = accDist;
@@ -35,7 +51,8 @@ public class TrapezoidalProfile extends DriveProfile {
 		this.vM = maxVel * 12; //convert to inches
 		
 		computeConstants();
-		fillProfiles();
+		if (trajectory != null) //analytic profiles calculate their points when asked
+			fillProfiles();
 	} //end constructor
 
 	/**
@@ -63,13 +80,13 @@ public class TrapezoidalProfile extends DriveProfile {
 		double p = 0; //position
 		double v = 0; //velocity
 		double a = 0; //acceleration
-		double dt = Util.UPDATE_PERIOD; //time interval
+		double dt = period; //time interval
 		
-		int loops = (int) Math.ceil(tT / dt); //number of timesteps
+		int loops = getNumTicks() - 1; //number of timesteps, the last ending at or past the total time
+		this.trajectory = newTrajectory(loops + 1);
 		
 		//add first points
-		this.leftProfile.add(new double[] {0, 0, acc});
-		this.rightProfile.add(new double[] {0, 0, acc});
+		this.trajectory.add(0, 0, acc);
 		
 		for (int i = 1; i <= loops; i++) {
 			double t = i * dt; //current time
@@ -90,9 +107,50 @@ public class TrapezoidalProfile extends DriveProfile {
 				p += v * dt + 0.5 * a * dt * dt; //p = vt + 0.5at^2
 			} //if
 			
-			//add trajectory points to lists
-			this.leftProfile.add(new double[] {p, v / 12, a}); //vel back to ft/s
-			this.rightProfile.add(new double[] {p, v / 12, a});
+			//add trajectory point to both sides
+			this.trajectory.add(p, v / 12, a); //vel back to ft/s
 		} //loop
+		this.trajectory.trim();
 	} //end fillProfiles
+	
+	/**
+	 * Calculate the point at a time from the equations of motion of each phase
+	 * @param time Time in the profile in seconds
+	 * @param out Array of at least three values to fill with position, velocity and acceleration
+	 */
+	public void calcPoint(double time, double[] out) {
+		double p, v, a;
+		double tC = tT - tD; //time deceleration starts
+		
+		if (time <= 0) { //at rest, about to accelerate
+			p = 0;
+			v = 0;
+			a = acc;
+			
+		} else if (time < tA) { //accelerating
+			a = acc;
+			v = acc * time; //v = at
+			p = 0.5 * acc * time * time; //p = 0.5at^2
+			
+		} else if (time < tC) { //cruising
+			a = 0;
+			v = vM;
+			p = dA + vM * (time - tA); //p = dA + vt
+			
+		} else if (time < tT) { //decelerating
+			double t = time - tC;
+			a = dec;
+			v = vM + dec * t; //v = vM + at
+			p = dT - dD + vM * t + 0.5 * dec * t * t; //p = dC + vt + 0.5at^2
+			
+		} else { //stopped at the end
+			a = 0;
+			v = 0;
+			p = dT;
+		} //if
+		
+		out[0] = p;
+		out[1] = v / 12; //vel back to ft/s
+		out[2] = a;
+	} //end calcPoint
 } //end class
\ No newline at end of file
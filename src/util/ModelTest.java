@@ -8,28 +8,59 @@
 package util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Color;
+import java.awt.Font;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import commands.Command;
+import commands.CommandList;
 import commands.DriveDistance;
 import commands.DriveToGoal;
 import commands.TimedVoltage;
 import commands.routines.ConstantsTest;
+import commands.routines.GainSweep;
+import commands.routines.MonteCarlo;
+import graphics.Painter;
+import graphics.RenderCache;
 import graphics.components.BoxButton.BUTTON_STATE;
 import graphics.widgets.Circle;
+import main.SimRunner;
+import model.DormandPrinceIntegrator;
 import model.DriveLoop;
 import model.FieldPositioning;
 import model.Gearbox;
 import model.Motor;
 import model.PIDController;
 import model.Point;
+import model.Pose;
+import model.RecordingPolicy;
 import model.Robot;
+import model.RobotBatch;
+import model.TelemetryRecorder;
+import model.motion.ArcLength;
 import model.motion.BezierPath;
+import model.motion.BezierProfile;
+import model.motion.JerkProfile;
+import model.motion.PathIndex;
+import model.motion.ProfileCache;
+import model.motion.PurePursuitController;
+import model.motion.PursuitDiagnostics;
+import model.motion.PursuitPath;
+import model.motion.TimeSampler;
+import model.motion.TrajectoryFile;
+import model.motion.TrajectoryStore;
 import model.motion.TrapezoidalProfile;
 import util.Util.ROBOT_KEY;
 
@@ -207,6 +238,9 @@ class ModelTest {
 		ct.execute();
 		double correctSlope = 0.9908;
 		assertEquals(correctSlope, Util.kV_EMPIR, 1E-2);
+		
+		double correctkA = 0.1122; //1 / initial acceleration per volt
+		assertEquals(correctkA, Util.kA_EMPIR, 5E-3);
 	} //end ConstantsTest
 		
 	@Test
@@ -218,7 +252,431 @@ class ModelTest {
 		Point correctPoint = new Point(5.4, 3.7);
 		assertEquals(0.0, FieldPositioning.dist(correctPoint, testPath.calcPoint(0)), 0.1);
 	} //end pathPointTest
+
+	@Test
+	/**
+	 * Check if the analytic heading and radius match the ones from nearby points on the curve
+	 */
+	void pathDerivativeTest() {
+		BezierPath testPath = new BezierPath(FieldPoints.curve);
+		double[] eval = new double[4];
+		double t = 0.5, h = 1E-4;
+		testPath.evaluate(t, eval);
+
+		Point before = testPath.calcPoint(t - h);
+		Point after = testPath.calcPoint(t + h);
+		assertEquals(FieldPositioning.goalYaw(before, after), eval[BezierPath.HEADING], 1E-3);
+
+		//wider triangle, calcRadius treats tiny triangles as straight
+		double chordRadius = FieldPositioning.calcRadius(testPath.calcPoint(t - 0.02), testPath.calcPoint(t), testPath.calcPoint(t + 0.02));
+		assertEquals(chordRadius, testPath.radius(eval[BezierPath.CURVATURE]), chordRadius * 1E-2);
+
+		//collinear control points are a straight line
+		BezierPath line = new BezierPath(new double[][] {{0,0}, {0,10}, {0,20}, {0,30}, {0,40}, {0,50}});
+		assertEquals(0.0, line.calcHeading(0), 1E-9);
+		assertEquals(1E6, line.calcRadius(0.3), 1E-9);
+	} //end pathDerivativeTest
+
+	@Test
+	/**
+	 * Check if the arclength and the t value at a distance are correct
+	 */
+	void arcLengthTest() {
+		//evenly spaced collinear control points move at a constant speed
+		BezierPath line = new BezierPath(new double[][] {{0,0}, {0,10}, {0,20}, {0,30}, {0,40}, {0,50}});
+		ArcLength lineLength = new ArcLength(line, 1E-6);
+		assertEquals(50, lineLength.getLength(), 1E-6);
+		assertEquals(0.5, lineLength.calcT(25), 1E-6);
+
+		//inverting a distance on a curve gives a t value at that distance
+		ArcLength curveLength = new ArcLength(new BezierPath(FieldPoints.curve), 1E-6);
+		double s = curveLength.getLength() * 0.37;
+		assertEquals(s, curveLength.calcLength(curveLength.calcT(s)), 1E-5);
+	} //end arcLengthTest
+
+	@Test
+	/**
+	 * Check if a short, gentle path is split into fewer points than a long, curvy one
+	 */
+	void bezierProfileSizeTest() {
+		double[][] nudge = {{0,0}, {0,5}, {0,10}, {2,14}, {4,19}, {4,24}};
+		BezierProfile shortProfile = new BezierProfile(nudge, 30, 144, 200, 200);
+		BezierProfile longProfile = new BezierProfile(FieldPoints.niceLongCurve, 30, 144, 200, 200);
+
+		assertTrue("Nudge has " + shortProfile.getSize() + " points, long curve has " + longProfile.getSize(), 
+					shortProfile.getSize() < longProfile.getSize() / 2);
+		
+		//the middle of the line between each pair of points is on the curve, found from a dense sampling of it
+		int n = 20001;
+		double[] xs = new double[n];
+		double[] ys = new double[n];
+		longProfile.getPath().sample(0, 1, n, xs, ys, null, null);
+		Point[] points = longProfile.getPoints();
+		
+		for (int i = 0; i < points.length - 1; i++) {
+			double midX = (points[i].getX() + points[i+1].getX()) / 2;
+			double midY = (points[i].getY() + points[i+1].getY()) / 2;
+			
+			double closest = Double.MAX_VALUE;
+			for (int j = 0; j < n; j++) {
+				closest = Math.min(closest, FieldPositioning.dist(midX, midY, xs[j], ys[j]));
+			} //loop
+			
+			assertTrue("Gap " + i + " strays " + closest + " inches from the curve", 
+						closest <= BezierProfile.POSITION_TOLERANCE);
+		} //loop
+	} //end bezierProfileSizeTest
 	
+	@Test
+	/**
+	 * Ensure both ways of getting a Bezier profile point interpolate between the points of the profile
+	 */
+	void bezierProfileInterpolationTest() {
+		BezierProfile profile = new BezierProfile(FieldPoints.curve, 30, 144, 200, 200);
+		double[] left = new double[3];
+		double[] right = new double[3];
+		
+		//a step that does not line up with the points or the update period
+		for (double t = 0; t < profile.getTotalTime(); t += 0.0123) {
+			profile.getLeftTrajPoint(t, left);
+			profile.getRightTrajPoint(t, right);
+			
+			for (int i = 0; i < 3; i++) {
+				assertEquals(left[i], profile.getLeftTrajPoint(t)[i], 0);
+				assertEquals(right[i], profile.getRightTrajPoint(t)[i], 0);
+			} //loop
+		} //loop
+		
+		//poses move smoothly instead of jumping from point to point, even weaving around a heading of 180
+		double[][] weave = {{0, 100}, {10, 80}, {-10, 60}, {10, 40}, {-10, 20}, {0, 0}};
+		profile = new BezierProfile(weave, 30, 144, 200, 200);
+		double dt = 0.001;
+		Pose last = profile.getPose(0);
+		for (double t = dt; t < profile.getTotalTime(); t += dt) {
+			Pose pose = profile.getPose(t);
+			assertTrue("Jumped at " + t, FieldPositioning.dist(last.getPoint(), pose.getPoint()) <= 144 * dt * 1.01);
+			assertTrue("Turned at " + t, Math.abs(FieldPositioning.angleWrapDeg(pose.getHeading() - last.getHeading())) < 2);
+			assertEquals(pose.getHeading(), profile.getHeading(t), 0);
+			last = pose;
+		} //loop
+	} //end bezierProfileInterpolationTest
+
+	@Test
+	/**
+	 * Check if the sampler finds and interpolates the right points playing forward and jumping back
+	 */
+	void timeSamplerTest() {
+		double[] times = {0, 0.1, 0.3, 0.6, 1.0};
+		double[] values = {0, 1, 3, 6, 10}; //ten times the time
+		TimeSampler sampler = new TimeSampler(times);
+
+		//playback
+		for (double t = 0; t <= 1.0; t += 0.005) {
+			assertEquals(t * 10, sampler.interpolate(values, t), 1E-9);
+		} //loop
+
+		//jumping back and out of range
+		assertEquals(1, sampler.indexAt(0.25));
+		assertEquals(1.75, sampler.positionAt(0.25), 1E-9);
+		assertEquals(0, sampler.indexAt(-1));
+		assertEquals(4, sampler.indexAt(2));
+		assertEquals(4, sampler.positionAt(2), 0);
+	} //end timeSamplerTest
+
+	@Test
+	/**
+	 * Check if one profile played back from several threads at once gives every thread the same points
+	 */
+	void timeSamplerThreadTest() throws Exception {
+		BezierProfile profile = new BezierProfile(FieldPoints.niceLongCurve, 30, 144, 200, 200);
+		double[] expected = profile.getLeftVelocities();
+		AtomicInteger mismatches = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+
+		for (int n = 0; n < threads.length; n++) {
+			threads[n] = new Thread(() -> {
+				double[] point = new double[3];
+				try {
+					for (int pass = 0; pass < 50; pass++) {
+						//play forward, then jump back for the next pass
+						for (int i = 0; i < expected.length; i++) {
+							profile.getLeftTrajPoint(i * Util.UPDATE_PERIOD, point);
+							if (point[1] != expected[i])
+								mismatches.incrementAndGet();
+						} //loop
+					} //loop
+				} catch (RuntimeException e) {
+					mismatches.incrementAndGet(); //like an index out of bounds from a cursor moved by another thread
+				} //try-catch
+			});
+			threads[n].start();
+		} //loop
+		for (Thread thread : threads) {
+			thread.join();
+		} //loop
+
+		assertEquals(0, mismatches.get());
+	} //end timeSamplerThreadTest
+
+	@Test
+	/**
+	 * Check if a profile kept as floats matches the same profile kept as doubles
+	 */
+	void trajectoryStoreTest() {
+		TrapezoidalProfile doubles = new TrapezoidalProfile(100, 20, 10);
+		TrapezoidalProfile floats = new TrapezoidalProfile(100, 20, 10, TrajectoryStore.STORAGE.FLOAT);
+
+		assertEquals(TrajectoryStore.STORAGE.FLOAT, floats.getTrajectory().getStorage());
+		assertEquals(doubles.getSize(), floats.getSize());
+		for (int i = 0; i < doubles.getSize(); i += 10) {
+			assertEquals(doubles.getLeftTrajPoint(i)[0], floats.getLeftTrajPoint(i)[0], 1E-4);
+			assertEquals(doubles.getRightTrajPoint(i)[1], floats.getRightTrajPoint(i)[1], 1E-5);
+		} //loop
+		
+		//curves are read back through the store too
+		Point[] curve = FieldPositioning.pointsFromDoubles(FieldPoints.curve);
+		BezierProfile bezierDoubles = new BezierProfile(curve, 30, 144, 200, 200, BezierProfile.DEFAULT_VEL_TOLERANCE);
+		BezierProfile bezierFloats = new BezierProfile(curve, 30, 144, 200, 200, BezierProfile.DEFAULT_VEL_TOLERANCE, 
+														TrajectoryStore.STORAGE.FLOAT);
+		
+		assertEquals(TrajectoryStore.STORAGE.FLOAT, bezierFloats.getTrajectory().getStorage());
+		for (double t = 0; t < bezierDoubles.getTotalTime(); t += 0.1) {
+			assertEquals(bezierDoubles.getLeftTrajPoint(t)[0], bezierFloats.getLeftTrajPoint(t)[0], 1E-4);
+			assertEquals(bezierDoubles.getRightTrajPoint(t)[1], bezierFloats.getRightTrajPoint(t)[1], 1E-5);
+		} //loop
+	} //end trajectoryStoreTest
+
+	@Test
+	/**
+	 * Check if profiles calculated when asked for match the same profiles filled with points
+	 */
+	void analyticProfileTest() {
+		TrapezoidalProfile trap = new TrapezoidalProfile(100, 20, 10, TrajectoryStore.STORAGE.ANALYTIC);
+		JerkProfile jerk = new JerkProfile(100, 20, 10, TrajectoryStore.STORAGE.ANALYTIC);
+		TrapezoidalProfile filledTrap = new TrapezoidalProfile(100, 20, 10);
+		JerkProfile filledJerk = new JerkProfile(100, 20, 10);
+
+		assertEquals(true, trap.isAnalytic() && jerk.isAnalytic());
+		assertEquals(100, trap.getTotalDist(), 1E-9);
+		assertEquals(100, jerk.getTotalDist(), 1E-9);
+		
+		//calculated and filled profiles have a point at each time, with index i at time i * period
+		double[] trapTimes = filledTrap.getTimes();
+		double[] jerkTimes = filledJerk.getTimes();
+		assertEquals(trapTimes.length, filledTrap.getSize());
+		assertEquals(trapTimes.length, trap.getSize());
+		assertEquals(jerkTimes.length, filledJerk.getSize());
+		assertEquals(jerkTimes.length, jerk.getSize());
+		
+		double[] point = new double[3];
+		for (int i = 0; i < trapTimes.length; i += 10) {
+			trap.calcPoint(trapTimes[i], point);
+			assertEquals(filledTrap.getLeftTrajPoint(i)[0], point[0], 1);
+			assertEquals(filledTrap.getLeftTrajPoint(i)[1], point[1], 0.25); //filled points lag a period at the corners
+		} //loop
+		for (int i = 0; i < jerkTimes.length; i += 10) {
+			jerk.calcPoint(jerkTimes[i], point);
+			assertEquals(filledJerk.getLeftTrajPoint(i)[0], point[0], 1);
+			assertEquals(filledJerk.getLeftTrajPoint(i)[1], point[1], 1E-9);
+		} //loop
+		
+		//profiles without a closed form keep their points
+		BezierProfile bezier = new BezierProfile(FieldPositioning.pointsFromDoubles(FieldPoints.curve), 30, 144, 200, 200, 
+													BezierProfile.DEFAULT_VEL_TOLERANCE, TrajectoryStore.STORAGE.ANALYTIC);
+		assertEquals(false, bezier.isAnalytic());
+		assertEquals(TrajectoryStore.STORAGE.DOUBLE, bezier.getTrajectory().getStorage());
+	} //end analyticProfileTest
+
+	@Test
+	/**
+	 * Check if the profile cache gives back the same profile for the same inputs and drops the oldest
+	 */
+	void profileCacheTest() throws Exception {
+		File dir = Files.createTempDirectory("profiles").toFile();
+		ProfileCache cache = new ProfileCache(1, 1L << 20, dir);
+		BezierProfile first = cache.getBezierProfile(FieldPoints.curve, 30, 144, 200, 200);
+
+		assertEquals(true, first == cache.getBezierProfile(FieldPoints.curve, 30, 144, 200, 200));
+		cache.getPursuitPath(FieldPoints.curve, 30, 144, 200, 200, 6);
+		assertEquals(1, cache.getEvictions());
+
+		//a new cache reads the profile saved by the first one
+		ProfileCache restarted = new ProfileCache(4, 1L << 20, dir);
+		BezierProfile read = restarted.getBezierProfile(FieldPoints.curve, 30, 144, 200, 200);
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(1, restarted.getDiskHits());
+		assertEquals(first.getSize(), read.getSize());
+		assertEquals(first.getLeftTrajPoint(1.0)[1], read.getLeftTrajPoint(1.0)[1], 0);
+
+		for (File f : dir.listFiles()) {
+			f.delete();
+		} //loop
+		dir.delete();
+	} //end profileCacheTest
+
+	@Test
+	/**
+	 * Check if a binary trajectory file reads back the values written and rejects a corrupted file
+	 */
+	void trajectoryFileTest() throws Exception {
+		File text = File.createTempFile("poses", ".poses");
+		File binary = File.createTempFile("poses", TrajectoryFile.EXTENSION);
+		File corrupt = File.createTempFile("corrupt", TrajectoryFile.EXTENSION);
+		Files.write(text.toPath(), "1.250 -2.000 0.785\n3.000 4.500 1.571\n".getBytes());
+
+		assertEquals(true, TrajectoryFile.convertTextFile(text, TrajectoryFile.KIND.POSES, binary));
+		TrajectoryFile file = TrajectoryFile.open(binary);
+		assertEquals(2, file.getNumRows());
+		assertEquals(-2.0, file.get(1, 0), 0);
+		assertEquals(1.571, file.getColumn(2).get(1), 0);
+
+		//flip a bit of the last value in a copy, leaving the mapped file alone
+		byte[] bytes = Files.readAllBytes(binary.toPath());
+		bytes[bytes.length - 1] ^= 1;
+		Files.write(corrupt.toPath(), bytes);
+		assertEquals(null, TrajectoryFile.open(corrupt));
+		assertEquals(true, TrajectoryFile.open(corrupt, false) != null);
+
+		text.delete();
+		binary.delete();
+		corrupt.delete();
+	} //end trajectoryFileTest
+
+	@Test
+	/**
+	 * Check if a pursuit path written to a binary file reads back with the same values
+	 */
+	void pursuitPathFileTest() throws Exception {
+		PursuitPath path = new PursuitPath(FieldPoints.curve, 30, 144, 200, 200, 1);
+		File written = File.createTempFile("path", TrajectoryFile.EXTENSION);
+		File rewritten = File.createTempFile("path", TrajectoryFile.EXTENSION);
+
+		assertEquals(true, path.writeToBinaryFile(written));
+		PursuitPath read = PursuitPath.createFromBinaryFile(written);
+		assertEquals(path.getPoints().length, read.getPoints().length);
+
+		//write the path read back and compare every column
+		assertEquals(true, read.writeToBinaryFile(rewritten));
+		TrajectoryFile first = TrajectoryFile.open(written);
+		TrajectoryFile second = TrajectoryFile.open(rewritten);
+		for (int c = 0; c < TrajectoryFile.KIND.PURSUIT_PATH.getNumColumns(); c++) {
+			assertEquals(true, Arrays.equals(first.copyColumn(c), second.copyColumn(c)));
+		} //loop
+		assertEquals(path.getPoints()[10].getX(), first.get(0, 10), 0);
+
+		written.delete();
+		rewritten.delete();
+	} //end pursuitPathFileTest
+
+	@Test
+	/**
+	 * Check if the path grid finds the same closest point, intersect and segment as checking every segment
+	 */
+	void pathIndexTest() {
+		Point[] points = new PursuitPath(FieldPoints.niceLongCurve, 30, 144, 200, 200, 1).getPoints();
+		PathIndex index = new PathIndex(points, 18);
+		Random rand = new Random(7);
+
+		for (int n = 0; n < 200; n++) {
+			Point p = points[rand.nextInt(points.length)].clone();
+			p.translate(rand.nextDouble() * 20, rand.nextDouble() * 2 * Math.PI);
+
+			//every point and every segment
+			int closest = 0, segment = -1;
+			Point intersect = null;
+			for (int i = 0; i < points.length; i++) {
+				if (FieldPositioning.distsq(points[i], p) < FieldPositioning.distsq(points[closest], p))
+					closest = i;
+				if (i > 0) {
+					ArrayList<Point> found = FieldPositioning.lineCircleIntersect(points[i-1], points[i], p, 18);
+					if (!found.isEmpty()) {
+						intersect = found.get(found.size() - 1);
+						segment = i - 1;
+					} //if
+				} //if
+			} //loop
+
+			assertEquals(closest, index.closestIndex(p, 0));
+			assertEquals(intersect, index.lastIntersect(p, 18));
+			assertEquals(segment, index.lastIntersect(p.getX(), p.getY(), 18, new Point(0, 0)));
+		} //loop
+	} //end pathIndexTest
+
+	@Test
+	/**
+	 * Ensure the primitive geometry methods give the values worked out by hand and moved points update their magnitude
+	 */
+	void primitiveGeometryTest() {
+		//cached magnitude and heading follow the point when it moves
+		Point p = new Point(3, 4);
+		assertEquals(5, p.getMag(), 1E-9);
+		p.setX(0);
+		assertEquals(4, p.getMag(), 1E-9);
+		assertEquals(Math.PI / 2, p.getHeading(), 1E-9);
+		p.setXY(1, 0).scaleBy(2);
+		assertEquals(2, p.getMag(), 1E-9);
+		assertEquals(0, p.getHeading(), 1E-9);
+
+		//two intersects, (x-5)^2 + 3^2 = 5^2 at x = 1 and x = 9, closest to the start first
+		double[] out = new double[4];
+		assertEquals(2, FieldPositioning.lineCircleIntersect(0, 0, 10, 0, 5, 3, 5, out));
+		assertEquals(1, out[0], 1E-9);
+		assertEquals(0, out[1], 1E-9);
+		assertEquals(9, out[2], 1E-9);
+		assertEquals(0, out[3], 1E-9);
+
+		//one intersect when the circle is centered on the start, none when it misses the segment
+		assertEquals(1, FieldPositioning.lineCircleIntersect(0, 0, 10, 0, 0, 0, 5, out));
+		assertEquals(5, out[0], 1E-9);
+		assertEquals(0, out[1], 1E-9);
+		assertEquals(0, FieldPositioning.lineCircleIntersect(0, 0, 10, 0, 5, 5, 2, out));
+
+		//normal points onto a horizontal and a diagonal segment
+		FieldPositioning.getNormalPoint(3, 4, 0, 0, 10, 0, out);
+		assertEquals(3, out[0], 1E-9);
+		assertEquals(0, out[1], 1E-9);
+		FieldPositioning.getNormalPoint(0, 2, 0, 0, 2, 2, out);
+		assertEquals(1, out[0], 1E-9);
+		assertEquals(1, out[1], 1E-9);
+
+		//distances, yaws and bounds
+		assertEquals(5, FieldPositioning.dist(0, 0, 3, 4), 1E-9);
+		assertEquals(25, FieldPositioning.distsq(1, 1, 4, 5), 1E-9);
+		assertEquals(45, FieldPositioning.goalYaw(0, 0, 1, 1), 1E-9);
+		assertEquals(180, FieldPositioning.goalYaw(0, 0, 0, -1), 1E-9);
+		assertEquals(true, FieldPositioning.isWithinBounds(0, 0, 0.5, -0.5, 1));
+		assertEquals(false, FieldPositioning.isWithinBounds(0, 0, 1.5, 0, 1));
+		assertEquals(true, FieldPositioning.pointOnLine(5, 0, 0, 0, 10, 0, 0.001));
+		assertEquals(false, FieldPositioning.pointOnLine(5, 1, 0, 0, 10, 0, 0.001));
+	} //end primitiveGeometryTest
+
+	@Test
+	/**
+	 * Ensure the pure pursuit diagnostics keep only the most recent ticks in order
+	 */
+	void pursuitDiagnosticsTest() {
+		PursuitDiagnostics diagnostics = new PursuitDiagnostics(4);
+		for (int i = 0; i < 10; i++) {
+			diagnostics.record(i, -i, 0.1 * i, i / 2);
+		} //loop
+
+		assertEquals(4, diagnostics.size());
+		assertEquals(10, diagnostics.getCount());
+		assertEquals("[6.0, 7.0, 8.0, 9.0]", Arrays.toString(diagnostics.getColumn(PursuitDiagnostics.SPEED)));
+		assertEquals(-7, diagnostics.get(PursuitDiagnostics.TURN, 1), 0);
+		assertEquals(4, diagnostics.get(PursuitDiagnostics.GOAL_INDEX, 3), 0);
+		assertEquals(6 * Util.UPDATE_PERIOD, diagnostics.getTimes()[0], 1E-12);
+
+		//recording is off until asked for
+		PurePursuitController ppc = new PurePursuitController();
+		assertEquals(null, ppc.getDiagnostics());
+		ppc.setDiagnostics(100);
+		assertEquals(100, ppc.getDiagnostics().getCapacity());
+		ppc.setDiagnostics(0);
+		assertEquals(null, ppc.getDiagnostics());
+	} //end pursuitDiagnosticsTest
+
 	@Test
 	/**
 	 * Path heading test (dx = 0, dy > 0)
@@ -287,6 +745,21 @@ class ModelTest {
 		assertEquals(135, dataPoint, 1);
 	} //end robotDataTest
 	
+	@Test
+	/**
+	 * Ensure the telemetry recorded by a command matches the robot at each tick
+	 */
+	void telemetryRecorderTest() {
+		Command c = new TimedVoltage(driveLoop, 6.0, 2);
+		c.run();
+		
+		TelemetryRecorder telemetry = c.getTelemetry();
+		int last = telemetry.size() - 1;
+		assertEquals(r.getAveragePos(), telemetry.get(ROBOT_KEY.AVG_POS, last), 1E-9);
+		assertEquals(r.getX(), telemetry.getX(last), 1E-9);
+		assertEquals("TimedVoltage", telemetry.getCommandName(last));
+	} //end telemetryRecorderTest
+	
 	@Test
 	/**
 	 * Test the upper limits of regulated clamping
@@ -598,4 +1071,326 @@ class ModelTest {
 	void distsqTest() {
 		assertEquals(100.0, FieldPositioning.distsq(new Point(0,0), new Point(10,0)), 0.001);
 	} //end distsqTest
+	
+	@Test
+	/**
+	 * Ensure the batch simulator matches a single robot stepped on its own
+	 */
+	void robotBatchTest() {
+		r.setHeading(0.5);
+		RobotBatch batch = new RobotBatch(r, 3);
+		double[] left = {12, -6, 4};
+		double[] right = {12, 9, 4};
+		
+		for (int i = 0; i < 200; i++) {
+			batch.update(left, right);
+			r.update(-6, 9);
+		} //loop
+		
+		assertEquals(r.getX(), batch.getX(1), 1E-9);
+		assertEquals(r.getY(), batch.getY(1), 1E-9);
+		assertEquals(r.getHeading(), batch.getHeading(1), 1E-9);
+		assertEquals(batch.getAveragePos(2), batch.getLeftPos(2), 1E-9);
+		
+		//robots with another integrator would be simulated with a different model
+		r.useExactDiscretization(Util.UPDATE_PERIOD);
+		boolean rejected = false;
+		try {
+			new RobotBatch(r, 3);
+		} catch (IllegalArgumentException e) {
+			rejected = true;
+		} //try-catch
+		r.useDefaultIntegration();
+		assertEquals(true, rejected);
+	} //end robotBatchTest
+	
+	@Test
+	/**
+	 * Ensure the exact discretization gives the same result at coarse and fine time steps
+	 */
+	void exactDiscretizationTest() {
+		Robot coarse = r.clone();
+		coarse.useExactDiscretization(0.02);
+		r.useExactDiscretization(Util.UPDATE_PERIOD);
+		
+		for (int i = 0; i < 50; i++) {
+			coarse.update(-4, 12);
+		} //loop
+		for (int i = 0; i < 200; i++) {
+			r.update(-4, 12);
+		} //loop
+		r.useDefaultIntegration();
+		
+		assertEquals(r.getHeading(), coarse.getHeading(), 1E-9);
+		assertEquals(r.getAveragePos(), coarse.getAveragePos(), 1E-9);
+		assertEquals(r.getX(), coarse.getX(), 1E-3);
+		assertEquals(0.02, coarse.getTimeStep(), 0);
+	} //end exactDiscretizationTest
+	
+	@Test
+	/**
+	 * Ensure the adaptive integrator matches the exact discretization with fewer evaluations under constant voltage
+	 */
+	void dormandPrinceTest() {
+		Robot exact = r.clone();
+		exact.useExactDiscretization(Util.UPDATE_PERIOD);
+		DormandPrinceIntegrator dp = new DormandPrinceIntegrator(r);
+		r.setIntegrator(dp);
+		
+		for (int i = 0; i < 200; i++) {
+			exact.update(-4, 12);
+			r.update(-4, 12);
+		} //loop
+		r.useDefaultIntegration();
+		
+		assertEquals(exact.getHeading(), r.getHeading(), 1E-6);
+		assertEquals(exact.getAveragePos(), r.getAveragePos(), 1E-4);
+		assertEquals(true, dp.getEvaluations() < 200);
+	} //end dormandPrinceTest
+	
+	@Test
+	/**
+	 * Ensure the adaptive integrator follows the exact discretization at every update while a drive command 
+	 * changes the voltages every update
+	 */
+	void dormandPrinceClosedLoopTest() {
+		ROBOT_KEY[] keys = {ROBOT_KEY.LEFT_POS, ROBOT_KEY.RIGHT_POS, ROBOT_KEY.LEFT_VEL, ROBOT_KEY.RIGHT_VEL};
+		r.useExactDiscretization(Util.UPDATE_PERIOD);
+		DriveDistance exact = new DriveDistance(driveLoop, 100, 1, 12);
+		exact.run();
+		
+		reset();
+		DormandPrinceIntegrator dp = new DormandPrinceIntegrator(r);
+		r.setIntegrator(dp);
+		DriveDistance adaptive = new DriveDistance(driveLoop, 100, 1, 12);
+		adaptive.run();
+		r.useDefaultIntegration();
+		
+		//same ticks and the same state at each one
+		TelemetryRecorder expected = exact.getTelemetry();
+		TelemetryRecorder actual = adaptive.getTelemetry();
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			for (ROBOT_KEY key : keys) {
+				assertEquals(expected.get(key, i), actual.get(key, i), 1E-4);
+			} //loop
+		} //loop
+		
+		//a step per update while the output moves, fewer once it saturates
+		assertTrue("Evaluations " + dp.getEvaluations() + " for " + actual.size() + " ticks", 
+					dp.getEvaluations() <= 4 * actual.size());
+	} //end dormandPrinceClosedLoopTest
+	
+	@Test
+	/**
+	 * Ensure the headless runner builds and drives the robot described by a config
+	 */
+	void simRunnerTest() {
+		Properties config = new Properties();
+		config.setProperty("robot.mass", "153");
+		config.setProperty("gearbox.ratio", "8.5521");
+		config.setProperty("start.y", "50");
+		config.setProperty("command.0", "DriveDistance 100 1 12");
+		config.setProperty("goal.x", "0");
+		config.setProperty("goal.y", "150");
+		
+		SimRunner runner = new SimRunner(config);
+		runner.run();
+		
+		assertEquals(0, runner.getPositionError(), 1);
+		assertEquals(runner.getTelemetry().size() * Util.UPDATE_PERIOD, runner.getSimulatedTime(), 1E-9);
+		assertEquals(true, runner.getPeakLinearVel() > 0 && runner.getPeakLinearVel() <= runner.getRobot().getMaxLinSpeed());
+	} //end simRunnerTest
+	
+	@Test
+	/**
+	 * Ensure the gain sweep ranks every gain set and does not depend on the number of workers
+	 */
+	void gainSweepTest() {
+		double[] kPs = GainSweep.range(0.3, 1.5, 5);
+		double[] kIs = new double[] {0};
+		double[] kDs = GainSweep.range(0, 1, 5);
+		
+		GainSweep sweep = new GainSweep(driveLoop, GainSweep.MODE.DRIVE_DISTANCE, 100, 1, 12);
+		ArrayList<GainSweep.Result> parallel = sweep.run(kPs, kIs, kDs);
+		sweep.setParallelism(1);
+		ArrayList<GainSweep.Result> serial = sweep.run(kPs, kIs, kDs);
+		
+		assertEquals(25, parallel.size());
+		for (int i = 0; i < parallel.size(); i++) {
+			assertEquals(serial.get(i).toString(), parallel.get(i).toString());
+			if (i > 0)
+				assertEquals(true, parallel.get(i - 1).compareTo(parallel.get(i)) <= 0);
+		} //loop
+		assertEquals(true, parallel.get(0).isSettled());
+	} //end gainSweepTest
+	
+	@Test
+	/**
+	 * Ensure merged streaming statistics match statistics of the whole stream
+	 */
+	void streamingStatsTest() {
+		StreamingStats all = new StreamingStats(0, 100, 1000);
+		StreamingStats first = all.emptyCopy();
+		StreamingStats second = all.emptyCopy();
+		
+		for (int i = 1; i <= 100; i++) {
+			all.add(i);
+			(i % 3 == 0 ? first : second).add(i);
+		} //loop
+		first.merge(second);
+		
+		assertEquals(50.5, first.getMean(), 1E-9);
+		assertEquals(all.getVariance(), first.getVariance(), 1E-9);
+		assertEquals(50, first.getPercentile(50), 0.15); //within one bin
+		assertEquals(100, first.getPercentile(100), 0);
+	} //end streamingStatsTest
+	
+	@Test
+	/**
+	 * Ensure Monte Carlo trials give the same statistics for any number of workers
+	 */
+	void monteCarloTest() {
+		PIDController drivePID = new PIDController(0.3, 0, 1.25, r.getMaxLinSpeed()); //point to point gains
+		PIDController turnPID = new PIDController(7.5, 0, 0.05, r.getMaxLinSpeed());
+		DriveLoop p2pLoop = new DriveLoop(r, drivePID, turnPID);
+		
+		MonteCarlo mc = new MonteCarlo(p2pLoop, loop -> new CommandList(new DriveToGoal(loop, 60, 100, 1, 12, 2, false)),
+										new Point(60, 100), 2);
+		mc.setParameterNoise(0.05, 0.02, 0.05);
+		mc.setStartNoise(2, 3);
+		mc.run(40);
+		String parallel = mc.toString();
+		mc.setParallelism(1);
+		mc.run(40);
+		
+		assertEquals(parallel, mc.toString());
+		assertEquals(40, mc.getPositionError().getCount());
+		assertEquals(0, mc.getMissRate(), 0);
+	} //end monteCarloTest
+	
+	@Test
+	/**
+	 * Ensure rerunning a group from a checkpoint matches running the changed group from the start
+	 */
+	void simStateTest() {
+		CommandList branched = new CommandList(new DriveDistance(driveLoop, 50, 1, 12), new DriveDistance(driveLoop, 30, 1, 12));
+		branched.setVerbose(false);
+		branched.enableCheckpoints(driveLoop);
+		branched.run();
+		
+		//change the second command and only simulate it
+		branched.set(1, new DriveDistance(driveLoop, -20, 1, 8));
+		branched.runFrom(1);
+		double x = r.getX(), y = r.getY(), heading = r.getHeading();
+		
+		//simulate the changed group from the start
+		reset();
+		CommandList full = new CommandList(new DriveDistance(driveLoop, 50, 1, 12), new DriveDistance(driveLoop, -20, 1, 8));
+		full.setVerbose(false);
+		full.run();
+		
+		assertEquals(full.getTelemetry().size(), branched.getTelemetry().size());
+		assertEquals(r.getX(), x, 0);
+		assertEquals(r.getY(), y, 0);
+		assertEquals(r.getHeading(), heading, 0);
+	} //end simStateTest
+	
+	@Test
+	/**
+	 * Ensure the commands of a group record into the group's log instead of copies
+	 */
+	void sharedGroupLogTest() {
+		Command first = new TimedVoltage(driveLoop, 6.0, 0.5);
+		Command second = new TimedVoltage(driveLoop, -3.0, 0.25);
+		CommandList group = new CommandList(first, second);
+		group.setVerbose(false);
+		group.run();
+		
+		TelemetryRecorder log = group.getTelemetry();
+		assertEquals(true, first.getTelemetry() == log && second.getTelemetry() == log);
+		assertEquals(0, first.getFirstTick());
+		assertEquals(first.getNumTicks(), second.getFirstTick());
+		assertEquals(first.getNumTicks() + second.getNumTicks(), log.size());
+		assertEquals(log.get(ROBOT_KEY.LIN_VEL, second.getFirstTick()), 
+					log.getColumn(ROBOT_KEY.LIN_VEL, second.getFirstTick(), second.getNumTicks())[0], 0);
+		
+		//running a command on its own afterwards leaves the log alone
+		int size = log.size();
+		second.run();
+		assertEquals(false, second.getTelemetry() == log);
+		assertEquals(size, log.size());
+		assertEquals(second.getNumTicks(), second.getTelemetry().size());
+	} //end sharedGroupLogTest
+	
+	@Test
+	/**
+	 * Ensure each recording policy keeps the right ticks, their times and the final state
+	 */
+	void recordingPolicyTest() {
+		Command full = new TimedVoltage(driveLoop, 6.0, 1);
+		full.run();
+		TelemetryRecorder all = full.getTelemetry();
+		int last = all.size() - 1;
+		
+		//every tenth tick and always the last one
+		reset();
+		Command sampled = new TimedVoltage(driveLoop, 6.0, 1);
+		sampled.setRecordingPolicy(RecordingPolicy.everyNth(10));
+		sampled.run();
+		TelemetryRecorder some = sampled.getTelemetry();
+		assertEquals((all.size() + 9) / 10 + (last % 10 == 0 ? 0 : 1), some.size());
+		assertEquals(all.getTime(10), some.getTime(1), 1E-12);
+		assertEquals(all.get(ROBOT_KEY.LIN_VEL, 10), some.get(ROBOT_KEY.LIN_VEL, 1), 0);
+		assertEquals(all.getTime(last), some.getTime(some.size() - 1), 1E-12);
+		assertEquals(all.getX(last), some.getX(some.size() - 1), 0);
+		assertEquals(all.getElapsedTime(), some.getElapsedTime(), 1E-12);
+		assertEquals((int) (10 / Util.UPDATE_PERIOD) / 10 + 1, some.getCapacity()); //ten second default timeout
+		
+		//only the final state, with a subset of the keys
+		reset();
+		Command finalOnly = new TimedVoltage(driveLoop, 6.0, 1);
+		finalOnly.setRecordingPolicy(RecordingPolicy.finalOnly().withKeys(ROBOT_KEY.LIN_VEL));
+		finalOnly.run();
+		TelemetryRecorder end = finalOnly.getTelemetry();
+		assertEquals(1, end.size());
+		assertEquals(1, end.getCapacity());
+		assertEquals(all.size(), finalOnly.getIterations());
+		assertEquals(all.get(ROBOT_KEY.LIN_VEL, last), end.get(ROBOT_KEY.LIN_VEL, 0), 0);
+		assertEquals(true, Double.isNaN(end.get(ROBOT_KEY.AVG_POS, 0)));
+		
+		//only ticks where the velocity moved, the robot stops changing once at top speed
+		reset();
+		Command changed = new TimedVoltage(driveLoop, 6.0, 1);
+		changed.setRecordingPolicy(RecordingPolicy.onChange(0.05, ROBOT_KEY.LIN_VEL));
+		changed.run();
+		TelemetryRecorder moved = changed.getTelemetry();
+		assertEquals(true, moved.size() < all.size() / 2);
+		assertEquals(true, moved.getCapacity() >= moved.size());
+		for (int i = 1; i < moved.size() - 1; i++) {
+			assertEquals(true, Math.abs(moved.get(ROBOT_KEY.LIN_VEL, i) - moved.get(ROBOT_KEY.LIN_VEL, i-1)) > 0.05);
+		} //loop
+		
+		//a group's policy is used by commands without their own
+		reset();
+		CommandList group = new CommandList(new TimedVoltage(driveLoop, 6.0, 0.5), new TimedVoltage(driveLoop, 0, 0.5));
+		group.setVerbose(false);
+		group.setRecordingPolicy(RecordingPolicy.finalOnly());
+		group.run();
+		assertEquals(2, group.getTelemetry().size());
+		assertEquals(group.getTelemetry().getElapsedTime(), group.getTelemetry().getTime(1), 1E-12);
+	} //end recordingPolicyTest
+	
+	@Test
+	/**
+	 * Ensure render resources are created once and shared
+	 */
+	void renderCacheTest() {
+		Font f = Painter.createFont(Painter.SF_UI_FONT, 40);
+		
+		assertEquals(true, f == Painter.createFont(Painter.SF_UI_FONT, 40));
+		assertEquals(40, f.getSize());
+		assertEquals(true, RenderCache.getStroke(2f) == RenderCache.getStroke(2f));
+		assertEquals(true, RenderCache.getComposite(0.8) == RenderCache.getComposite(0.8));
+	} //end renderCacheTest
 } //end class
\ No newline at end of file
@@ -20,8 +20,10 @@ import org.knowm.xchart.SwingWrapper;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYChartBuilder;
 
+import model.TelemetryRecorder;
 import model.motion.DriveProfile;
 import model.motion.JerkProfile;
+import model.motion.PursuitDiagnostics;
 import util.Util.ROBOT_KEY;
 
 public class PlotGenerator {
@@ -135,14 +137,15 @@ public class PlotGenerator {
 	 * @return Array containing the x and y arrays
 	 */
 	public static double[][] getXYFromProfile(DriveProfile profile, int key) {
-		//get (x,y) points for profile
-		double[] x = new double[profile.getSize()];
-		double[] y = new double[profile.getSize()];
+		//get (x,y) points for profile at its own time base
+		double[] x = profile.getTimes();
+		double[] y = new double[x.length];
+		double[] point = new double[3];
 		
 		//velocity profile
-		for (int i = 0; i < profile.getSize(); i++) {
-			x[i] = i * Util.UPDATE_PERIOD;
-			y[i] = profile.getLeftTrajPoint(i)[key];
+		for (int i = 0; i < x.length; i++) {
+			profile.getLeftTrajPoint(x[i], point);
+			y[i] = point[key];
 		} //loop
 		
 		return new double[][] {x, y};
@@ -150,22 +153,41 @@ public class PlotGenerator {
 	
 	/**
 	 * Get the (x,y) points for a chart from robot data
-	 * @param data Robot data points
+	 * @param telemetry Recorded robot data
 	 * @param key Key indicating what data point to get
 	 * @return Array containing the x and y arrays
 	 */
-	public static double[][] getXYFromRobotData(ArrayList<HashMap<Util.ROBOT_KEY, Object>> data, ROBOT_KEY key) {
-		double[] x = new double[data.size()];
-		double[] y = new double[data.size()];
-		
-		for (int i = 0; i < data.size(); i++) {
-			x[i] = i * Util.UPDATE_PERIOD;
-			y[i] = (double) data.get(i).get(key);
-		} //loop
-		
-		return new double[][] {x, y};
+	public static double[][] getXYFromRobotData(TelemetryRecorder telemetry, ROBOT_KEY key) {
+		return new double[][] {telemetry.getTimes(), telemetry.getColumn(key)};
 	} //end getXYFromRobotData
 	
+	/**
+	 * Get the (x,y) points for a chart from the recorded outputs of a pure pursuit controller
+	 * @param diagnostics Recorded controller outputs
+	 * @param column Column to get, like PursuitDiagnostics.SPEED
+	 * @return Array containing the x and y arrays
+	 */
+	public static double[][] getXYFromDiagnostics(PursuitDiagnostics diagnostics, int column) {
+		return new double[][] {diagnostics.getTimes(), diagnostics.getColumn(column)};
+	} //end getXYFromDiagnostics
+	
+	/**
+	 * Create a chart of the recorded outputs of a pure pursuit controller
+	 * @param w Width in pixels
+	 * @param h Height in pixels
+	 * @param diagnostics Recorded controller outputs
+	 * @param column Column to plot, like PursuitDiagnostics.SPEED
+	 * @return Chart object
+	 */
+	public static XYChart createChartFromDiagnostics(int w, int h, PursuitDiagnostics diagnostics, int column) {
+		String name = PursuitDiagnostics.getName(column);
+		XYChart chart = buildChart(w, h, "PPC " + name + " vs. Time", "Time (s)", name);
+		double[][] xy = getXYFromDiagnostics(diagnostics, column);
+		chart.addSeries(name, xy[0], xy[1]);
+		
+		return chart;
+	} //end createChartFromDiagnostics
+	
 	/**
 	 * Create a chart from data points in a list
 	 * @param w Width in pixels
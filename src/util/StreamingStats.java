@@ -0,0 +1,180 @@
+/**
+ * StreamingStats
+ * Author: Neil Balaskandarajah
+ * Created on: 18/10/2026
+ * Mean, variance and percentiles of a stream of values without storing the values
+ */
+package util;
+
+public class StreamingStats {
+	//Attributes
+	//Moments
+	private long count; //number of values added
+	private double mean; //running mean
+	private double m2; //sum of squared differences from the mean
+	private double min; //smallest value added
+	private double max; //largest value added
+
+	//Histogram
+	private double lower; //lower edge of the first bin
+	private double upper; //upper edge of the last bin
+	private long[] bins; //number of values in each bin
+	private long below; //number of values under the lower edge
+	private long above; //number of values at or over the upper edge
+
+	/**
+	 * Create empty statistics with a histogram for percentiles
+	 * @param lower Lower edge of the histogram
+	 * @param upper Upper edge of the histogram
+	 * @param numBins Number of equal width bins, more bins give more precise percentiles
+	 */
+	public StreamingStats(double lower, double upper, int numBins) {
+		if (!(upper > lower) || numBins < 1)
+			throw new IllegalArgumentException("Histogram needs upper > lower and at least one bin, was ["
+												+ lower + ", " + upper + ") with " + numBins + " bins");
+
+		this.lower = lower;
+		this.upper = upper;
+		this.bins = new long[numBins];
+		this.min = Double.POSITIVE_INFINITY;
+		this.max = Double.NEGATIVE_INFINITY;
+	} //end constructor
+
+	/**
+	 * Create empty statistics with the same histogram as another
+	 * @return Empty statistics that can be merged with this one
+	 */
+	public StreamingStats emptyCopy() {
+		return new StreamingStats(lower, upper, bins.length);
+	} //end emptyCopy
+
+	/**
+	 * Add a value
+	 * @param x Value to add
+	 */
+	public void add(double x) {
+		//Welford update of the mean and squared differences
+		count++;
+		double delta = x - mean;
+		mean += delta / count;
+		m2 += delta * (x - mean);
+
+		min = Math.min(min, x);
+		max = Math.max(max, x);
+
+		//histogram
+		if (x < lower) {
+			below++;
+		} else if (x >= upper) {
+			above++;
+		} else {
+			int bin = (int) ((x - lower) / (upper - lower) * bins.length);
+			bins[Math.min(bin, bins.length - 1)]++;
+		} //if
+	} //end add
+
+	/**
+	 * Add every value from other statistics with the same histogram
+	 * @param other Statistics to merge into these ones
+	 */
+	public void merge(StreamingStats other) {
+		if (other.lower != lower || other.upper != upper || other.bins.length != bins.length)
+			throw new IllegalArgumentException("Histograms must match to merge");
+
+		if (other.count == 0)
+			return;
+
+		//Chan et al. parallel combination of the moments
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;
+		m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+		count = total;
+
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+
+		for (int i = 0; i < bins.length; i++) {
+			bins[i] += other.bins[i];
+		} //loop
+		below += other.below;
+		above += other.above;
+	} //end merge
+
+	/**
+	 * Get the number of values added
+	 * @return Number of values
+	 */
+	public long getCount() {
+		return count;
+	} //end getCount
+
+	/**
+	 * Get the mean of the values
+	 * @return Mean, NaN if there are no values
+	 */
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	} //end getMean
+
+	/**
+	 * Get the sample variance of the values
+	 * @return Variance, NaN if there are fewer than two values
+	 */
+	public double getVariance() {
+		return count < 2 ? Double.NaN : m2 / (count - 1);
+	} //end getVariance
+
+	/**
+	 * Get the sample standard deviation of the values
+	 * @return Standard deviation, NaN if there are fewer than two values
+	 */
+	public double getStdDev() {
+		return Math.sqrt(getVariance());
+	} //end getStdDev
+
+	/**
+	 * Get the smallest value
+	 * @return Smallest value, NaN if there are no values
+	 */
+	public double getMin() {
+		return count == 0 ? Double.NaN : min;
+	} //end getMin
+
+	/**
+	 * Get the largest value
+	 * @return Largest value, NaN if there are no values
+	 */
+	public double getMax() {
+		return count == 0 ? Double.NaN : max;
+	} //end getMax
+
+	/**
+	 * Estimate a percentile from the histogram, exact to within one bin width
+	 * @param percent Percentile between 0 and 100
+	 * @return Estimated value, NaN if there are no values
+	 */
+	public double getPercentile(double percent) {
+		if (count == 0)
+			return Double.NaN;
+
+		//rank of the value searched for
+		double rank = Util.clampNum(percent, 0, 100) / 100 * count;
+		if (rank <= below)
+			return min;
+
+		double width = (upper - lower) / bins.length;
+		double cumulative = below;
+
+		for (int i = 0; i < bins.length; i++) {
+			if (bins[i] > 0 && cumulative + bins[i] >= rank) {
+				//interpolate within the bin, kept within the values seen
+				double value = lower + width * (i + (rank - cumulative) / bins[i]);
+				return Util.clampNum(value, min, max);
+			} //if
+			cumulative += bins[i];
+		} //loop
+
+		return max; //rank falls in the values over the upper edge
+	} //end getPercentile
+} //end StreamingStats